@@ -1,5 +1,6 @@
 package com.foodieapp.notification.client;
 
+import com.foodieapp.notification.security.JwtService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
@@ -9,10 +10,14 @@ import java.util.Map;
 @Component
 public class UserServiceClient extends AbstractServiceClient {
 
+    private final JwtService jwtService;
+
     public UserServiceClient(
             RestTemplate restTemplate,
-            @Value("${user.service.url}") String userServiceUrl) {
+            @Value("${user.service.url}") String userServiceUrl,
+            JwtService jwtService) {
         super(restTemplate, userServiceUrl);
+        this.jwtService = jwtService;
     }
 
     /**
@@ -31,6 +36,12 @@ public class UserServiceClient extends AbstractServiceClient {
      * Validate token
      */
     public Map<String, Object> validateToken(String token) {
+        // Verify locally against the user service's published keys when possible
+        Map<String, Object> localResult = jwtService.verify(token);
+        if (localResult != null) {
+            return localResult;
+        }
+
         String cacheKey = "token_validation_" + token;
 
         return getCachedOrCompute(cacheKey, () ->
@@ -1,30 +1,92 @@
 package com.foodieapp.notification.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Outbound HTTP transport for inter-service calls: a pooled, keep-alive
+ * Apache HttpClient with bounded connect, lease and response timeouts.
+ * Pool usage is published as httpcomponents.httpclient.pool.* metrics.
+ */
 @Configuration
 public class RestTemplateConfig {
 
     @Value("${app.rest-template.connect-timeout:5000}")
-    private int connectTimeout;
+    private long connectTimeout;
 
     @Value("${app.rest-template.read-timeout:8000}")
-    private int readTimeout;
+    private long readTimeout;
 
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate(clientHttpRequestFactory());
+    // How long to wait for a pooled connection before failing
+    @Value("${app.rest-template.connection-request-timeout:2000}")
+    private long connectionRequestTimeout;
+
+    @Value("${app.rest-template.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${app.rest-template.max-connections-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    // Used when the server does not send a Keep-Alive header
+    @Value("${app.rest-template.keep-alive-ms:30000}")
+    private long keepAlive;
+
+    @Value("${app.rest-template.idle-eviction-ms:30000}")
+    private long idleEviction;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager(ObjectProvider<MeterRegistry> meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout))
+                        // Re-check connections that sat idle before reusing them
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "inter-service").bindTo(registry);
+        }
+        return connectionManager;
     }
 
-    private ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(connectTimeout);
-        factory.setReadTimeout(readTimeout);
-        return factory;
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout))
+                        .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAlive))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,20 @@
 package com.foodieapp.notification.config;
 
+import com.foodieapp.notification.security.JwtService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.util.Collection;
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -14,6 +22,9 @@ public class SecurityConfig {
     @Value("${app.security.public-paths}")
     private String[] publicPaths;
 
+    @Autowired
+    private JwtService jwtService;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -23,9 +34,24 @@ public class SecurityConfig {
                 for (String path : publicPaths) {
                     authorize.requestMatchers(path.trim()).permitAll();
                 }
+                // Actuator endpoints other than health are for admins
+                authorize.requestMatchers("/actuator/**").access((authentication, context) ->
+                        new AuthorizationDecision(isAdmin(context.getRequest())));
                 authorize.anyRequest().authenticated();
             });
 
         return http.build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Admin check on the locally verified Authorization header; tokens that
+     * cannot be verified locally are refused
+     */
+    private boolean isAdmin(HttpServletRequest request) {
+        Map<String, Object> tokenInfo = jwtService.verify(request.getHeader(HttpHeaders.AUTHORIZATION));
+        return tokenInfo != null
+                && Boolean.TRUE.equals(tokenInfo.get("valid"))
+                && tokenInfo.get("roles") instanceof Collection
+                && ((Collection<?>) tokenInfo.get("roles")).contains("ROLE_ADMIN");
+    }
+}
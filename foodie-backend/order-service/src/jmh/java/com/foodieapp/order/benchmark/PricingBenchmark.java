@@ -0,0 +1,85 @@
+package com.foodieapp.order.benchmark;
+
+import com.foodieapp.order.model.CartItem;
+import com.foodieapp.order.util.PricingConfig;
+import com.foodieapp.order.util.PricingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart pricing: the previous BigDecimal stream path against PricingEngine.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="PricingBenchmark -prof gc"
+ * shows allocation per operation next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private List<CartItem> cartItems;
+    private PricingEngine engine;
+
+    // Previous configuration: percentage divided to two decimals, fee as BigDecimal
+    private BigDecimal legacyTaxRate;
+    private BigDecimal legacyDeliveryFee;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        cartItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            CartItem item = new CartItem();
+            item.setItemId("item-" + i);
+            item.setPrice(BigDecimal.valueOf(50 + random.nextInt(50_000), 2));
+            item.setQuantity(1 + random.nextInt(4));
+            cartItems.add(item);
+        }
+
+        engine = new PricingEngine(PricingConfig.defaults());
+        legacyTaxRate = BigDecimal.valueOf(10.0).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        legacyDeliveryFee = new BigDecimal("2.99");
+    }
+
+    @Benchmark
+    public void legacyBigDecimal(Blackhole blackhole) {
+        // PriceCalculationService.calculateCartTotals and Cart.calculateTotal before PricingEngine
+        BigDecimal subtotal = cartItems.stream()
+                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal tax = subtotal.multiply(legacyTaxRate);
+        BigDecimal total = subtotal.add(tax).add(legacyDeliveryFee);
+        int itemCount = cartItems.stream().mapToInt(CartItem::getQuantity).sum();
+
+        blackhole.consume(total);
+        blackhole.consume(itemCount);
+    }
+
+    @Benchmark
+    public PricingEngine.Totals pricingEngine() {
+        return engine.priceCartItems(cartItems);
+    }
+}
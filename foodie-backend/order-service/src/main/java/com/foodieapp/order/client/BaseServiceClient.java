@@ -1,7 +1,11 @@
 package com.foodieapp.order.client;
 
+import com.foodieapp.order.client.cache.ResponseCache;
+import com.foodieapp.order.client.cache.ResponseCacheFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -9,31 +13,61 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
-import java.util.Collections;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 /**
  * Base class for all service clients that provides standard functionality
  * for REST calls, caching, error handling, and authorization.
+ *
+ * The *Async variants run on a non-blocking WebClient, limited to a fixed
+ * number of in-flight calls per downstream service, and share the response
+ * cache and error fallbacks with the blocking methods.
  */
 public abstract class BaseServiceClient {
     protected final Logger logger = LoggerFactory.getLogger(getClass());
     protected final RestTemplate restTemplate;
     protected final String serviceUrl;
 
-    // Cache mechanism
-    private final Map<String, CacheEntry<Object>> responseCache = new ConcurrentHashMap<>();
+    // Cache mechanism - replaced with a configured, metered cache once Spring wires the factory
+    private volatile ResponseCache responseCache = ResponseCacheFactory.defaultCache();
     protected static final long DEFAULT_CACHE_EXPIRATION_MS = TimeUnit.MINUTES.toMillis(5);
 
+    // Async transport - without it async calls fall back to the blocking transport on another thread
+    private volatile WebClient webClient;
+    private volatile ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(getClass().getSimpleName(), 64, 256);
+
     protected BaseServiceClient(RestTemplate restTemplate, String serviceUrl) {
         this.restTemplate = restTemplate;
         this.serviceUrl = serviceUrl;
     }
 
+    /**
+     * Swap in the configured response cache for this client
+     */
+    @Autowired(required = false)
+    public void setResponseCacheFactory(ResponseCacheFactory responseCacheFactory) {
+        this.responseCache = responseCacheFactory.create(getClass().getSimpleName());
+    }
+
+    /**
+     * Swap in the shared non-blocking transport and this client's concurrency limit
+     */
+    @Autowired(required = false)
+    public void setAsyncTransport(
+            WebClient serviceWebClient,
+            @Value("${app.client-async.max-concurrency:64}") int maxConcurrency,
+            @Value("${app.client-async.max-queued:256}") int maxQueued) {
+        this.webClient = serviceWebClient;
+        this.concurrencyLimiter = new ConcurrencyLimiter(getClass().getSimpleName(), maxConcurrency, maxQueued);
+    }
+
     /**
      * Create standard HTTP headers with authorization
      */
@@ -98,15 +132,22 @@ public abstract class BaseServiceClient {
      */
     protected <T, R> R postForObject(String path, T body, Class<R> responseType, String authToken) {
         try {
-            String url = serviceUrl + path;
-            HttpEntity<T> entity = createEntity(body, authToken);
-
-            return restTemplate.postForObject(url, entity, responseType);
+            return postForObjectOrThrow(path, body, responseType, authToken);
         } catch (Exception e) {
             return handleApiCallException("POST " + path, e, null);
         }
     }
 
+    /**
+     * Execute HTTP POST request, leaving failures to the caller
+     */
+    protected <T, R> R postForObjectOrThrow(String path, T body, Class<R> responseType, String authToken) {
+        String url = serviceUrl + path;
+        HttpEntity<T> entity = createEntity(body, authToken);
+
+        return restTemplate.postForObject(url, entity, responseType);
+    }
+
     /**
      * Execute HTTP PUT request
      */
@@ -147,13 +188,52 @@ public abstract class BaseServiceClient {
         }
     }
 
+    /**
+     * Execute HTTP GET request asynchronously; completes with null on failure
+     */
+    protected <T> CompletableFuture<T> getForObjectAsync(String path, Class<T> responseType, String authToken) {
+        return exchangeAsync(HttpMethod.GET, path, null, responseType, authToken);
+    }
+
+    /**
+     * Execute HTTP POST request asynchronously; completes with null on failure
+     */
+    protected <T, R> CompletableFuture<R> postForObjectAsync(String path, T body, Class<R> responseType, String authToken) {
+        return exchangeAsync(HttpMethod.POST, path, body, responseType, authToken);
+    }
+
+    private <R> CompletableFuture<R> exchangeAsync(HttpMethod method, String path, Object body,
+                                                   Class<R> responseType, String authToken) {
+        WebClient client = webClient;
+        CompletableFuture<R> call = concurrencyLimiter.submit(() -> {
+            if (client == null) {
+                return CompletableFuture.supplyAsync(() -> method == HttpMethod.GET
+                        ? getForObject(path, responseType, authToken)
+                        : postForObject(path, body, responseType, authToken));
+            }
+
+            WebClient.RequestBodySpec request = client.method(method)
+                    .uri(serviceUrl + path)
+                    .headers(headers -> headers.addAll(createHeaders(authToken)));
+            WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+            return spec.retrieve().bodyToMono(responseType).toFuture();
+        });
+
+        return call.exceptionally(e -> handleApiCallException(method + " " + path, unwrap(e), null));
+    }
+
+    private static Exception unwrap(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof Exception ? (Exception) cause : new CompletionException(cause);
+    }
+
     /**
      * Standard error handling for API calls
      */
     protected <T> T handleApiCallException(String operation, Exception e, T defaultValue) {
-        if (e instanceof ResourceAccessException) {
+        if (e instanceof ResourceAccessException || e instanceof WebClientRequestException) {
             logger.error("Service unavailable during {}: {}", operation, e.getMessage());
-        } else if (e instanceof RestClientException) {
+        } else if (e instanceof RestClientException || e instanceof WebClientResponseException) {
             logger.error("REST client error during {}: {}", operation, e.getMessage());
         } else {
             logger.error("Unexpected error during {}: {}", operation, e.getMessage());
@@ -162,19 +242,12 @@ public abstract class BaseServiceClient {
     }
 
     /**
-     * Get cached value or compute if absent or expired
+     * Get cached value or compute if absent or expired. Concurrent misses on
+     * the same key share one call to the supplier.
      */
+    @SuppressWarnings("unchecked")
     protected <T> T getCachedOrCompute(String cacheKey, Supplier<T> supplier, long expirationMs) {
-        CacheEntry<Object> entry = responseCache.get(cacheKey);
-
-        if (entry != null && !entry.isExpired()) {
-            logger.debug("Using cached response for key: {}", cacheKey);
-            return (T) entry.getValue();
-        }
-
-        T result = supplier.get();
-        responseCache.put(cacheKey, new CacheEntry<>(result, expirationMs));
-        return result;
+        return (T) responseCache.get(cacheKey, supplier, expirationMs);
     }
 
     /**
@@ -185,37 +258,47 @@ public abstract class BaseServiceClient {
     }
 
     /**
-     * Clear a specific item from cache
+     * Asynchronous form of {@link #getCachedOrCompute(String, Supplier, long)};
+     * the supplier starts the call and hits complete immediately
      */
-    protected void clearCache(String cacheKey) {
-        responseCache.remove(cacheKey);
+    @SuppressWarnings("unchecked")
+    protected <T> CompletableFuture<T> getCachedOrComputeAsync(String cacheKey, Supplier<CompletableFuture<T>> supplier,
+                                                              long expirationMs) {
+        return responseCache.getAsync(cacheKey, supplier, expirationMs).thenApply(value -> (T) value);
     }
 
     /**
-     * Clear entire cache
+     * Get cached value or compute asynchronously with default expiration
      */
-    protected void clearAllCache() {
-        responseCache.clear();
+    protected <T> CompletableFuture<T> getCachedOrComputeAsync(String cacheKey, Supplier<CompletableFuture<T>> supplier) {
+        return getCachedOrComputeAsync(cacheKey, supplier, DEFAULT_CACHE_EXPIRATION_MS);
     }
 
     /**
-     * Cache entry class
+     * Get a cached value without loading it, or null if absent or expired
      */
-    protected static class CacheEntry<T> {
-        private final T value;
-        private final long expirationTime;
+    protected Object getCachedIfPresent(String cacheKey) {
+        return responseCache.getIfPresent(cacheKey);
+    }
 
-        public CacheEntry(T value, long expirationMs) {
-            this.value = value;
-            this.expirationTime = System.currentTimeMillis() + expirationMs;
-        }
+    /**
+     * Store a value in the cache
+     */
+    protected void putCache(String cacheKey, Object value, long expirationMs) {
+        responseCache.put(cacheKey, value, expirationMs);
+    }
 
-        public T getValue() {
-            return value;
-        }
+    /**
+     * Clear a specific item from cache
+     */
+    protected void clearCache(String cacheKey) {
+        responseCache.invalidate(cacheKey);
+    }
 
-        public boolean isExpired() {
-            return System.currentTimeMillis() > expirationTime;
-        }
+    /**
+     * Clear entire cache
+     */
+    protected void clearAllCache() {
+        responseCache.invalidateAll();
     }
 }
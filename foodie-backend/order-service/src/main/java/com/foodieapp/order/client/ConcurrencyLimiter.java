@@ -0,0 +1,93 @@
+package com.foodieapp.order.client;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking limit on the number of in-flight asynchronous calls to one
+ * downstream service. Calls over the limit wait in a bounded queue and are
+ * started as earlier calls complete; when the queue is full the call fails
+ * immediately instead of piling up.
+ */
+public class ConcurrencyLimiter {
+    private final String name;
+    private final int maxConcurrency;
+    private final int maxQueued;
+    private final Queue<Runnable> queued = new ArrayDeque<>();
+    private int active;
+
+    public ConcurrencyLimiter(String name, int maxConcurrency, int maxQueued) {
+        this.name = name;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxQueued = Math.max(0, maxQueued);
+    }
+
+    /**
+     * Start the call now if a permit is free, otherwise once one is released
+     */
+    public <T> CompletableFuture<T> submit(Supplier<? extends CompletionStage<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            CompletionStage<T> stage;
+            try {
+                stage = call.get();
+            } catch (RuntimeException | Error e) {
+                stage = CompletableFuture.failedFuture(e);
+            }
+            stage.whenComplete((value, error) -> {
+                release();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+
+        synchronized (this) {
+            if (active >= maxConcurrency) {
+                if (queued.size() >= maxQueued) {
+                    return CompletableFuture.failedFuture(new RejectedExecutionException(
+                            "Too many concurrent calls to " + name));
+                }
+                queued.add(start);
+                return result;
+            }
+            active++;
+        }
+        start.run();
+        return result;
+    }
+
+    /**
+     * Calls currently in flight
+     */
+    public synchronized int getActive() {
+        return active;
+    }
+
+    /**
+     * Calls waiting for a permit
+     */
+    public synchronized int getQueued() {
+        return queued.size();
+    }
+
+    private void release() {
+        Runnable next;
+        synchronized (this) {
+            next = queued.poll();
+            if (next == null) {
+                active--;
+            }
+        }
+        // The permit passes straight to the next queued call
+        if (next != null) {
+            next.run();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class NotificationServiceClient extends BaseServiceClient {
@@ -21,15 +22,7 @@ public class NotificationServiceClient extends BaseServiceClient {
      */
     public void sendOrderStatusEmail(String email, String orderId, String status, String restaurantName) {
         try {
-            String url = "/api/v1/notifications/email";
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("to", email);
-            requestBody.put("subject", "Order #" + orderId + " " + formatStatus(status));
-            requestBody.put("message", createOrderStatusMessage(orderId, status, restaurantName, false));
-
-            postForObject(url, requestBody, Object.class, "");
-            logger.info("Order status email notification sent to: {}", email);
+            deliverOrderStatusEmail(email, orderId, status, restaurantName);
         } catch (Exception e) {
             handleApiCallException("sending order status email", e, null);
         }
@@ -40,14 +33,7 @@ public class NotificationServiceClient extends BaseServiceClient {
      */
     public void sendOrderStatusSms(String phoneNumber, String orderId, String status, String restaurantName) {
         try {
-            String url = "/api/v1/notifications/sms";
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("to", phoneNumber);
-            requestBody.put("message", createOrderStatusMessage(orderId, status, restaurantName, true));
-
-            postForObject(url, requestBody, Object.class, "");
-            logger.info("Order status SMS notification sent to: {}", phoneNumber);
+            deliverOrderStatusSms(phoneNumber, orderId, status, restaurantName);
         } catch (Exception e) {
             handleApiCallException("sending order status SMS", e, null);
         }
@@ -58,21 +44,76 @@ public class NotificationServiceClient extends BaseServiceClient {
      */
     public void notifyRestaurantAboutNewOrder(String email, String orderId, String customerName) {
         try {
-            String url = "/api/v1/notifications/email";
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("to", email);
-            requestBody.put("subject", "New Order #" + orderId + " Received");
-            requestBody.put("message", "You have received a new order #" + orderId +
-                    " from " + customerName + ". Please check your dashboard to confirm.");
-
-            postForObject(url, requestBody, Object.class, "");
-            logger.info("New order notification sent to restaurant: {}", email);
+            deliverNewOrderToRestaurant(email, orderId, customerName);
         } catch (Exception e) {
             handleApiCallException("notifying restaurant about new order", e, null);
         }
     }
 
+    /**
+     * Send order status notification email; failures are thrown so the caller can retry
+     */
+    public void deliverOrderStatusEmail(String email, String orderId, String status, String restaurantName) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("to", email);
+        requestBody.put("subject", "Order #" + orderId + " " + formatStatus(status));
+        requestBody.put("message", createOrderStatusMessage(orderId, status, restaurantName, false));
+
+        postForObjectOrThrow("/api/v1/notifications/email", requestBody, Object.class, "");
+        logger.info("Order status email notification sent to: {}", email);
+    }
+
+    /**
+     * Send order status notification via SMS; failures are thrown so the caller can retry
+     */
+    public void deliverOrderStatusSms(String phoneNumber, String orderId, String status, String restaurantName) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("to", phoneNumber);
+        requestBody.put("message", createOrderStatusMessage(orderId, status, restaurantName, true));
+
+        postForObjectOrThrow("/api/v1/notifications/sms", requestBody, Object.class, "");
+        logger.info("Order status SMS notification sent to: {}", phoneNumber);
+    }
+
+    /**
+     * Send notification about new order to restaurant; failures are thrown so the caller can retry
+     */
+    public void deliverNewOrderToRestaurant(String email, String orderId, String customerName) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("to", email);
+        requestBody.put("subject", "New Order #" + orderId + " Received");
+        requestBody.put("message", "You have received a new order #" + orderId +
+                " from " + customerName + ". Please check your dashboard to confirm.");
+
+        postForObjectOrThrow("/api/v1/notifications/email", requestBody, Object.class, "");
+        logger.info("New order notification sent to restaurant: {}", email);
+    }
+
+    /**
+     * Send order status notification email without blocking; failures are logged
+     */
+    public CompletableFuture<Void> sendOrderStatusEmailAsync(String email, String orderId, String status, String restaurantName) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("to", email);
+        requestBody.put("subject", "Order #" + orderId + " " + formatStatus(status));
+        requestBody.put("message", createOrderStatusMessage(orderId, status, restaurantName, false));
+
+        return postForObjectAsync("/api/v1/notifications/email", requestBody, Object.class, "")
+                .thenAccept(response -> logger.info("Order status email notification sent to: {}", email));
+    }
+
+    /**
+     * Send order status notification via SMS without blocking; failures are logged
+     */
+    public CompletableFuture<Void> sendOrderStatusSmsAsync(String phoneNumber, String orderId, String status, String restaurantName) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("to", phoneNumber);
+        requestBody.put("message", createOrderStatusMessage(orderId, status, restaurantName, true));
+
+        return postForObjectAsync("/api/v1/notifications/sms", requestBody, Object.class, "")
+                .thenAccept(response -> logger.info("Order status SMS notification sent to: {}", phoneNumber));
+    }
+
     // Helper methods for message formatting
     private String formatStatus(String status) {
         switch (status) {
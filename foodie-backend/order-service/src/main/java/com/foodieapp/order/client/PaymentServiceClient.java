@@ -10,6 +10,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class PaymentServiceClient extends BaseServiceClient {
@@ -27,15 +28,7 @@ public class PaymentServiceClient extends BaseServiceClient {
         try {
             String path = "/api/payments";
 
-            // Convert PaymentRequest to Map for the API call
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("orderId", paymentRequest.getOrderId());
-            requestBody.put("userId", paymentRequest.getUserId());
-            requestBody.put("amount", paymentRequest.getAmount());
-            requestBody.put("currency", paymentRequest.getCurrency());
-            requestBody.put("paymentMethod", paymentRequest.getPaymentMethod());
-
-            Map<String, Object> response = postForObject(path, requestBody, Map.class, token);
+            Map<String, Object> response = postForObject(path, toRequestBody(paymentRequest), Map.class, token);
 
             if (response != null) {
                 return response;
@@ -49,6 +42,32 @@ public class PaymentServiceClient extends BaseServiceClient {
         }
     }
 
+    /**
+     * Initiate a payment for an order without blocking
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Map<String, Object>> createPaymentAsync(PaymentRequest paymentRequest, String token) {
+        return postForObjectAsync("/api/payments", toRequestBody(paymentRequest), Map.class, token)
+                .thenApply(response -> {
+                    if (response == null) {
+                        logger.error("Received null response when creating payment");
+                        return Collections.singletonMap("error", "Failed to process payment");
+                    }
+                    return (Map<String, Object>) response;
+                });
+    }
+
+    // Convert PaymentRequest to Map for the API call
+    private static Map<String, Object> toRequestBody(PaymentRequest paymentRequest) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("orderId", paymentRequest.getOrderId());
+        requestBody.put("userId", paymentRequest.getUserId());
+        requestBody.put("amount", paymentRequest.getAmount());
+        requestBody.put("currency", paymentRequest.getCurrency());
+        requestBody.put("paymentMethod", paymentRequest.getPaymentMethod());
+        return requestBody;
+    }
+
     /**
      * Convenience method to create payment with individual parameters
      * @deprecated Use {@link #createPayment(PaymentRequest, String)} instead
@@ -1,13 +1,24 @@
 package com.foodieapp.order.client;
 
+import com.foodieapp.order.security.ServiceTokenVerifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Client for Order Service to communicate with Restaurant Service
@@ -15,11 +26,16 @@ import java.util.Map;
 @Component
 public class RestaurantServiceClient extends BaseServiceClient {
     private static final Logger logger = LoggerFactory.getLogger(RestaurantServiceClient.class);
+    private static final long MENU_VALIDATION_RETENTION_MS = TimeUnit.MINUTES.toMillis(30);
+
+    private final ServiceTokenVerifier serviceTokenVerifier;
 
     public RestaurantServiceClient(
             RestTemplate restTemplate,
-            @Value("${restaurant.service.url}") String restaurantServiceUrl) {
+            @Value("${restaurant.service.url}") String restaurantServiceUrl,
+            ServiceTokenVerifier serviceTokenVerifier) {
         super(restTemplate, restaurantServiceUrl);
+        this.serviceTokenVerifier = serviceTokenVerifier;
     }
 
     /**
@@ -38,6 +54,16 @@ public class RestaurantServiceClient extends BaseServiceClient {
         });
     }
 
+    /**
+     * Get restaurant information by ID without blocking
+     */
+    public CompletableFuture<Map<String, Object>> getRestaurantInfoAsync(String restaurantId, String authToken) {
+        String cacheKey = "restaurant_info_" + restaurantId;
+
+        return getCachedOrComputeAsync(cacheKey, () -> mapAsync(
+                getForObjectAsync("/api/v1/restaurants/" + restaurantId, Map.class, authToken)));
+    }
+
     /**
      * Verify restaurant ownership
      * Used for authorization purposes
@@ -58,6 +84,32 @@ public class RestaurantServiceClient extends BaseServiceClient {
         });
     }
 
+    /**
+     * Verify restaurant ownership without blocking
+     */
+    public CompletableFuture<Map<String, Object>> verifyOwnershipAsync(String restaurantId, String userId, String authToken) {
+        String cacheKey = "restaurant_ownership_" + restaurantId + "_" + userId;
+
+        return getCachedOrComputeAsync(cacheKey, () -> mapAsync(getForObjectAsync(
+                "/api/v1/validate/ownership/" + restaurantId + "/user/" + userId, Map.class, authToken)));
+    }
+
+    /**
+     * Count a completed order towards the restaurant's popularity; failures are thrown so the caller can retry
+     * Sent with the service token; the restaurant service confirms the order
+     * with us and ignores repeats of the same order.
+     */
+    public void recordCompletedOrder(String restaurantId, String orderId) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("orderId", orderId);
+        requestBody.put("restaurantId", restaurantId);
+
+        HttpHeaders headers = createHeaders(null);
+        headers.set(ServiceTokenVerifier.HEADER, serviceTokenVerifier.token());
+        restTemplate.postForObject(serviceUrl + "/api/v1/events/order-completed",
+                new HttpEntity<>(requestBody, headers), Object.class);
+    }
+
     /**
      * Verify if a restaurant exists
      * Used for validation purposes only
@@ -85,4 +137,63 @@ public class RestaurantServiceClient extends BaseServiceClient {
             }
         });
     }
+
+    /**
+     * Get menu item details from restaurant without blocking
+     */
+    public CompletableFuture<Map<String, Object>> getMenuItemDetailsAsync(String restaurantId, String itemId, String authToken) {
+        String cacheKey = "menu_item_" + restaurantId + "_" + itemId;
+
+        return getCachedOrComputeAsync(cacheKey, () -> mapAsync(getForObjectAsync(
+                "/api/v1/restaurants/" + restaurantId + "/menu-items/" + itemId, Map.class, authToken)));
+    }
+
+    /**
+     * Validate several menu items of a restaurant in one call
+     * Returns the validation data (items with availability and current price,
+     * allAvailable), or null if the restaurant service could not answer. The last
+     * result for an item set is kept with its ETag and revalidated with
+     * If-None-Match, so an unchanged menu costs a 304 rather than a full body.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> validateMenuItems(String restaurantId, Collection<String> itemIds, String authToken) {
+        String ids = String.join(",", new TreeSet<>(itemIds));
+        String cacheKey = "menu_validation_" + restaurantId + "_" + ids;
+        String path = "/api/v1/validate/restaurant/" + restaurantId + "/menu?itemIds=" + ids;
+        Map<String, Object> previous = (Map<String, Object>) getCachedIfPresent(cacheKey);
+
+        try {
+            HttpHeaders headers = createHeaders(authToken);
+            if (previous != null) {
+                headers.setIfNoneMatch((String) previous.get("etag"));
+            }
+            ResponseEntity<Map> response = restTemplate.exchange(
+                    serviceUrl + path, HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && previous != null) {
+                putCache(cacheKey, previous, MENU_VALIDATION_RETENTION_MS);
+                return (Map<String, Object>) previous.get("data");
+            }
+
+            Map<String, Object> body = response.getBody();
+            if (body == null || !Boolean.TRUE.equals(body.get("success"))) {
+                logger.error("Menu validation failed for restaurant {}: {}", restaurantId,
+                        body != null ? body.get("message") : "empty response");
+                return null;
+            }
+            Map<String, Object> data = (Map<String, Object>) body.get("data");
+            String etag = response.getHeaders().getETag();
+            if (etag != null) {
+                putCache(cacheKey, Map.of("etag", etag, "data", data), MENU_VALIDATION_RETENTION_MS);
+            }
+            return data;
+        } catch (Exception e) {
+            return handleApiCallException("GET " + path, e, null);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Map<String, Object>> mapAsync(CompletableFuture<Map> response) {
+        return response.thenApply(body -> (Map<String, Object>) body);
+    }
 }
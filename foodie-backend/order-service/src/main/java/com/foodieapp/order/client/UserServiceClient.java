@@ -1,5 +1,6 @@
 package com.foodieapp.order.client;
 
+import com.foodieapp.order.security.JwtService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,23 +9,34 @@ import org.springframework.web.client.RestTemplate;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class UserServiceClient extends BaseServiceClient {
     private static final Logger logger = LoggerFactory.getLogger(UserServiceClient.class);
 
+    private final JwtService jwtService;
+
     public UserServiceClient(
             RestTemplate restTemplate,
-            @Value("${user.service.url}") String userServiceUrl) {
+            @Value("${user.service.url}") String userServiceUrl,
+            JwtService jwtService) {
         super(restTemplate, userServiceUrl);
+        this.jwtService = jwtService;
     }
 
     /**
-     * Validate a token with the user service - this is the single source of truth for token validation
+     * Validate a token, locally when the signing key is known and with the user service otherwise
      * @param token Authentication token
      * @return Map containing validation results
      */
     public Map<String, Object> validateToken(String token) {
+        // Verify locally against the user service's published keys when possible
+        Map<String, Object> localResult = jwtService.verify(token);
+        if (localResult != null) {
+            return localResult;
+        }
+
         String cacheKey = "token_validation_" + token;
 
         return getCachedOrCompute(cacheKey, () -> {
@@ -37,6 +49,27 @@ public class UserServiceClient extends BaseServiceClient {
         });
     }
 
+    /**
+     * Validate a token without blocking; local verification completes immediately
+     * @param token Authentication token
+     * @return Future of the validation results; {"valid": false} if the user service cannot be reached
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Map<String, Object>> validateTokenAsync(String token) {
+        Map<String, Object> localResult = jwtService.verify(token);
+        if (localResult != null) {
+            return CompletableFuture.completedFuture(localResult);
+        }
+
+        String cacheKey = "token_validation_" + token;
+
+        return getCachedOrComputeAsync(cacheKey,
+                () -> getForObjectAsync("/api/v1/auth/validate-token", Map.class, token))
+                .thenApply(tokenInfo -> tokenInfo != null
+                        ? (Map<String, Object>) tokenInfo
+                        : Collections.singletonMap("valid", false));
+    }
+
     /**
      * Extract user ID from token
      * @param token Authentication token
@@ -75,6 +108,22 @@ public class UserServiceClient extends BaseServiceClient {
         });
     }
 
+    /**
+     * Get user details by ID without blocking
+     * @param userId User ID
+     * @param token Authentication token
+     * @return Future of the user details; {"exists": false} on failure
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Map<String, Object>> getUserDetailsAsync(String userId, String token) {
+        String cacheKey = "user_details_" + userId;
+
+        return getCachedOrComputeAsync(cacheKey, () -> getForObjectAsync("/api/v1/users/" + userId, Map.class, token)
+                .thenApply(response -> response != null && response.containsKey("data")
+                        ? (Map<String, Object>) response.get("data")
+                        : Collections.singletonMap("exists", false)));
+    }
+
     /**
      * Verify user exists
      * @param userId User ID
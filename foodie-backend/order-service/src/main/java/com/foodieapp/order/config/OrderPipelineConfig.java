@@ -0,0 +1,59 @@
+package com.foodieapp.order.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded executor for the blocking stages of the order creation pipeline.
+ * Uses virtual threads when the runtime has them (Java 21+), platform
+ * threads otherwise. When the queue is full the caller runs the stage itself,
+ * so overload degrades to sequential execution instead of failing.
+ */
+@Configuration
+public class OrderPipelineConfig {
+    private static final Logger logger = LoggerFactory.getLogger(OrderPipelineConfig.class);
+
+    @Value("${app.order-pipeline.threads:32}")
+    private int threads;
+
+    @Value("${app.order-pipeline.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService orderPipelineExecutor() {
+        int poolSize = Math.max(1, threads);
+        return new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                threadFactory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static ThreadFactory threadFactory() {
+        try {
+            // Thread.ofVirtual().name("order-pipeline-", 0).factory(), looked up reflectively to keep Java 17 support
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "order-pipeline-", 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            logger.info("Order pipeline uses virtual threads");
+            return factory;
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            return runnable -> {
+                Thread thread = new Thread(runnable, "order-pipeline-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.foodieapp.order.config;
+
+import com.foodieapp.order.util.PricingConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+
+@Configuration
+public class PricingConfiguration {
+    private static final Logger logger = LoggerFactory.getLogger(PricingConfiguration.class);
+
+    /**
+     * Pricing parameters, read once at startup
+     */
+    @Bean
+    public PricingConfig pricingConfig(
+            @Value("${order.tax.percentage:10}") BigDecimal taxPercentage,
+            @Value("${order.delivery.fee:2.99}") BigDecimal deliveryFee) {
+        PricingConfig config = PricingConfig.fromPercent(taxPercentage, deliveryFee);
+        logger.info("Order pricing: {}", config);
+        return config;
+    }
+}
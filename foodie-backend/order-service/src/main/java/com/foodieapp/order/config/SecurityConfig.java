@@ -1,7 +1,12 @@
 package com.foodieapp.order.config;
 
+import com.foodieapp.order.security.AuthenticatedUser;
+import com.foodieapp.order.security.AuthenticatedUserResolver;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
@@ -12,9 +17,12 @@ import org.springframework.web.cors.CorsConfigurationSource;
 public class SecurityConfig {
 
     private final CorsConfigurationSource corsConfigurationSource;
+    private final AuthenticatedUserResolver authenticatedUserResolver;
 
-    public SecurityConfig(CorsConfigurationSource corsConfigurationSource) {
+    public SecurityConfig(CorsConfigurationSource corsConfigurationSource,
+                          AuthenticatedUserResolver authenticatedUserResolver) {
         this.corsConfigurationSource = corsConfigurationSource;
+        this.authenticatedUserResolver = authenticatedUserResolver;
     }
 
     @Bean
@@ -25,9 +33,22 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/v1/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        // Health checks are public, the other actuator endpoints are for admins
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").access((authentication, context) ->
+                                new AuthorizationDecision(isAdmin(context.getRequest())))
                         .anyRequest().authenticated()
                 );
 
         return http.build();
     }
+
+    /**
+     * Users are authenticated by the user service rather than by Spring Security,
+     * so actuator requests are checked against the Authorization header directly
+     */
+    private boolean isAdmin(HttpServletRequest request) {
+        AuthenticatedUser user = authenticatedUserResolver.resolve(request.getHeader(HttpHeaders.AUTHORIZATION));
+        return user != null && user.isAdmin();
+    }
 }
@@ -0,0 +1,61 @@
+package com.foodieapp.order.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking transport behind the service clients' *Async methods, with
+ * the same pool limits and timeouts as the blocking RestTemplate transport.
+ * Pool usage is published as reactor.netty.connection.provider.* metrics.
+ */
+@Configuration
+public class WebClientConfig {
+
+    @Value("${app.rest-template.connect-timeout:5000}")
+    private int connectTimeout;
+
+    @Value("${app.rest-template.read-timeout:5000}")
+    private long readTimeout;
+
+    @Value("${app.rest-template.connection-request-timeout:2000}")
+    private long connectionRequestTimeout;
+
+    @Value("${app.rest-template.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${app.rest-template.keep-alive-ms:30000}")
+    private long keepAlive;
+
+    @Value("${app.rest-template.idle-eviction-ms:30000}")
+    private long idleEviction;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serviceConnectionProvider() {
+        return ConnectionProvider.builder("inter-service-async")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(connectionRequestTimeout))
+                .maxIdleTime(Duration.ofMillis(keepAlive))
+                .evictInBackground(Duration.ofMillis(idleEviction))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient serviceWebClient(WebClient.Builder builder, ConnectionProvider serviceConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(serviceConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+                .responseTimeout(Duration.ofMillis(readTimeout));
+
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
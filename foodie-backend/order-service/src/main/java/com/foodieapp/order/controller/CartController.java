@@ -2,6 +2,9 @@ package com.foodieapp.order.controller;
 
 import com.foodieapp.order.dto.request.CartItemRequest;
 import com.foodieapp.order.dto.response.CartResponse;
+import com.foodieapp.order.exception.UnauthorizedException;
+import com.foodieapp.order.security.AuthContext;
+import com.foodieapp.order.security.AuthenticatedUser;
 import com.foodieapp.order.service.CartService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +19,7 @@ public class CartController {
 
     @GetMapping("/{userId}")
     public ResponseEntity<CartResponse> getCart(@PathVariable String userId) {
+        verifyCartAccess(userId);
         return ResponseEntity.ok(cartService.getCart(userId));
     }
 
@@ -23,6 +27,7 @@ public class CartController {
     public ResponseEntity<CartResponse> addItemToCart(
             @PathVariable String userId,
             @RequestBody CartItemRequest itemRequest) {
+        verifyCartAccess(userId);
         return ResponseEntity.ok(cartService.addItemToCart(userId, itemRequest));
     }
 
@@ -30,6 +35,7 @@ public class CartController {
     public ResponseEntity<CartResponse> removeItemFromCart(
             @PathVariable String userId,
             @PathVariable String itemId) {
+        verifyCartAccess(userId);
         return ResponseEntity.ok(cartService.removeItemFromCart(userId, itemId));
     }
 
@@ -38,11 +44,13 @@ public class CartController {
             @PathVariable String userId,
             @PathVariable String itemId,
             @RequestParam int quantity) {
+        verifyCartAccess(userId);
         return ResponseEntity.ok(cartService.updateItemQuantity(userId, itemId, quantity));
     }
 
     @DeleteMapping("/{userId}")
     public ResponseEntity<Void> clearCart(@PathVariable String userId) {
+        verifyCartAccess(userId);
         cartService.clearCart(userId);
         return ResponseEntity.ok().build();
     }
@@ -51,6 +59,17 @@ public class CartController {
     public ResponseEntity<CartResponse> updateCartInstructions(
             @PathVariable String userId,
             @RequestParam String instructions) {
+        verifyCartAccess(userId);
         return ResponseEntity.ok(cartService.updateCartInstructions(userId, instructions));
     }
+
+    /**
+     * Carts can only be accessed by their owner or an admin
+     */
+    private void verifyCartAccess(String userId) {
+        AuthenticatedUser user = AuthContext.current();
+        if (user == null || !user.canActAs(userId)) {
+            throw new UnauthorizedException("You are not authorized to access this cart");
+        }
+    }
 }
@@ -0,0 +1,48 @@
+package com.foodieapp.order.controller;
+
+import com.foodieapp.order.exception.ResourceNotFoundException;
+import com.foodieapp.order.exception.UnauthorizedException;
+import com.foodieapp.order.model.Order;
+import com.foodieapp.order.repository.OrderRepository;
+import com.foodieapp.order.security.ServiceTokenVerifier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Order lookups for the other backend services, authenticated by the service token
+ */
+@RestController
+@RequestMapping("/api/v1/internal/orders")
+public class InternalOrderController {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ServiceTokenVerifier serviceTokenVerifier;
+
+    /**
+     * Restaurant and status of an order, e.g. to confirm an order event
+     */
+    @GetMapping("/{orderId}")
+    public ResponseEntity<Map<String, Object>> getOrderSummary(
+            @PathVariable String orderId,
+            @RequestHeader(value = ServiceTokenVerifier.HEADER, required = false) String serviceToken) {
+        if (!serviceTokenVerifier.matches(serviceToken)) {
+            throw new UnauthorizedException("A valid service token is required");
+        }
+
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", orderId));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("orderId", order.getId());
+        summary.put("restaurantId", order.getRestaurantId());
+        summary.put("status", order.getStatus() != null ? order.getStatus().name() : null);
+        return ResponseEntity.ok(summary);
+    }
+}
@@ -4,7 +4,9 @@ import com.foodieapp.order.dto.request.OrderRequest;
 import com.foodieapp.order.dto.request.OrderStatusUpdateRequest;
 import com.foodieapp.order.dto.response.OrderResponse;
 import com.foodieapp.order.model.Order;
+import com.foodieapp.order.exception.UnauthorizedException;
 import com.foodieapp.order.model.OrderStatus;
+import com.foodieapp.order.security.AuthContext;
 import com.foodieapp.order.service.OrderService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -30,6 +32,7 @@ public class OrderController {
     public ResponseEntity<OrderResponse> createOrder(
             @Valid @RequestBody OrderRequest orderRequest,
             @RequestHeader("Authorization") String authToken) {
+        requireAuthenticated();
 
         Order order;
 
@@ -48,6 +51,7 @@ public class OrderController {
     public ResponseEntity<OrderResponse> getOrderDetails(
             @PathVariable String orderId,
             @RequestHeader("Authorization") String authToken) {
+        requireAuthenticated();
 
         // Forward auth token for authorization verification
         Order order = orderService.getOrderById(orderId, authToken);
@@ -58,6 +62,7 @@ public class OrderController {
     public ResponseEntity<List<OrderResponse>> getUserOrders(
             @PathVariable String userId,
             @RequestHeader("Authorization") String authToken) {
+        requireAuthenticated();
 
         // Forward auth token for authorization verification
         List<OrderResponse> responses = orderService.getUserOrders(userId, authToken).stream()
@@ -72,6 +77,7 @@ public class OrderController {
     public ResponseEntity<List<OrderResponse>> getRestaurantOrders(
             @PathVariable String restaurantId,
             @RequestHeader("Authorization") String authToken) {
+        requireAuthenticated();
 
         // Forward auth token for authorization verification
         List<OrderResponse> orders = orderService.getRestaurantOrders(restaurantId, authToken).stream()
@@ -87,6 +93,7 @@ public class OrderController {
             @PathVariable String orderId,
             @Valid @RequestBody OrderStatusUpdateRequest request,
             @RequestHeader("Authorization") String authToken) {
+        requireAuthenticated();
 
         // Forward auth token for authorization verification
         Order updatedOrder = orderService.updateOrderStatus(
@@ -104,6 +111,7 @@ public class OrderController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestHeader("Authorization") String authToken) {
+        requireAuthenticated();
 
         List<OrderResponse> responses = orderService.getAllOrders(page, size, authToken).stream()
                 .map(orderService::convertToOrderResponse)
@@ -124,4 +132,13 @@ public class OrderController {
 
         return ResponseEntity.ok(orderService.convertToOrderResponse(updatedOrder));
     }
+
+    /**
+     * Reject requests without a valid token before doing any work
+     */
+    private void requireAuthenticated() {
+        if (AuthContext.current() == null) {
+            throw new UnauthorizedException("Authentication required");
+        }
+    }
 }
@@ -24,6 +24,10 @@ public enum ErrorCodes {
     CART_ITEM_NOT_FOUND("BUSINESS_003", "Item not found in cart", 422),
     MIXED_RESTAURANT_ITEMS("BUSINESS_004", "Cart contains items from different restaurants", 422),
     INVALID_PAYMENT_METHOD("BUSINESS_005", "Invalid payment method", 422),
+    MENU_ITEM_UNAVAILABLE("BUSINESS_006", "Menu item is no longer available", 422),
+
+    // Conflicts (409)
+    CART_UPDATE_CONFLICT("CONFLICT_001", "Cart was modified concurrently", 409),
 
     // External service errors (502)
     USER_SERVICE_ERROR("EXTERNAL_001", "Error communicating with user service", 502),
@@ -3,6 +3,7 @@ package com.foodieapp.order.model;
 import com.foodieapp.order.util.PriceCalculationService;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -26,6 +27,14 @@ public class Cart {
     private String promoCode;
     private int itemCount;
 
+    // Incremented by every cart update; updates only apply to the version they were computed from
+    @Version
+    private Long version;
+
+    // Order-service node holding this cart in its in-memory session store, and until when
+    private String sessionOwner;
+    private LocalDateTime sessionLeaseUntil;
+
     // This will be injected by the service layer
     private transient PriceCalculationService priceCalculationService;
 
@@ -44,26 +53,15 @@ public class Cart {
     }
 
     public void calculateTotal() {
-        if (priceCalculationService != null) {
-            PriceCalculationService.PriceBreakdown breakdown = priceCalculationService.calculateCartTotals(items);
-            this.subtotal = breakdown.getSubtotal();
-            this.tax = breakdown.getTax();
-            this.deliveryFee = breakdown.getDeliveryFee();
-            this.totalAmount = breakdown.getTotalAmount();
-        } else {
-            // Fallback to the original calculation for backward compatibility
-            this.subtotal = items.stream()
-                    .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            // Use the static utility methods
-            this.tax = com.foodieapp.order.util.PriceCalculationUtil.calculateTax(this.subtotal);
-            this.deliveryFee = com.foodieapp.order.util.PriceCalculationUtil.getDeliveryFee();
-            this.totalAmount = com.foodieapp.order.util.PriceCalculationUtil.calculateTotal(
-                this.subtotal, this.tax, this.deliveryFee, this.discount);
-        }
-
-        this.itemCount = items.stream().mapToInt(CartItem::getQuantity).sum();
+        // Without an injected service (e.g. in tests) the default pricing applies
+        PriceCalculationService calculation = priceCalculationService != null
+                ? priceCalculationService : PriceCalculationService.defaults();
+        PriceCalculationService.PriceBreakdown breakdown = calculation.calculateCartTotals(items);
+        this.subtotal = breakdown.getSubtotal();
+        this.tax = breakdown.getTax();
+        this.deliveryFee = breakdown.getDeliveryFee();
+        this.totalAmount = breakdown.getTotalAmount();
+        this.itemCount = breakdown.getItemCount();
     }
 
     // Getters and Setters
@@ -108,4 +106,13 @@ public class Cart {
 
     public int getItemCount() { return itemCount; }
     public void setItemCount(int itemCount) { this.itemCount = itemCount; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public String getSessionOwner() { return sessionOwner; }
+    public void setSessionOwner(String sessionOwner) { this.sessionOwner = sessionOwner; }
+
+    public LocalDateTime getSessionLeaseUntil() { return sessionLeaseUntil; }
+    public void setSessionLeaseUntil(LocalDateTime sessionLeaseUntil) { this.sessionLeaseUntil = sessionLeaseUntil; }
 }
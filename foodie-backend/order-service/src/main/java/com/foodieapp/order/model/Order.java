@@ -29,6 +29,8 @@ public class Order {
     private String customerName;
     private String customerPhone;
     private String orderNotes;
+    // Status change not yet handed to the notification outbox
+    private PendingStatusNotification pendingNotification;
 
     // This will be injected by the service layer
     private transient PriceCalculationService priceCalculationService;
@@ -48,24 +50,14 @@ public class Order {
     }
 
     public void calculateTotals() {
-        if (priceCalculationService != null) {
-            PriceCalculationService.PriceBreakdown breakdown = priceCalculationService.calculateOrderTotals(items);
-            this.subtotal = breakdown.getSubtotal();
-            this.tax = breakdown.getTax();
-            this.deliveryFee = breakdown.getDeliveryFee();
-            this.totalAmount = breakdown.getTotalAmount();
-        } else {
-            // Fallback to the original calculation for backward compatibility
-            this.subtotal = items.stream()
-                    .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            // Use the static utility methods
-            this.tax = com.foodieapp.order.util.PriceCalculationUtil.calculateTax(this.subtotal);
-            this.deliveryFee = com.foodieapp.order.util.PriceCalculationUtil.getDeliveryFee();
-            this.totalAmount = com.foodieapp.order.util.PriceCalculationUtil.calculateTotal(
-                this.subtotal, this.tax, this.deliveryFee, null);
-        }
+        // Without an injected service (e.g. in tests) the default pricing applies
+        PriceCalculationService calculation = priceCalculationService != null
+                ? priceCalculationService : PriceCalculationService.defaults();
+        PriceCalculationService.PriceBreakdown breakdown = calculation.calculateOrderTotals(items);
+        this.subtotal = breakdown.getSubtotal();
+        this.tax = breakdown.getTax();
+        this.deliveryFee = breakdown.getDeliveryFee();
+        this.totalAmount = breakdown.getTotalAmount();
     }
 
     // Getters and Setters
@@ -82,10 +74,7 @@ public class Order {
     public void setRestaurantName(String restaurantName) { this.restaurantName = restaurantName; }
 
     public List<OrderItem> getItems() { return items; }
-    public void setItems(List<OrderItem> items) {
-        this.items = items;
-        calculateTotals();
-    }
+    public void setItems(List<OrderItem> items) { this.items = items; }
 
     public BigDecimal getSubtotal() { return subtotal; }
     public void setSubtotal(BigDecimal subtotal) { this.subtotal = subtotal; }
@@ -125,4 +114,7 @@ public class Order {
 
     public String getOrderNotes() { return orderNotes; }
     public void setOrderNotes(String orderNotes) { this.orderNotes = orderNotes; }
+
+    public PendingStatusNotification getPendingNotification() { return pendingNotification; }
+    public void setPendingNotification(PendingStatusNotification pendingNotification) { this.pendingNotification = pendingNotification; }
 }
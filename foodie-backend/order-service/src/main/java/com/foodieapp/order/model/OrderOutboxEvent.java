@@ -0,0 +1,103 @@
+package com.foodieapp.order.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Pending order status notification, written when an order changes status and
+ * delivered later by the outbox dispatcher.
+ *
+ * While an event is PENDING, further transitions of the same order are folded
+ * into it: the customer is told about the latest status only, and the restaurant
+ * is still told about a confirmation that happened along the way.
+ */
+@Document(collection = "order_outbox")
+public class OrderOutboxEvent {
+
+    public enum State {
+        PENDING,      // Waiting for its first or next delivery attempt
+        IN_PROGRESS,  // Claimed by a dispatcher until lockedUntil
+        FAILED        // Gave up after the maximum number of attempts
+    }
+
+    // Delivery steps, recorded so a retry does not repeat the ones that succeeded
+    public static final String STEP_CUSTOMER_EMAIL = "CUSTOMER_EMAIL";
+    public static final String STEP_CUSTOMER_SMS = "CUSTOMER_SMS";
+    public static final String STEP_RESTAURANT_EMAIL = "RESTAURANT_EMAIL";
+    public static final String STEP_RESTAURANT_ORDER_COUNT = "RESTAURANT_ORDER_COUNT";
+
+    @Id
+    private String id;
+    private String orderId;
+    private String userId;
+    private String restaurantId;
+    private String restaurantName;
+    private String customerName;
+    private OrderStatus previousStatus;
+    private OrderStatus status;
+    private boolean notifyRestaurant;
+    private State state;
+    private int attempts;
+    private Set<String> completedSteps = new HashSet<>();
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime lockedUntil;
+    private String lastError;
+
+    public boolean isStepCompleted(String step) {
+        return completedSteps != null && completedSteps.contains(step);
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getRestaurantId() { return restaurantId; }
+    public void setRestaurantId(String restaurantId) { this.restaurantId = restaurantId; }
+
+    public String getRestaurantName() { return restaurantName; }
+    public void setRestaurantName(String restaurantName) { this.restaurantName = restaurantName; }
+
+    public String getCustomerName() { return customerName; }
+    public void setCustomerName(String customerName) { this.customerName = customerName; }
+
+    public OrderStatus getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(OrderStatus previousStatus) { this.previousStatus = previousStatus; }
+
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+
+    public boolean isNotifyRestaurant() { return notifyRestaurant; }
+    public void setNotifyRestaurant(boolean notifyRestaurant) { this.notifyRestaurant = notifyRestaurant; }
+
+    public State getState() { return state; }
+    public void setState(State state) { this.state = state; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public Set<String> getCompletedSteps() { return completedSteps; }
+    public void setCompletedSteps(Set<String> completedSteps) { this.completedSteps = completedSteps; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public LocalDateTime getLockedUntil() { return lockedUntil; }
+    public void setLockedUntil(LocalDateTime lockedUntil) { this.lockedUntil = lockedUntil; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
@@ -0,0 +1,38 @@
+package com.foodieapp.order.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Status change saved on the order itself, in the same write as the new status,
+ * until the outbox has taken it over. Each change gets a new id, so a relay only
+ * clears the change it actually queued.
+ */
+public class PendingStatusNotification {
+    private String id;
+    private OrderStatus previousStatus;
+    private boolean notifyRestaurant;
+    private LocalDateTime recordedAt;
+
+    public PendingStatusNotification() {
+    }
+
+    public PendingStatusNotification(OrderStatus previousStatus, boolean notifyRestaurant) {
+        this.id = UUID.randomUUID().toString();
+        this.previousStatus = previousStatus;
+        this.notifyRestaurant = notifyRestaurant;
+        this.recordedAt = LocalDateTime.now();
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public OrderStatus getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(OrderStatus previousStatus) { this.previousStatus = previousStatus; }
+
+    public boolean isNotifyRestaurant() { return notifyRestaurant; }
+    public void setNotifyRestaurant(boolean notifyRestaurant) { this.notifyRestaurant = notifyRestaurant; }
+
+    public LocalDateTime getRecordedAt() { return recordedAt; }
+    public void setRecordedAt(LocalDateTime recordedAt) { this.recordedAt = recordedAt; }
+}
@@ -0,0 +1,40 @@
+package com.foodieapp.order.repository;
+
+import com.foodieapp.order.model.Cart;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+public interface CustomCartRepository {
+
+    /**
+     * Apply an update to a cart if it is still at the cart's version, incrementing the version
+     * @param cart Cart as read, identifying the document and expected version
+     * @param update Update operators to apply in place
+     * @return Updated cart, or null if the cart was changed by someone else in the meantime
+     */
+    Cart updateIfVersion(Cart cart, Update update);
+
+    /**
+     * Take the session lease on a user's active cart unless another node holds a live lease
+     * @return Cart with the lease taken, or null if there is no active cart or it is owned elsewhere
+     */
+    Cart acquireSession(String userId, String owner, LocalDateTime leaseUntil);
+
+    /**
+     * Extend the leases this owner still holds; does not change cart versions
+     */
+    void renewSessions(Collection<String> cartIds, String owner, LocalDateTime leaseUntil);
+
+    /**
+     * Give up a lease if this owner still holds it; does not change the cart version
+     */
+    void releaseSession(String cartId, String owner);
+
+    /**
+     * Current versions of the given carts, keyed by cart id
+     */
+    Map<String, Long> findVersions(Collection<String> cartIds);
+}
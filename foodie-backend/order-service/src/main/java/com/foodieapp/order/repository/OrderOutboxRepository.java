@@ -0,0 +1,55 @@
+package com.foodieapp.order.repository;
+
+import com.foodieapp.order.model.Order;
+import com.foodieapp.order.model.OrderOutboxEvent;
+import com.foodieapp.order.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Storage for the order_outbox collection. Claims and state changes are single
+ * atomic updates so several service instances can drain the same outbox.
+ */
+public interface OrderOutboxRepository {
+
+    /**
+     * Record a status change, folding it into the order's pending event if there is one
+     * @param notBefore Earliest delivery time of a newly created event
+     */
+    void enqueue(Order order, OrderStatus previousStatus, boolean notifyRestaurant, LocalDateTime notBefore);
+
+    /**
+     * Claim the next due event, including events whose previous claim has expired
+     * @return Claimed event with its attempt count incremented, or null if none are due
+     */
+    OrderOutboxEvent claimNext(LocalDateTime now, LocalDateTime lockedUntil);
+
+    void markStepCompleted(String eventId, String step);
+
+    void delete(String eventId);
+
+    /**
+     * Hand a failed event's outstanding work to a newer pending event of the same order
+     * @return true if such an event exists and the failed one can be dropped
+     */
+    boolean foldIntoPending(OrderOutboxEvent event);
+
+    void scheduleRetry(OrderOutboxEvent event, LocalDateTime nextAttemptAt, String error);
+
+    void markFailed(OrderOutboxEvent event, String error);
+
+    long countByState(OrderOutboxEvent.State state);
+
+    /**
+     * Orders with a status change not yet handed to the outbox, oldest first
+     */
+    List<Order> findOrdersWithPendingNotification(int limit);
+
+    /**
+     * Remove a handed-over status change from its order, unless a newer one replaced it
+     */
+    void clearPendingNotification(String orderId, String notificationId);
+
+    void ensureIndexes();
+}
@@ -0,0 +1,95 @@
+package com.foodieapp.order.repository.impl;
+
+import com.foodieapp.order.model.Cart;
+import com.foodieapp.order.repository.CustomCartRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class CustomCartRepositoryImpl implements CustomCartRepository {
+    private static final String CARTS = "carts";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public Cart updateIfVersion(Cart cart, Update update) {
+        // Carts written before versioning have no version field; null matches those
+        Query query = new Query(Criteria.where("id").is(cart.getId())
+                .and("version").is(cart.getVersion()));
+
+        return mongoTemplate.findAndModify(query, update.inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true), Cart.class);
+    }
+
+    @Override
+    public Cart acquireSession(String userId, String owner, LocalDateTime leaseUntil) {
+        Query query = new Query(Criteria.where("userId").is(userId)
+                .and("isActive").is(true)
+                .orOperator(
+                        Criteria.where("sessionOwner").is(null),
+                        Criteria.where("sessionOwner").is(owner),
+                        Criteria.where("sessionLeaseUntil").lt(LocalDateTime.now())));
+
+        Update update = new Update()
+                .set("sessionOwner", owner)
+                .set("sessionLeaseUntil", leaseUntil);
+
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Cart.class);
+    }
+
+    @Override
+    public void renewSessions(Collection<String> cartIds, String owner, LocalDateTime leaseUntil) {
+        // Updating by collection name leaves the version alone, so lease upkeep never conflicts with cart edits
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("_id").in(toObjectIds(cartIds)).and("sessionOwner").is(owner)),
+                new Update().set("sessionLeaseUntil", leaseUntil),
+                CARTS);
+    }
+
+    @Override
+    public void releaseSession(String cartId, String owner) {
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(toObjectId(cartId)).and("sessionOwner").is(owner)),
+                new Update().unset("sessionOwner").unset("sessionLeaseUntil"),
+                CARTS);
+    }
+
+    @Override
+    public Map<String, Long> findVersions(Collection<String> cartIds) {
+        Query query = new Query(Criteria.where("id").in(cartIds));
+        query.fields().include("version");
+
+        Map<String, Long> versions = new HashMap<>();
+        for (Cart cart : mongoTemplate.find(query, Cart.class)) {
+            versions.put(cart.getId(), cart.getVersion());
+        }
+        return versions;
+    }
+
+    private static List<Object> toObjectIds(Collection<String> ids) {
+        List<Object> objectIds = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            objectIds.add(toObjectId(id));
+        }
+        return objectIds;
+    }
+
+    private static Object toObjectId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
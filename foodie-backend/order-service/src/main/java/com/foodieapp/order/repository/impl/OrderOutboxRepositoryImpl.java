@@ -0,0 +1,165 @@
+package com.foodieapp.order.repository.impl;
+
+import com.foodieapp.order.model.Order;
+import com.foodieapp.order.model.OrderOutboxEvent;
+import com.foodieapp.order.model.OrderOutboxEvent.State;
+import com.foodieapp.order.model.OrderStatus;
+import com.foodieapp.order.repository.OrderOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class OrderOutboxRepositoryImpl implements OrderOutboxRepository {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void enqueue(Order order, OrderStatus previousStatus, boolean notifyRestaurant, LocalDateTime notBefore) {
+        Query query = new Query(Criteria.where("orderId").is(order.getId())
+                .and("state").is(State.PENDING));
+
+        Update update = new Update()
+                .set("status", order.getStatus())
+                .set("restaurantName", order.getRestaurantName())
+                .set("customerName", order.getCustomerName())
+                // The customer has not been told about the new status yet
+                .pullAll("completedSteps", new Object[] {
+                        OrderOutboxEvent.STEP_CUSTOMER_EMAIL, OrderOutboxEvent.STEP_CUSTOMER_SMS })
+                .setOnInsert("userId", order.getUserId())
+                .setOnInsert("restaurantId", order.getRestaurantId())
+                .setOnInsert("previousStatus", previousStatus)
+                .setOnInsert("attempts", 0)
+                .setOnInsert("createdAt", LocalDateTime.now())
+                .setOnInsert("nextAttemptAt", notBefore);
+        if (notifyRestaurant) {
+            update.set("notifyRestaurant", true);
+        } else {
+            update.setOnInsert("notifyRestaurant", false);
+        }
+
+        // The partial unique index on pending events makes concurrent upserts converge on one event
+        mongoTemplate.upsert(query, update, OrderOutboxEvent.class);
+    }
+
+    @Override
+    public OrderOutboxEvent claimNext(LocalDateTime now, LocalDateTime lockedUntil) {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("state").is(State.PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("state").is(State.IN_PROGRESS).and("lockedUntil").lte(now)))
+                .with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+
+        Update update = new Update()
+                .set("state", State.IN_PROGRESS)
+                .set("lockedUntil", lockedUntil)
+                .inc("attempts", 1);
+
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), OrderOutboxEvent.class);
+    }
+
+    @Override
+    public void markStepCompleted(String eventId, String step) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(eventId)),
+                new Update().addToSet("completedSteps", step), OrderOutboxEvent.class);
+    }
+
+    @Override
+    public void delete(String eventId) {
+        mongoTemplate.remove(new Query(Criteria.where("id").is(eventId)), OrderOutboxEvent.class);
+    }
+
+    @Override
+    public boolean foldIntoPending(OrderOutboxEvent event) {
+        Query query = new Query(Criteria.where("orderId").is(event.getOrderId())
+                .and("state").is(State.PENDING)
+                .and("id").ne(event.getId()));
+
+        if (event.isNotifyRestaurant() && !event.isStepCompleted(OrderOutboxEvent.STEP_RESTAURANT_EMAIL)) {
+            return mongoTemplate.updateFirst(query, new Update().set("notifyRestaurant", true),
+                    OrderOutboxEvent.class).getMatchedCount() > 0;
+        }
+        return mongoTemplate.exists(query, OrderOutboxEvent.class);
+    }
+
+    @Override
+    public void scheduleRetry(OrderOutboxEvent event, LocalDateTime nextAttemptAt, String error) {
+        mongoTemplate.updateFirst(claimedBy(event), new Update()
+                        .set("state", State.PENDING)
+                        .set("nextAttemptAt", nextAttemptAt)
+                        .set("lastError", error)
+                        .unset("lockedUntil"),
+                OrderOutboxEvent.class);
+    }
+
+    @Override
+    public void markFailed(OrderOutboxEvent event, String error) {
+        mongoTemplate.updateFirst(claimedBy(event), new Update()
+                        .set("state", State.FAILED)
+                        .set("lastError", error)
+                        .unset("lockedUntil"),
+                OrderOutboxEvent.class);
+    }
+
+    @Override
+    public long countByState(State state) {
+        return mongoTemplate.count(new Query(Criteria.where("state").is(state)), OrderOutboxEvent.class);
+    }
+
+    @Override
+    public List<Order> findOrdersWithPendingNotification(int limit) {
+        Query query = new Query(Criteria.where("pendingNotification").exists(true))
+                .with(Sort.by(Sort.Direction.ASC, "pendingNotification.recordedAt"))
+                .limit(limit);
+        return mongoTemplate.find(query, Order.class);
+    }
+
+    @Override
+    public void clearPendingNotification(String orderId, String notificationId) {
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(orderId).and("pendingNotification.id").is(notificationId)),
+                new Update().unset("pendingNotification"),
+                Order.class);
+    }
+
+    @Override
+    public void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(OrderOutboxEvent.class);
+        indexOps.ensureIndex(new Index()
+                .on("state", Sort.Direction.ASC)
+                .on("nextAttemptAt", Sort.Direction.ASC)
+                .named("state_nextAttemptAt"));
+        indexOps.ensureIndex(new Index()
+                .on("orderId", Sort.Direction.ASC)
+                .unique()
+                .partial(PartialIndexFilter.of(Criteria.where("state").is(State.PENDING.name())))
+                .named("orderId_pending_unique"));
+
+        // Only orders with a status change still to hand over are indexed
+        mongoTemplate.indexOps(Order.class).ensureIndex(new Index()
+                .on("pendingNotification.recordedAt", Sort.Direction.ASC)
+                .sparse()
+                .named("pendingNotification_recordedAt"));
+    }
+
+    /**
+     * Match an event only while this dispatcher still holds its claim
+     */
+    private static Query claimedBy(OrderOutboxEvent event) {
+        return new Query(Criteria.where("id").is(event.getId())
+                .and("state").is(State.IN_PROGRESS)
+                .and("lockedUntil").is(event.getLockedUntil()));
+    }
+}
@@ -0,0 +1,35 @@
+package com.foodieapp.order.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Holds the authenticated caller for the current request.
+ *
+ * The principal lives in a request attribute, so it is discarded with the
+ * request and is not visible to work handed off to other threads; capture it
+ * before dispatching.
+ */
+public final class AuthContext {
+    static final String ATTRIBUTE = AuthContext.class.getName() + ".PRINCIPAL";
+
+    private AuthContext() {
+    }
+
+    /**
+     * The caller of the current request, or null if there is none
+     * (no request bound to this thread, or no valid token)
+     */
+    public static AuthenticatedUser current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (AuthenticatedUser) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    static void set(HttpServletRequest request, AuthenticatedUser user) {
+        request.setAttribute(ATTRIBUTE, user);
+    }
+}
@@ -0,0 +1,90 @@
+package com.foodieapp.order.security;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Caller of the current request, resolved once from the access token.
+ *
+ * Identity and roles are fixed at construction. Restaurant ownership is only
+ * looked up when a check needs it, and each answer is remembered for the
+ * rest of the request.
+ */
+public final class AuthenticatedUser {
+    private final String userId;
+    private final String email;
+    private final Set<UserRole> roles;
+    private final String authToken;
+    private final Predicate<String> ownershipLookup;
+    private final Map<String, Boolean> ownedRestaurants = new ConcurrentHashMap<>();
+
+    public AuthenticatedUser(String userId, String email, EnumSet<UserRole> roles,
+                             String authToken, Predicate<String> ownershipLookup) {
+        this.userId = userId;
+        this.email = email;
+        this.roles = Collections.unmodifiableSet(EnumSet.copyOf(roles));
+        this.authToken = authToken;
+        this.ownershipLookup = ownershipLookup;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Set<UserRole> getRoles() {
+        return roles;
+    }
+
+    /**
+     * Token the principal was resolved from, forwarded on downstream calls
+     */
+    public String getAuthToken() {
+        return authToken;
+    }
+
+    public boolean hasRole(UserRole role) {
+        return roles.contains(role);
+    }
+
+    public boolean isAdmin() {
+        return roles.contains(UserRole.ADMIN);
+    }
+
+    /**
+     * Check whether this user is the given user, or an admin acting on their behalf
+     */
+    public boolean canActAs(String otherUserId) {
+        return isAdmin() || userId.equals(otherUserId);
+    }
+
+    /**
+     * Check whether this user owns the restaurant. Only restaurant owners are
+     * looked up; the result is memoized for the lifetime of the principal.
+     */
+    public boolean ownsRestaurant(String restaurantId) {
+        if (restaurantId == null || !hasRole(UserRole.RESTAURANT_OWNER) || ownershipLookup == null) {
+            return false;
+        }
+        return ownedRestaurants.computeIfAbsent(restaurantId, ownershipLookup::test);
+    }
+
+    /**
+     * Admins manage every restaurant; owners manage the ones they own
+     */
+    public boolean canManageRestaurant(String restaurantId) {
+        return isAdmin() || ownsRestaurant(restaurantId);
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{userId='" + userId + "', roles=" + roles + "}";
+    }
+}
@@ -0,0 +1,109 @@
+package com.foodieapp.order.security;
+
+import com.foodieapp.order.client.RestaurantServiceClient;
+import com.foodieapp.order.client.UserServiceClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Turns an Authorization header into an {@link AuthenticatedUser}
+ */
+@Component
+public class AuthenticatedUserResolver {
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticatedUserResolver.class);
+
+    private final UserServiceClient userServiceClient;
+    private final RestaurantServiceClient restaurantServiceClient;
+
+    public AuthenticatedUserResolver(UserServiceClient userServiceClient,
+                                     RestaurantServiceClient restaurantServiceClient) {
+        this.userServiceClient = userServiceClient;
+        this.restaurantServiceClient = restaurantServiceClient;
+    }
+
+    /**
+     * Validate the token and build the principal
+     * @param authToken Authorization header value
+     * @return The principal, or null if the token is missing or invalid
+     */
+    public AuthenticatedUser resolve(String authToken) {
+        if (authToken == null || authToken.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Object> tokenInfo;
+        try {
+            tokenInfo = userServiceClient.validateToken(authToken);
+        } catch (Exception e) {
+            logger.error("Error validating token: {}", e.getMessage());
+            return null;
+        }
+        return toUser(tokenInfo, authToken);
+    }
+
+    /**
+     * The principal of the current request if it was resolved from the same
+     * token, otherwise resolve the token now (e.g. outside a web request)
+     */
+    public AuthenticatedUser current(String authToken) {
+        AuthenticatedUser user = AuthContext.current();
+        if (user != null && Objects.equals(user.getAuthToken(), authToken)) {
+            return user;
+        }
+        return resolve(authToken);
+    }
+
+    /**
+     * The principal of the current request if it was resolved from the same
+     * token, otherwise validate the token without blocking. Must be called on
+     * the request thread; the returned future may complete on another.
+     */
+    public CompletableFuture<AuthenticatedUser> currentAsync(String authToken) {
+        AuthenticatedUser user = AuthContext.current();
+        if (user != null && Objects.equals(user.getAuthToken(), authToken)) {
+            return CompletableFuture.completedFuture(user);
+        }
+        if (authToken == null || authToken.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return userServiceClient.validateTokenAsync(authToken)
+                .thenApply(tokenInfo -> toUser(tokenInfo, authToken))
+                .exceptionally(e -> {
+                    logger.error("Error validating token: {}", e.getMessage());
+                    return null;
+                });
+    }
+
+    private AuthenticatedUser toUser(Map<String, Object> tokenInfo, String authToken) {
+        if (tokenInfo == null || !Boolean.TRUE.equals(tokenInfo.get("valid")) || tokenInfo.get("userId") == null) {
+            return null;
+        }
+
+        String userId = tokenInfo.get("userId").toString();
+        Object email = tokenInfo.get("email");
+        Object roles = tokenInfo.get("roles");
+        return new AuthenticatedUser(
+                userId,
+                email != null ? email.toString() : null,
+                UserRole.fromAuthorities(roles instanceof Collection ? (Collection<?>) roles : null),
+                authToken,
+                restaurantId -> isOwner(restaurantId, userId, authToken));
+    }
+
+    private boolean isOwner(String restaurantId, String userId, String authToken) {
+        try {
+            Map<String, Object> ownershipInfo = restaurantServiceClient.verifyOwnership(
+                    restaurantId, userId, authToken);
+            return ownershipInfo != null && Boolean.TRUE.equals(ownershipInfo.get("isOwner"));
+        } catch (Exception e) {
+            logger.error("Error verifying restaurant ownership: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.foodieapp.order.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Resolves the caller once per request and stores it in the {@link AuthContext}.
+ *
+ * Requests without a valid token pass through without a principal; the
+ * controllers and services decide whether that is allowed.
+ */
+@Component
+public class AuthenticationContextFilter extends OncePerRequestFilter {
+
+    private final AuthenticatedUserResolver resolver;
+
+    public AuthenticationContextFilter(AuthenticatedUserResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && !authHeader.isEmpty()) {
+            AuthenticatedUser user = resolver.resolve(authHeader);
+            if (user != null) {
+                AuthContext.set(request, user);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
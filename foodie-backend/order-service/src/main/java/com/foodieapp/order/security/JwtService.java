@@ -0,0 +1,288 @@
+package com.foodieapp.order.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigInteger;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Verifies access tokens locally against the signing keys the user service
+ * publishes at /api/v1/auth/jwks, so authenticated requests do not need a
+ * validate-token round trip.
+ *
+ * Keys and the revoked-token list are refreshed by scheduled background
+ * tasks; requests only read the current snapshots and never wait on the user
+ * service. A token signed by an unknown key, or checked before the revoked
+ * list was first loaded, is left undecided (null) so the caller can fall back
+ * to the user service; an unknown key also triggers one background refresh.
+ */
+@Service
+public class JwtService {
+    private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
+
+    // Lower bound between fetches triggered by unknown key ids
+    private static final long MIN_FETCH_INTERVAL_MS = 10_000;
+    private static final Set<String> NOT_LOADED = Collections.unmodifiableSet(new HashSet<>());
+
+    private final RestTemplate restTemplate;
+    private final String userServiceUrl;
+
+    @Value("${app.jwt.local-verification.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jwt.clock-skew-seconds:30}")
+    private long clockSkewSeconds;
+
+    // Optional base64 HS256 secret shared with the user service, for tokens issued without a key id
+    @Value("${app.jwt.shared-secret:}")
+    private String sharedSecret;
+
+    private final AtomicReference<Map<String, PublicKey>> signingKeys = new AtomicReference<>(Collections.emptyMap());
+    private volatile long keysFetchedAt;
+    private final AtomicBoolean keyRefreshPending = new AtomicBoolean();
+    // NOT_LOADED (by identity) until the first successful fetch
+    private final AtomicReference<Set<String>> revokedTokenIds = new AtomicReference<>(NOT_LOADED);
+
+    private Key sharedKey;
+    private JwtParser parser;
+
+    public JwtService(RestTemplate restTemplate, @Value("${user.service.url}") String userServiceUrl) {
+        this.restTemplate = restTemplate;
+        this.userServiceUrl = userServiceUrl;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (sharedSecret != null && !sharedSecret.isEmpty()) {
+            sharedKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(sharedSecret));
+        }
+
+        parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return resolveKey(header.getKeyId());
+                    }
+                })
+                .clockSkewSeconds(clockSkewSeconds)
+                .build();
+    }
+
+    /**
+     * Verify a token locally
+     * @param token Bearer token, with or without the "Bearer " prefix
+     * @return Token info in the shape of the user service's validate-token response
+     *         (valid, userId, email, roles), or null if it cannot be decided locally
+     */
+    public Map<String, Object> verify(String token) {
+        if (!enabled || token == null || token.isEmpty()) {
+            return null;
+        }
+        if (token.startsWith("Bearer ")) {
+            token = token.substring(7);
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (UnknownSigningKeyException e) {
+            logger.debug("Cannot verify token locally: {}", e.getMessage());
+            return null;
+        } catch (ExpiredJwtException e) {
+            return invalid("Token has expired");
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected token: {}", e.getMessage());
+            return invalid("Invalid token");
+        }
+
+        if (claims.get("tokenType") != null) {
+            // Refresh and verification tokens must not be used as access tokens
+            return invalid("Not an access token");
+        }
+        Object userId = claims.get("userId");
+        if (userId == null) {
+            return null;
+        }
+        Set<String> revoked = revokedTokenIds.get();
+        if (revoked == NOT_LOADED) {
+            return null;
+        }
+        String tokenId = claims.get("tokenId", String.class);
+        if (tokenId != null && revoked.contains(tokenId)) {
+            return invalid("Token has been revoked");
+        }
+
+        Map<String, Object> tokenInfo = new HashMap<>();
+        tokenInfo.put("valid", true);
+        tokenInfo.put("userId", userId.toString());
+        tokenInfo.put("email", claims.get("email"));
+        tokenInfo.put("username", claims.getSubject());
+        tokenInfo.put("roles", extractRoles(claims));
+        return tokenInfo;
+    }
+
+    /**
+     * Extract the user id from a locally verified token, or null
+     */
+    public String extractUserId(String token) {
+        Map<String, Object> tokenInfo = verify(token);
+        if (tokenInfo != null && Boolean.TRUE.equals(tokenInfo.get("valid"))) {
+            return (String) tokenInfo.get("userId");
+        }
+        return null;
+    }
+
+    private Key resolveKey(String kid) {
+        if (kid == null) {
+            if (sharedKey != null) {
+                return sharedKey;
+            }
+            throw new UnknownSigningKeyException("Token has no key id");
+        }
+
+        PublicKey key = signingKeys.get().get(kid);
+        if (key == null) {
+            // The user service may have rotated its key since the last fetch
+            requestKeyRefresh();
+            throw new UnknownSigningKeyException("Unknown signing key " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * Fetch the signing keys off the request thread, at most once per MIN_FETCH_INTERVAL_MS
+     */
+    private void requestKeyRefresh() {
+        if (!enabled || System.currentTimeMillis() - keysFetchedAt <= MIN_FETCH_INTERVAL_MS
+                || !keyRefreshPending.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                refreshSigningKeys();
+            } finally {
+                keyRefreshPending.set(false);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.jwks-refresh-ms:300000}")
+    @SuppressWarnings("unchecked")
+    public void refreshSigningKeys() {
+        if (!enabled) {
+            return;
+        }
+        keysFetchedAt = System.currentTimeMillis();
+
+        try {
+            Map<String, Object> jwks = restTemplate.getForObject(userServiceUrl + "/api/v1/auth/jwks", Map.class);
+            Map<String, PublicKey> keys = parseJwks(jwks);
+            if (!keys.isEmpty()) {
+                signingKeys.set(keys);
+                logger.debug("Loaded {} token signing key(s) from user service", keys.size());
+            }
+        } catch (Exception e) {
+            // Keep the last known keys; tokens with unknown key ids fall back to remote validation
+            logger.warn("Failed to fetch token signing keys: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.deny-list-refresh-ms:60000}")
+    @SuppressWarnings("unchecked")
+    public void refreshDenyList() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Map<String, Object> response = restTemplate.getForObject(
+                    userServiceUrl + "/api/v1/auth/revoked-tokens", Map.class);
+            if (response != null && response.get("tokenIds") instanceof Collection) {
+                Set<String> ids = new HashSet<>();
+                for (Object id : (Collection<Object>) response.get("tokenIds")) {
+                    ids.add(String.valueOf(id));
+                }
+                revokedTokenIds.set(Collections.unmodifiableSet(ids));
+            }
+        } catch (Exception e) {
+            // Keep the last known list
+            logger.warn("Failed to fetch revoked tokens: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, PublicKey> parseJwks(Map<String, Object> jwks) throws Exception {
+        Map<String, PublicKey> keys = new HashMap<>();
+        if (jwks == null || !(jwks.get("keys") instanceof Collection)) {
+            return keys;
+        }
+
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        for (Map<String, Object> jwk : (Collection<Map<String, Object>>) jwks.get("keys")) {
+            if (!"RSA".equals(jwk.get("kty")) || jwk.get("kid") == null) {
+                continue;
+            }
+            BigInteger modulus = new BigInteger(1, decoder.decode((String) jwk.get("n")));
+            BigInteger exponent = new BigInteger(1, decoder.decode((String) jwk.get("e")));
+            keys.put((String) jwk.get("kid"), keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+        }
+        return keys;
+    }
+
+    private static List<String> extractRoles(Claims claims) {
+        List<String> roles = new ArrayList<>();
+        Object claim = claims.get("roles");
+        if (claim instanceof Collection) {
+            for (Object role : (Collection<?>) claim) {
+                roles.add(String.valueOf(role));
+            }
+        }
+        return roles;
+    }
+
+    private static Map<String, Object> invalid(String error) {
+        Map<String, Object> tokenInfo = new HashMap<>();
+        tokenInfo.put("valid", false);
+        tokenInfo.put("error", error);
+        return tokenInfo;
+    }
+
+    /**
+     * Signing key is not available locally; verification must be done remotely
+     */
+    private static class UnknownSigningKeyException extends JwtException {
+        UnknownSigningKeyException(String message) {
+            super(message);
+        }
+    }
+}
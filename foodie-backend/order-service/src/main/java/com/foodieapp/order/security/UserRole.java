@@ -0,0 +1,48 @@
+package com.foodieapp.order.security;
+
+import java.util.Collection;
+import java.util.EnumSet;
+
+/**
+ * Roles issued by the user service, without the "ROLE_" authority prefix
+ */
+public enum UserRole {
+    CUSTOMER,
+    RESTAURANT_OWNER,
+    ADMIN;
+
+    private static final String AUTHORITY_PREFIX = "ROLE_";
+
+    /**
+     * Convert an authority string such as "ROLE_ADMIN" to a role, or null if unknown
+     */
+    public static UserRole fromAuthority(String authority) {
+        if (authority == null) {
+            return null;
+        }
+        String name = authority.startsWith(AUTHORITY_PREFIX)
+                ? authority.substring(AUTHORITY_PREFIX.length())
+                : authority;
+        try {
+            return valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Convert authority strings to a role set, ignoring unknown roles
+     */
+    public static EnumSet<UserRole> fromAuthorities(Collection<?> authorities) {
+        EnumSet<UserRole> roles = EnumSet.noneOf(UserRole.class);
+        if (authorities != null) {
+            for (Object authority : authorities) {
+                UserRole role = fromAuthority(String.valueOf(authority));
+                if (role != null) {
+                    roles.add(role);
+                }
+            }
+        }
+        return roles;
+    }
+}
@@ -14,4 +14,7 @@ public interface CartService {
 
     // Add this method to the interface
     Cart getOrCreateCart(String userId);
+
+    // Persist cart changes still held in memory by this node, e.g. before checkout reads the cart
+    void flushCart(String userId);
 }
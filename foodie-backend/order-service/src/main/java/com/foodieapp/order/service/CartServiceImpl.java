@@ -3,25 +3,43 @@ package com.foodieapp.order.service;
 import com.foodieapp.order.dto.request.CartItemRequest;
 import com.foodieapp.order.dto.response.CartItemResponse;
 import com.foodieapp.order.dto.response.CartResponse;
+import com.foodieapp.order.exception.ErrorCodes;
+import com.foodieapp.order.exception.OrderServiceException;
 import com.foodieapp.order.model.Cart;
 import com.foodieapp.order.model.CartItem;
 import com.foodieapp.order.repository.CartRepository;
+import com.foodieapp.order.repository.CustomCartRepository;
 import com.foodieapp.order.util.PriceCalculationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class CartServiceImpl implements CartService {
+    // Attempts at an update before giving up on a cart other requests keep changing
+    private static final int MAX_UPDATE_ATTEMPTS = 10;
+
     @Autowired
     private CartRepository cartRepository;
 
+    @Autowired
+    private CustomCartRepository customCartRepository;
+
     @Autowired
     private PriceCalculationService priceCalculationService;
 
+    // Only present when the in-memory cart session tier is enabled
+    @Autowired(required = false)
+    private CartSessionStore cartSessionStore;
+
     @Override
     public CartResponse getCart(String userId) {
         Cart cart = getOrCreateCart(userId);
@@ -30,55 +48,45 @@ public class CartServiceImpl implements CartService {
 
     @Override
     public CartResponse addItemToCart(String userId, CartItemRequest itemRequest) {
-        Cart cart = getOrCreateCart(userId);
-        CartItem item = convertToCartItem(itemRequest);
+        Cart updatedCart = updateCart(userId, cart -> {
+            CartItem item = convertToCartItem(itemRequest);
 
-        // Check if cart has items from a different restaurant
-        if (cart.getRestaurantId() != null && !cart.getRestaurantId().equals(item.getRestaurantId())) {
-            cart.getItems().clear();
-        }
+            // Check if cart has items from a different restaurant
+            boolean otherRestaurant = cart.getRestaurantId() != null
+                    && !cart.getRestaurantId().equals(item.getRestaurantId());
+            cart.setRestaurantId(item.getRestaurantId());
 
-        cart.setRestaurantId(item.getRestaurantId());
+            if (otherRestaurant) {
+                cart.getItems().clear();
+                cart.getItems().add(item);
+                return new Update().set("items", cart.getItems());
+            }
 
-        // Add or update item
-        boolean itemExists = false;
-        for (CartItem existingItem : cart.getItems()) {
-            if (existingItem.getItemId().equals(item.getItemId())) {
+            // Add or update item
+            int index = indexOfItem(cart, item.getItemId());
+            if (index >= 0) {
+                CartItem existingItem = cart.getItems().get(index);
                 existingItem.setQuantity(existingItem.getQuantity() + item.getQuantity());
-                itemExists = true;
-                break;
+                return new Update()
+                        .inc("items." + index + ".quantity", item.getQuantity())
+                        .set("items." + index + ".subtotal", existingItem.getSubtotal());
             }
-        }
 
-        if (!itemExists) {
             cart.getItems().add(item);
-        }
-
-        // Set price calculation service and calculate total
-        cart.setPriceCalculationService(priceCalculationService);
-        cart.calculateTotal();
-
-        cart.setLastUpdated(LocalDateTime.now());
-        Cart updatedCart = cartRepository.save(cart);
+            return new Update().push("items", item);
+        });
         return convertToCartResponse(updatedCart);
     }
 
     @Override
     public CartResponse removeItemFromCart(String userId, String itemId) {
-        Cart cart = getOrCreateCart(userId);
-        if (cart.getItems().removeIf(item -> item.getItemId().equals(itemId))) {
-            if (cart.getItems().isEmpty()) {
-                cart.setRestaurantId(null);
+        Cart updatedCart = updateCart(userId, cart -> {
+            if (!cart.getItems().removeIf(item -> item.getItemId().equals(itemId))) {
+                throw new IllegalArgumentException("Item not found in cart");
             }
-
-            cart.setPriceCalculationService(priceCalculationService);
-            cart.calculateTotal();
-            cart.setLastUpdated(LocalDateTime.now());
-            Cart updatedCart = cartRepository.save(cart);
-            return convertToCartResponse(updatedCart);
-        } else {
-            throw new IllegalArgumentException("Item not found in cart");
-        }
+            return new Update().pull("items", Query.query(Criteria.where("itemId").is(itemId)));
+        });
+        return convertToCartResponse(updatedCart);
     }
 
     @Override
@@ -87,53 +95,150 @@ public class CartServiceImpl implements CartService {
             throw new IllegalArgumentException("Quantity must be at least 1");
         }
 
-        Cart cart = getOrCreateCart(userId);
-        CartItem itemToUpdate = cart.getItems().stream()
-                .filter(item -> item.getItemId().equals(itemId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Item not found in cart"));
-
-        itemToUpdate.setQuantity(quantity);
+        Cart updatedCart = updateCart(userId, cart -> {
+            int index = indexOfItem(cart, itemId);
+            if (index < 0) {
+                throw new IllegalArgumentException("Item not found in cart");
+            }
 
-        cart.setPriceCalculationService(priceCalculationService);
-        cart.calculateTotal();
-        cart.setLastUpdated(LocalDateTime.now());
-        Cart updatedCart = cartRepository.save(cart);
+            CartItem itemToUpdate = cart.getItems().get(index);
+            itemToUpdate.setQuantity(quantity);
+            return new Update()
+                    .set("items." + index + ".quantity", quantity)
+                    .set("items." + index + ".subtotal", itemToUpdate.getSubtotal());
+        });
         return convertToCartResponse(updatedCart);
     }
 
     @Override
     @Transactional
     public void clearCart(String userId) {
-        Cart cart = getOrCreateCart(userId);
-        cart.getItems().clear();
-        cart.setRestaurantId(null);
-
-        cart.setPriceCalculationService(priceCalculationService);
-        cart.calculateTotal();
-        cart.setLastUpdated(LocalDateTime.now());
-        cartRepository.save(cart);
+        updateCart(userId, cart -> {
+            cart.getItems().clear();
+            return new Update().set("items", cart.getItems());
+        });
+        // Clearing follows checkout; persist it right away rather than on the next flush
+        flushCart(userId);
     }
 
     @Override
     public CartResponse updateCartInstructions(String userId, String instructions) {
-        Cart cart = getOrCreateCart(userId);
-        cart.setSpecialInstructions(instructions);
-        cart.setLastUpdated(LocalDateTime.now());
-        Cart updatedCart = cartRepository.save(cart);
+        Cart updatedCart = updateCart(userId, cart -> {
+            cart.setSpecialInstructions(instructions);
+            return new Update().set("specialInstructions", instructions);
+        });
         return convertToCartResponse(updatedCart);
     }
 
     @Override
     public Cart getOrCreateCart(String userId) {
-        return cartRepository.findByUserIdAndIsActiveTrue(userId)
-                .orElseGet(() -> {
-                    Cart newCart = new Cart();
-                    newCart.setUserId(userId);
-                    newCart.setActive(true);
-                    newCart.setLastUpdated(LocalDateTime.now());
-                    return cartRepository.save(newCart);
-                });
+        if (cartSessionStore != null) {
+            Cart sessionCart = cartSessionStore.get(userId);
+            if (sessionCart != null) {
+                return sessionCart;
+            }
+        }
+        return cartRepository.findByUserIdAndIsActiveTrue(userId).orElseGet(() -> createCart(userId));
+    }
+
+    @Override
+    public void flushCart(String userId) {
+        if (cartSessionStore != null) {
+            cartSessionStore.flush(userId);
+        }
+    }
+
+    private Cart createCart(String userId) {
+        Cart newCart = new Cart();
+        newCart.setUserId(userId);
+        newCart.setActive(true);
+        newCart.setLastUpdated(LocalDateTime.now());
+        return cartRepository.save(newCart);
+    }
+
+    /**
+     * Apply a change to the user's cart in place with a single versioned update.
+     * The change edits the cart as read and returns the matching update operators;
+     * totals are recomputed from the edited cart. If another request updated the
+     * cart first, the cart is read again and the change reapplied.
+     *
+     * The read stays: the totals are priced by the PricingEngine from every item,
+     * and the change depends on what the cart holds (item position, restaurant
+     * switch), so a blind update could not set consistent totals. With the cart
+     * session tier enabled, repeated edits don't reach Mongo at all.
+     */
+    private Cart updateCart(String userId, Function<Cart, Update> change) {
+        if (cartSessionStore != null) {
+            Cart sessionCart = cartSessionStore.update(userId, change);
+            if (sessionCart != null) {
+                return sessionCart;
+            }
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            Cart cart = cartRepository.findByUserIdAndIsActiveTrue(userId).orElseGet(() -> createCart(userId));
+            Update update = applyChange(cart, change, priceCalculationService);
+
+            Cart updatedCart = customCartRepository.updateIfVersion(cart, withTotals(update, cart));
+            if (updatedCart != null) {
+                return updatedCart;
+            }
+            if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                throw new OrderServiceException("Cart is being updated elsewhere, please try again",
+                        ErrorCodes.CART_UPDATE_CONFLICT);
+            }
+            backOff(attempt);
+        }
+    }
+
+    /**
+     * Apply a change to a cart in memory and recompute its totals
+     * @return Update operators for the change itself, without the totals
+     */
+    static Update applyChange(Cart cart, Function<Cart, Update> change, PriceCalculationService priceCalculationService) {
+        Update update = change.apply(cart);
+
+        if (cart.getItems().isEmpty()) {
+            cart.setRestaurantId(null);
+        }
+        cart.setPriceCalculationService(priceCalculationService);
+        cart.calculateTotal();
+        cart.setLastUpdated(LocalDateTime.now());
+        return update;
+    }
+
+    /**
+     * Add the cart's restaurant and totals to an update
+     */
+    static Update withTotals(Update update, Cart cart) {
+        return update.set("restaurantId", cart.getRestaurantId())
+                .set("subtotal", cart.getSubtotal())
+                .set("tax", cart.getTax())
+                .set("deliveryFee", cart.getDeliveryFee())
+                .set("totalAmount", cart.getTotalAmount())
+                .set("itemCount", cart.getItemCount())
+                .set("lastUpdated", cart.getLastUpdated());
+    }
+
+    private static int indexOfItem(Cart cart, String itemId) {
+        for (int i = 0; i < cart.getItems().size(); i++) {
+            if (cart.getItems().get(i).getItemId().equals(itemId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Short randomized pause so competing updates of the same cart spread out
+     */
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 5L * attempt + 2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrderServiceException("Interrupted while updating cart", ErrorCodes.CART_UPDATE_CONFLICT, e);
+        }
     }
 
     private CartItem convertToCartItem(CartItemRequest request) {
@@ -0,0 +1,378 @@
+package com.foodieapp.order.service;
+
+import com.foodieapp.order.model.Cart;
+import com.foodieapp.order.model.CartItem;
+import com.foodieapp.order.repository.CartRepository;
+import com.foodieapp.order.repository.CustomCartRepository;
+import com.foodieapp.order.util.PriceCalculationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Write-behind session tier for active carts, enabled with app.cart-session.enabled.
+ *
+ * A node keeps a user's cart in memory once it holds the cart's session lease
+ * (sessionOwner / sessionLeaseUntil on the cart document). Changes apply in memory
+ * and are written to Mongo in one versioned update per cart every flush interval,
+ * on checkout and when the session is evicted. Leases are renewed on every flush
+ * and released on eviction, so with requests routed by user id each cart has one
+ * writer. A node that finds the cart leased elsewhere uses the direct versioned
+ * updates instead; the owner notices the new version on its next flush and
+ * replays its pending changes on top.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cart-session.enabled", havingValue = "true")
+public class CartSessionStore {
+    private static final Logger logger = LoggerFactory.getLogger(CartSessionStore.class);
+
+    private final CartRepository cartRepository;
+    private final CustomCartRepository customCartRepository;
+    private final PriceCalculationService priceCalculationService;
+    private final String nodeId;
+    private final long leaseMs;
+    private final Cache<String, CartSession> sessions;
+
+    private final Counter changes;
+    private final Counter writes;
+    private final Counter conflicts;
+
+    public CartSessionStore(
+            CartRepository cartRepository,
+            CustomCartRepository customCartRepository,
+            PriceCalculationService priceCalculationService,
+            @Value("${app.cart-session.node-id:}") String nodeId,
+            @Value("${app.cart-session.max-carts:10000}") long maxCarts,
+            @Value("${app.cart-session.idle-ms:300000}") long idleMs,
+            @Value("${app.cart-session.lease-ms:15000}") long leaseMs,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.cartRepository = cartRepository;
+        this.customCartRepository = customCartRepository;
+        this.priceCalculationService = priceCalculationService;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.leaseMs = leaseMs;
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxCarts)
+                .expireAfterAccess(idleMs, TimeUnit.MILLISECONDS)
+                // Flush evicted sessions before returning, so none are left behind on shutdown
+                .executor(Runnable::run)
+                .removalListener((String userId, CartSession session, RemovalCause cause) -> {
+                    if (session != null && cause != RemovalCause.REPLACED) {
+                        close(session);
+                    }
+                })
+                .build();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        Gauge.builder("order.cart_session.active", sessions, Cache::estimatedSize)
+                .description("Carts held in this node's session store")
+                .register(registry);
+        this.changes = Counter.builder("order.cart_session.changes")
+                .description("Cart changes applied in memory")
+                .register(registry);
+        this.writes = Counter.builder("order.cart_session.writes")
+                .description("Cart writes made by the session store")
+                .register(registry);
+        this.conflicts = Counter.builder("order.cart_session.conflicts")
+                .description("Flushes that had to replay changes on a newer cart version")
+                .register(registry);
+
+        logger.info("Cart session store enabled on node {}", this.nodeId);
+    }
+
+    /**
+     * Current cart from this node's session
+     * @return Cart, or null if there is no active cart yet or another node owns it
+     */
+    public Cart get(String userId) {
+        CartSession session = session(userId);
+        if (session == null) {
+            return null;
+        }
+        synchronized (session) {
+            return session.closed ? null : session.cart;
+        }
+    }
+
+    /**
+     * Apply a change to the cart in memory; it is written to Mongo on the next flush
+     * @return Updated cart, or null if there is no active cart yet or another node owns it
+     */
+    public Cart update(String userId, Function<Cart, Update> change) {
+        while (true) {
+            CartSession session = session(userId);
+            if (session == null) {
+                return null;
+            }
+            synchronized (session) {
+                if (session.closed) {
+                    // Evicted after we looked it up; take the lease again
+                    continue;
+                }
+                // Changes apply to a copy, so a cart handed out earlier never changes underneath its reader
+                Cart next = copy(session.cart);
+                CartServiceImpl.applyChange(next, change, priceCalculationService);
+                session.cart = next;
+                session.pending.add(change);
+                changes.increment();
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Write the user's pending changes now, e.g. at checkout
+     */
+    public void flush(String userId) {
+        CartSession session = sessions.getIfPresent(userId);
+        if (session == null) {
+            return;
+        }
+        synchronized (session) {
+            if (!session.closed) {
+                flushSession(session);
+            }
+        }
+    }
+
+    /**
+     * Write dirty carts, pick up changes made through other nodes and renew leases
+     */
+    @Scheduled(fixedDelayString = "${app.cart-session.flush-interval-ms:1000}")
+    public void flushAll() {
+        List<CartSession> active = new ArrayList<>(sessions.asMap().values());
+        if (active.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<String> cartIds = new ArrayList<>(active.size());
+            for (CartSession session : active) {
+                cartIds.add(session.cartId);
+            }
+            Map<String, Long> storedVersions = customCartRepository.findVersions(cartIds);
+
+            for (CartSession session : active) {
+                synchronized (session) {
+                    if (session.closed) {
+                        continue;
+                    }
+                    if (!Objects.equals(storedVersions.get(session.cartId), session.cart.getVersion())) {
+                        // Written through another node since we last flushed
+                        replay(session);
+                    } else {
+                        flushSession(session);
+                    }
+                }
+            }
+
+            customCartRepository.renewSessions(cartIds, nodeId, leaseUntil());
+        } catch (Exception e) {
+            logger.warn("Cart session flush failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sessions.invalidateAll();
+        sessions.cleanUp();
+    }
+
+    private CartSession session(String userId) {
+        CartSession session = sessions.getIfPresent(userId);
+        if (session != null) {
+            return session;
+        }
+
+        Cart cart = customCartRepository.acquireSession(userId, nodeId, leaseUntil());
+        if (cart == null) {
+            return null;
+        }
+        CartSession created = new CartSession(userId, cart);
+        CartSession existing = sessions.asMap().putIfAbsent(userId, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * Write the session's pending changes; caller holds the session lock
+     */
+    private void flushSession(CartSession session) {
+        if (!session.pending.isEmpty() && !write(session)) {
+            replay(session);
+        }
+    }
+
+    /**
+     * Write the session's cart in one versioned update
+     * @return false if the stored cart has moved on to another version
+     */
+    private boolean write(CartSession session) {
+        Cart cart = session.cart;
+        Update update = CartServiceImpl.withTotals(new Update()
+                .set("items", cart.getItems())
+                .set("specialInstructions", cart.getSpecialInstructions()), cart);
+
+        Cart saved = customCartRepository.updateIfVersion(cart, update);
+        writes.increment();
+        if (saved == null) {
+            return false;
+        }
+        session.cart = saved;
+        session.pending.clear();
+        return true;
+    }
+
+    /**
+     * Reload the cart and reapply the pending changes on top; caller holds the session lock
+     */
+    private void replay(CartSession session) {
+        conflicts.increment();
+        Cart fresh = cartRepository.findByUserIdAndIsActiveTrue(session.userId).orElse(null);
+        if (fresh == null || !session.cartId.equals(fresh.getId())) {
+            // The cart is gone; nothing left to write to
+            discard(session);
+            return;
+        }
+
+        for (Function<Cart, Update> change : session.pending) {
+            try {
+                CartServiceImpl.applyChange(fresh, change, priceCalculationService);
+            } catch (RuntimeException e) {
+                // E.g. the item was removed through another node in the meantime
+                logger.debug("Dropping cart change that no longer applies for user {}: {}", session.userId, e.getMessage());
+            }
+        }
+        session.cart = fresh;
+
+        if (!session.pending.isEmpty() && !write(session)) {
+            // Still contended; keep the changes and try again on the next flush
+            return;
+        }
+        if (!nodeId.equals(session.cart.getSessionOwner())) {
+            // Another node took over the lease; let it be the only one holding the cart
+            discard(session);
+        }
+    }
+
+    private void discard(CartSession session) {
+        session.closed = true;
+        sessions.asMap().remove(session.userId, session);
+    }
+
+    /**
+     * Flush and release a session leaving the store
+     */
+    private void close(CartSession session) {
+        synchronized (session) {
+            if (session.closed) {
+                return;
+            }
+            try {
+                flushSession(session);
+                customCartRepository.releaseSession(session.cartId, nodeId);
+            } catch (Exception e) {
+                // The lease runs out on its own; unflushed changes are lost with the session
+                logger.error("Failed to flush cart session for user {}: {}", session.userId, e.getMessage());
+            } finally {
+                session.closed = true;
+            }
+        }
+    }
+
+    private LocalDateTime leaseUntil() {
+        return LocalDateTime.now().plus(leaseMs, ChronoUnit.MILLIS);
+    }
+
+    private static Cart copy(Cart source) {
+        Cart cart = new Cart();
+        cart.setId(source.getId());
+        cart.setUserId(source.getUserId());
+        cart.setRestaurantId(source.getRestaurantId());
+        cart.setTotalAmount(source.getTotalAmount());
+        cart.setSubtotal(source.getSubtotal());
+        cart.setTax(source.getTax());
+        cart.setDeliveryFee(source.getDeliveryFee());
+        cart.setDiscount(source.getDiscount());
+        cart.setLastUpdated(source.getLastUpdated());
+        cart.setSpecialInstructions(source.getSpecialInstructions());
+        cart.setActive(source.isActive());
+        cart.setPromoCode(source.getPromoCode());
+        cart.setItemCount(source.getItemCount());
+        cart.setVersion(source.getVersion());
+        cart.setSessionOwner(source.getSessionOwner());
+        cart.setSessionLeaseUntil(source.getSessionLeaseUntil());
+
+        List<CartItem> items = new ArrayList<>(source.getItems().size());
+        for (CartItem sourceItem : source.getItems()) {
+            CartItem item = new CartItem();
+            item.setItemId(sourceItem.getItemId());
+            item.setName(sourceItem.getName());
+            item.setRestaurantId(sourceItem.getRestaurantId());
+            item.setSpecialInstructions(sourceItem.getSpecialInstructions());
+            item.setCategory(sourceItem.getCategory());
+            item.setSize(sourceItem.getSize());
+            item.setCustomizations(sourceItem.getCustomizations() != null
+                    ? new ArrayList<>(sourceItem.getCustomizations()) : null);
+            item.setAvailable(sourceItem.isAvailable());
+            item.setImageUrl(sourceItem.getImageUrl());
+            item.setPrice(sourceItem.getPrice());
+            item.setQuantity(sourceItem.getQuantity());
+            item.setAddOns(sourceItem.getAddOns() != null ? new HashMap<>(sourceItem.getAddOns()) : null);
+            items.add(item);
+        }
+        cart.setItems(items);
+        return cart;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "order-service";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * A cart held by this node. Guarded by its own monitor.
+     */
+    private static class CartSession {
+        final String userId;
+        final String cartId;
+        final List<Function<Cart, Update>> pending = new ArrayList<>();
+        Cart cart;
+        boolean closed;
+
+        CartSession(String userId, Cart cart) {
+            this.userId = userId;
+            this.cartId = cart.getId();
+            this.cart = cart;
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package com.foodieapp.order.service;
+
+import com.foodieapp.order.client.NotificationServiceClient;
+import com.foodieapp.order.client.RestaurantServiceClient;
+import com.foodieapp.order.client.UserServiceClient;
+import com.foodieapp.order.model.Order;
+import com.foodieapp.order.model.OrderOutboxEvent;
+import com.foodieapp.order.model.OrderStatus;
+import com.foodieapp.order.model.PendingStatusNotification;
+import com.foodieapp.order.repository.OrderOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Order status notifications through the order_outbox collection.
+ *
+ * A status change is first recorded on the order, in the same save as the new
+ * status ({@link #recordStatusChange}), so it cannot be lost once the status is
+ * committed. It is then moved into an event right away, or by the dispatcher's
+ * sweep if that fails. The dispatcher claims due events in batches and makes the
+ * user, restaurant and notification service calls, including telling the
+ * restaurant service about completed orders.
+ * Failed deliveries are retried with exponential backoff, and steps that already
+ * succeeded are not repeated. Queue depth is published as order.outbox.depth.
+ */
+@Service
+public class OrderNotificationOutbox {
+    private static final Logger logger = LoggerFactory.getLogger(OrderNotificationOutbox.class);
+
+    // Status changes worth a text message as well as an email
+    private static final Set<OrderStatus> SMS_STATUSES = EnumSet.of(
+            OrderStatus.CONFIRMED, OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    private final OrderOutboxRepository outboxRepository;
+    private final UserServiceClient userServiceClient;
+    private final RestaurantServiceClient restaurantServiceClient;
+    private final NotificationServiceClient notificationServiceClient;
+
+    private final boolean dispatchEnabled;
+    private final long coalesceWindowMs;
+    private final int batchSize;
+    private final long leaseMs;
+    private final long retryBackoffMs;
+    private final long maxBackoffMs;
+    private final int maxAttempts;
+    private final ExecutorService dispatchExecutor;
+
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter superseded;
+    private final Counter failed;
+
+    private volatile boolean indexesEnsured;
+
+    public OrderNotificationOutbox(
+            OrderOutboxRepository outboxRepository,
+            UserServiceClient userServiceClient,
+            RestaurantServiceClient restaurantServiceClient,
+            NotificationServiceClient notificationServiceClient,
+            @Value("${app.outbox.dispatch-enabled:true}") boolean dispatchEnabled,
+            @Value("${app.outbox.coalesce-window-ms:2000}") long coalesceWindowMs,
+            @Value("${app.outbox.batch-size:50}") int batchSize,
+            @Value("${app.outbox.dispatch-threads:4}") int dispatchThreads,
+            @Value("${app.outbox.lease-ms:60000}") long leaseMs,
+            @Value("${app.outbox.retry-backoff-ms:5000}") long retryBackoffMs,
+            @Value("${app.outbox.max-backoff-ms:300000}") long maxBackoffMs,
+            @Value("${app.outbox.max-attempts:8}") int maxAttempts,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.userServiceClient = userServiceClient;
+        this.restaurantServiceClient = restaurantServiceClient;
+        this.notificationServiceClient = notificationServiceClient;
+        this.dispatchEnabled = dispatchEnabled;
+        this.coalesceWindowMs = coalesceWindowMs;
+        this.batchSize = Math.max(1, batchSize);
+        this.leaseMs = leaseMs;
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.maxAttempts = maxAttempts;
+        this.dispatchExecutor = createDispatchExecutor(dispatchThreads);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        Gauge.builder("order.outbox.depth", pendingCount, AtomicLong::get)
+                .description("Order notification events waiting for delivery")
+                .tag("state", "pending")
+                .register(registry);
+        Gauge.builder("order.outbox.depth", failedCount, AtomicLong::get)
+                .description("Order notification events that exhausted their retries")
+                .tag("state", "failed")
+                .register(registry);
+        this.delivered = deliveryCounter(registry, "delivered");
+        this.retried = deliveryCounter(registry, "retried");
+        this.superseded = deliveryCounter(registry, "superseded");
+        this.failed = deliveryCounter(registry, "failed");
+    }
+
+    /**
+     * Record a status change on the order before it is saved, so the change and
+     * its notifications are stored in one write. A change the outbox has not
+     * taken over yet is merged in: the customer hears about the latest status,
+     * and the restaurant still hears about a confirmation along the way.
+     * @param order Order with its new status, about to be saved
+     * @param previousStatus Status before the change
+     */
+    public void recordStatusChange(Order order, OrderStatus previousStatus) {
+        // Skip notification if status didn't change
+        if (previousStatus == order.getStatus()) {
+            return;
+        }
+
+        PendingStatusNotification earlier = order.getPendingNotification();
+        OrderStatus from = earlier != null ? earlier.getPreviousStatus() : previousStatus;
+        // A new order (changing from PENDING to CONFIRMED) is also announced to the restaurant
+        boolean notifyRestaurant = (earlier != null && earlier.isNotifyRestaurant())
+                || (previousStatus == OrderStatus.PENDING && order.getStatus() == OrderStatus.CONFIRMED);
+        order.setPendingNotification(new PendingStatusNotification(from, notifyRestaurant));
+    }
+
+    /**
+     * Hand the saved order's recorded status change to the outbox now. If this
+     * fails the change stays on the order and the dispatcher's sweep retries it.
+     * @param order Order as saved with {@link #recordStatusChange}
+     */
+    public void enqueue(Order order) {
+        if (order.getPendingNotification() == null) {
+            return;
+        }
+        try {
+            handOver(order);
+        } catch (Exception e) {
+            logger.warn("Status notifications for order {} will be queued by the next sweep: {}",
+                    order.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Number of events waiting for delivery, as of the last dispatcher run
+     */
+    public long getQueueDepth() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Claim and deliver due events until a batch comes back short
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}",
+            initialDelayString = "${app.outbox.initial-delay-ms:5000}")
+    public void drain() {
+        if (!dispatchEnabled) {
+            return;
+        }
+
+        try {
+            if (!indexesEnsured) {
+                outboxRepository.ensureIndexes();
+                indexesEnsured = true;
+            }
+
+            sweepPendingNotifications();
+
+            List<OrderOutboxEvent> batch;
+            do {
+                batch = claimBatch();
+                CompletableFuture.allOf(batch.stream()
+                        .map(event -> CompletableFuture.runAsync(() -> dispatch(event), dispatchExecutor))
+                        .toArray(CompletableFuture[]::new))
+                        .join();
+            } while (batch.size() == batchSize);
+
+            pendingCount.set(outboxRepository.countByState(OrderOutboxEvent.State.PENDING)
+                    + outboxRepository.countByState(OrderOutboxEvent.State.IN_PROGRESS));
+            failedCount.set(outboxRepository.countByState(OrderOutboxEvent.State.FAILED));
+        } catch (Exception e) {
+            logger.warn("Order outbox dispatch run failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatchExecutor.shutdown();
+    }
+
+    /**
+     * Queue status changes still recorded on orders, e.g. after a failed handover
+     * or a restart between saving the order and queueing its event
+     */
+    private void sweepPendingNotifications() {
+        try {
+            List<Order> orders;
+            do {
+                orders = outboxRepository.findOrdersWithPendingNotification(batchSize);
+                for (Order order : orders) {
+                    handOver(order);
+                }
+            } while (orders.size() == batchSize);
+        } catch (Exception e) {
+            // The changes stay on their orders for the next run; queued events are still delivered
+            logger.warn("Could not queue recorded order status changes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Queue the order's recorded status change, then clear it from the order.
+     * Queueing folds into the order's pending event, so doing it twice after a
+     * failed clear does not notify twice.
+     */
+    private void handOver(Order order) {
+        PendingStatusNotification pending = order.getPendingNotification();
+        outboxRepository.enqueue(order, pending.getPreviousStatus(), pending.isNotifyRestaurant(),
+                LocalDateTime.now().plus(coalesceWindowMs, ChronoUnit.MILLIS));
+        outboxRepository.clearPendingNotification(order.getId(), pending.getId());
+    }
+
+    private List<OrderOutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedUntil = now.plus(leaseMs, ChronoUnit.MILLIS);
+
+        List<OrderOutboxEvent> batch = new ArrayList<>();
+        while (batch.size() < batchSize) {
+            OrderOutboxEvent event = outboxRepository.claimNext(now, lockedUntil);
+            if (event == null) {
+                break;
+            }
+            batch.add(event);
+        }
+        return batch;
+    }
+
+    private void dispatch(OrderOutboxEvent event) {
+        try {
+            deliver(event);
+            outboxRepository.delete(event.getId());
+            delivered.increment();
+            logger.info("Order status notifications sent for order: {}", event.getOrderId());
+        } catch (Exception e) {
+            handleFailure(event, e.getMessage());
+        }
+    }
+
+    private void deliver(OrderOutboxEvent event) {
+        String orderId = event.getOrderId();
+        String status = event.getStatus().toString();
+        boolean smsWanted = SMS_STATUSES.contains(event.getStatus());
+
+        if (!event.isStepCompleted(OrderOutboxEvent.STEP_CUSTOMER_EMAIL)
+                || (smsWanted && !event.isStepCompleted(OrderOutboxEvent.STEP_CUSTOMER_SMS))) {
+            // Get user details from user service
+            Map<String, Object> userDetails = userServiceClient.getUserDetails(event.getUserId(), "");
+
+            if (userDetails == null || !Boolean.TRUE.equals(userDetails.get("exists"))) {
+                logger.warn("User details not found for order status notification. UserId: {}", event.getUserId());
+            } else {
+                String email = (String) userDetails.get("email");
+                String phoneNumber = (String) userDetails.get("phoneNumber");
+
+                if (email != null && !email.isEmpty()
+                        && !event.isStepCompleted(OrderOutboxEvent.STEP_CUSTOMER_EMAIL)) {
+                    notificationServiceClient.deliverOrderStatusEmail(email, orderId, status, event.getRestaurantName());
+                    completeStep(event, OrderOutboxEvent.STEP_CUSTOMER_EMAIL);
+                }
+                if (smsWanted && phoneNumber != null && !phoneNumber.isEmpty()
+                        && !event.isStepCompleted(OrderOutboxEvent.STEP_CUSTOMER_SMS)) {
+                    notificationServiceClient.deliverOrderStatusSms(phoneNumber, orderId, status, event.getRestaurantName());
+                    completeStep(event, OrderOutboxEvent.STEP_CUSTOMER_SMS);
+                }
+            }
+        }
+
+        if (event.isNotifyRestaurant() && !event.isStepCompleted(OrderOutboxEvent.STEP_RESTAURANT_EMAIL)) {
+            notifyRestaurant(event);
+        }
+
+        if (event.getStatus() == OrderStatus.COMPLETED
+                && !event.isStepCompleted(OrderOutboxEvent.STEP_RESTAURANT_ORDER_COUNT)) {
+            try {
+                restaurantServiceClient.recordCompletedOrder(event.getRestaurantId(), orderId);
+            } catch (HttpClientErrorException.NotFound e) {
+                // Restaurant deleted since; nothing left to count
+                logger.warn("Restaurant {} not found when counting order {}", event.getRestaurantId(), orderId);
+            }
+            completeStep(event, OrderOutboxEvent.STEP_RESTAURANT_ORDER_COUNT);
+        }
+    }
+
+    /**
+     * Notify restaurant about new order
+     */
+    private void notifyRestaurant(OrderOutboxEvent event) {
+        // Get restaurant details from restaurant service
+        Map<String, Object> restaurantInfo = restaurantServiceClient.getRestaurantInfo(event.getRestaurantId(), "");
+
+        if (restaurantInfo == null || !Boolean.TRUE.equals(restaurantInfo.get("exists"))) {
+            logger.warn("Restaurant details not found for notification. RestaurantId: {}", event.getRestaurantId());
+            return;
+        }
+
+        // Get owner details from user service
+        String ownerId = (String) restaurantInfo.get("ownerId");
+        Map<String, Object> ownerDetails = userServiceClient.getUserDetails(ownerId, "");
+
+        if (ownerDetails == null || !Boolean.TRUE.equals(ownerDetails.get("exists"))) {
+            logger.warn("Restaurant owner details not found. OwnerId: {}", ownerId);
+            return;
+        }
+
+        String ownerEmail = (String) ownerDetails.get("email");
+        if (ownerEmail != null && !ownerEmail.isEmpty()) {
+            notificationServiceClient.deliverNewOrderToRestaurant(ownerEmail, event.getOrderId(), event.getCustomerName());
+            completeStep(event, OrderOutboxEvent.STEP_RESTAURANT_EMAIL);
+        }
+    }
+
+    private void completeStep(OrderOutboxEvent event, String step) {
+        outboxRepository.markStepCompleted(event.getId(), step);
+        event.getCompletedSteps().add(step);
+    }
+
+    private void handleFailure(OrderOutboxEvent event, String error) {
+        try {
+            // A newer status change for the order is already queued; the customer only needs that one
+            if (outboxRepository.foldIntoPending(event)) {
+                outboxRepository.delete(event.getId());
+                superseded.increment();
+                return;
+            }
+
+            if (event.getAttempts() >= maxAttempts) {
+                outboxRepository.markFailed(event, error);
+                failed.increment();
+                logger.error("Giving up on status notifications for order {} after {} attempts: {}",
+                        event.getOrderId(), event.getAttempts(), error);
+                return;
+            }
+
+            long delayMs = backoffDelayMs(event.getAttempts(), retryBackoffMs, maxBackoffMs);
+            try {
+                outboxRepository.scheduleRetry(event, LocalDateTime.now().plus(delayMs, ChronoUnit.MILLIS), error);
+            } catch (DuplicateKeyException e) {
+                // A newer status change was queued in the meantime
+                outboxRepository.foldIntoPending(event);
+                outboxRepository.delete(event.getId());
+                superseded.increment();
+                return;
+            }
+            retried.increment();
+            logger.warn("Status notifications for order {} failed (attempt {}), retrying in {}ms: {}",
+                    event.getOrderId(), event.getAttempts(), delayMs, error);
+        } catch (Exception e) {
+            // The claim expires and the event is picked up again
+            logger.error("Failed to record notification failure for order {}: {}", event.getOrderId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Exponential backoff with jitter: half the delay is fixed, the other half random
+     */
+    static long backoffDelayMs(int attempts, long baseMs, long maxMs) {
+        long delay = Math.min(maxMs, baseMs << Math.min(Math.max(attempts - 1, 0), 20));
+        long half = Math.max(delay / 2, 1);
+        return half + ThreadLocalRandom.current().nextLong(half);
+    }
+
+    private static Counter deliveryCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("order.outbox.dispatched")
+                .description("Order notification events handled by the outbox dispatcher")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static ExecutorService createDispatchExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "order-outbox-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package com.foodieapp.order.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Runs and times the stages of the order creation pipeline. Every stage is
+ * recorded in the order.create.stage timer, tagged with the stage name and
+ * whether it succeeded.
+ */
+@Component
+public class OrderPipelineStages {
+    private static final String STAGE_TIMER = "order.create.stage";
+
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+
+    public OrderPipelineStages(@Qualifier("orderPipelineExecutor") ExecutorService executor,
+                               ObjectProvider<MeterRegistry> meterRegistry) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    /**
+     * Run a blocking stage on the pipeline executor
+     */
+    public <T> CompletableFuture<T> supply(String stage, Supplier<T> work) {
+        return CompletableFuture.supplyAsync(() -> call(stage, work), executor);
+    }
+
+    /**
+     * Run a stage on the calling thread
+     */
+    public <T> T call(String stage, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean success = false;
+        try {
+            T result = work.get();
+            success = true;
+            return result;
+        } finally {
+            stop(sample, stage, success);
+        }
+    }
+
+    /**
+     * Time a stage that is already running asynchronously, from now until it completes
+     */
+    public <T> CompletableFuture<T> time(String stage, CompletableFuture<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return work.whenComplete((result, error) -> stop(sample, stage, error == null));
+    }
+
+    /**
+     * Wait for a stage and rethrow its failure unwrapped
+     */
+    public static <T> T await(CompletableFuture<T> stage) {
+        try {
+            return stage.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void stop(Timer.Sample sample, String stage, boolean success) {
+        sample.stop(Timer.builder(STAGE_TIMER)
+                .description("Duration of each order creation stage")
+                .tag("stage", stage)
+                .tag("outcome", success ? "success" : "failure")
+                .register(meterRegistry));
+    }
+}
@@ -1,9 +1,8 @@
 package com.foodieapp.order.service;
 
-import com.foodieapp.order.client.NotificationServiceClient;
 import com.foodieapp.order.client.PaymentServiceClient;
 import com.foodieapp.order.client.RestaurantServiceClient;
-import com.foodieapp.order.client.UserServiceClient;
+import com.foodieapp.order.dto.request.OrderItemRequest;
 import com.foodieapp.order.dto.request.OrderRequest;
 import com.foodieapp.order.dto.request.PaymentRequest;
 import com.foodieapp.order.dto.response.OrderResponse;
@@ -19,6 +18,9 @@ import com.foodieapp.order.model.OrderItem;
 import com.foodieapp.order.model.OrderStatus;
 import com.foodieapp.order.repository.CartRepository;
 import com.foodieapp.order.repository.OrderRepository;
+import com.foodieapp.order.security.AuthenticatedUser;
+import com.foodieapp.order.security.AuthenticatedUserResolver;
+import com.foodieapp.order.util.PriceCalculationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,9 +30,13 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -46,9 +52,6 @@ public class OrderServiceImpl implements OrderService {
     @Autowired
     private CartService cartService;
 
-    @Autowired
-    private UserServiceClient userServiceClient;
-
     @Autowired
     private RestaurantServiceClient restaurantServiceClient;
 
@@ -56,56 +59,104 @@ public class OrderServiceImpl implements OrderService {
     private PaymentServiceClient paymentServiceClient;
 
     @Autowired
-    private NotificationServiceClient notificationServiceClient;
+    private ItemMapper itemMapper;
 
     @Autowired
-    private ItemMapper itemMapper;
+    private AuthenticatedUserResolver authenticatedUserResolver;
+
+    @Autowired
+    private OrderPipelineStages pipelineStages;
+
+    @Autowired
+    private OrderNotificationOutbox notificationOutbox;
+
+    @Autowired
+    private PriceCalculationService priceCalculationService;
 
+    /**
+     * Not @Transactional: the stages run on pipeline threads, outside any
+     * transaction bound to the request thread
+     */
     @Override
-    @Transactional
     public Order createOrderFromCart(OrderRequest orderRequest, String authToken) {
         logger.info("Creating order from cart for user: {}", orderRequest.getUserId());
+        String userId = orderRequest.getUserId();
+
+        /*
+         * Stages and their dependencies:
+         *   identity, requested restaurant - independent, run concurrently
+         *   cart                           - identity (flushing the cart writes it)
+         *   restaurant, menu               - cart (one bulk check of every item)
+         *   save                           - identity, cart, restaurant, menu
+         *   payment                        - save (payment needs the order id)
+         *   payment reference, clear cart  - payment (if it failed, the order is
+         *                                    cancelled and the cart kept)
+         * The restaurant id in the request is only a read-only lookup, so it starts
+         * before the caller is verified; it is only used if it matches the cart.
+         */
+        CompletableFuture<AuthenticatedUser> identity = pipelineStages.time("identity",
+                authenticatedUserResolver.currentAsync(authToken));
+        CompletableFuture<Map<String, Object>> requestedRestaurant = orderRequest.getRestaurantId() != null
+                ? pipelineStages.time("restaurant",
+                        restaurantServiceClient.getRestaurantInfoAsync(orderRequest.getRestaurantId(), authToken))
+                : null;
+
+        // Nothing is read or written on the user's behalf until they are verified
+        AuthenticatedUser user = OrderPipelineStages.await(identity);
+        if (user == null || !user.canActAs(userId)) {
+            throw new UnauthorizedException("You are not authorized to perform this action");
+        }
 
-        // Common validation and preparation
-        Order order = prepareOrderBase(orderRequest, authToken);
-
-        // Cart-specific processing
-        Cart cart = cartRepository.findByUserId(orderRequest.getUserId())
-                .orElseThrow(() -> new OrderServiceException(
-                        "Cart not found for user: " + orderRequest.getUserId(),
-                        ErrorCodes.CART_NOT_FOUND));
+        CompletableFuture<Cart> cartStage = pipelineStages.supply("cart", () -> loadCartForCheckout(userId));
+        CompletableFuture<Map<String, Object>> restaurantStage = cartStage.thenCompose(cart ->
+                requestedRestaurant != null && cart.getRestaurantId().equals(orderRequest.getRestaurantId())
+                        ? requestedRestaurant
+                        : pipelineStages.time("restaurant",
+                                restaurantServiceClient.getRestaurantInfoAsync(cart.getRestaurantId(), authToken)));
+        CompletableFuture<Map<String, Object>> menuStage = cartStage.thenCompose(cart ->
+                pipelineStages.supply("menu", () -> restaurantServiceClient.validateMenuItems(
+                        cart.getRestaurantId(), cartItemIds(cart), authToken)));
 
-        // Ensure cart is not empty
-        if (cart.getItems() == null || cart.getItems().isEmpty()) {
-            throw new OrderServiceException(
-                    "Cannot create order from empty cart",
-                    ErrorCodes.EMPTY_CART);
-        }
+        Cart cart = OrderPipelineStages.await(cartStage);
 
-        // Set restaurant info from cart
+        Order order = newOrder(orderRequest);
         order.setRestaurantId(cart.getRestaurantId());
-
-        // Look up restaurant name
-        setRestaurantName(order, authToken);
+        setRestaurantName(order, restaurantStage);
 
         // Convert cart items to order items
         List<OrderItem> orderItems = cart.getItems().stream()
                 .map(this::convertCartItemToOrderItem)
                 .collect(Collectors.toList());
 
+        applyMenuValidation(orderItems, OrderPipelineStages.await(menuStage));
         order.setItems(orderItems);
 
-        // Set totals from cart
-        order.setSubtotal(cart.getSubtotal());
-        order.setTax(cart.getTax());
-        order.setDeliveryFee(cart.getDeliveryFee());
+        // Calculate totals
         order.calculateTotals();
 
-        // Save the order
-        Order savedOrder = completeOrderCreation(order, orderRequest, authToken);
+        // Save the order, then initiate payment
+        Order savedOrder = pipelineStages.call("save", () -> orderRepository.save(order));
+        Map<String, Object> paymentResult = OrderPipelineStages.await(pipelineStages.time("payment",
+                initiatePayment(savedOrder, orderRequest, authToken)));
+        savedOrder = recordPaymentReference(savedOrder, paymentResult);
+
+        // Keep the cart if online payment could not be initiated, so the customer can retry,
+        // and cancel this attempt's order so retries don't leave it behind as PENDING
+        if (paymentResult == null && isOnlinePaymentMethod(orderRequest.getPaymentMethod())) {
+            logger.warn("Payment was not initiated for order {}; cancelling it and keeping the cart of user {}",
+                    savedOrder.getId(), userId);
+            savedOrder.setStatus(OrderStatus.CANCELLED);
+            savedOrder.setOrderNotes("Cancelled: payment could not be initiated");
+            Order cancelledOrder = savedOrder;
+            pipelineStages.call("cancel", () -> orderRepository.save(cancelledOrder));
+            throw new OrderServiceException("Payment could not be initiated, please try again",
+                    ErrorCodes.PAYMENT_SERVICE_ERROR);
+        }
 
-        // Clear the cart after successful order creation
-        cartService.clearCart(orderRequest.getUserId());
+        pipelineStages.call("clear_cart", () -> {
+            cartService.clearCart(userId);
+            return null;
+        });
 
         logger.info("Order created successfully from cart. Order ID: {}", savedOrder.getId());
         return savedOrder;
@@ -116,9 +167,6 @@ public class OrderServiceImpl implements OrderService {
     public Order createDirectOrder(OrderRequest orderRequest, String authToken) {
         logger.info("Creating direct order for user: {}", orderRequest.getUserId());
 
-        // Common validation and preparation
-        Order order = prepareOrderBase(orderRequest, authToken);
-
         // Direct order specific validation
         if (orderRequest.getItems() == null || orderRequest.getItems().isEmpty()) {
             throw new OrderServiceException(
@@ -126,13 +174,28 @@ public class OrderServiceImpl implements OrderService {
                     ErrorCodes.VALIDATION_ERROR);
         }
 
+        // Look up the restaurant name, if needed, and the menu while the caller's identity is verified
+        boolean needsRestaurantName = orderRequest.getRestaurantName() == null
+                || orderRequest.getRestaurantName().isEmpty();
+        CompletableFuture<Map<String, Object>> restaurantInfo = needsRestaurantName
+                ? restaurantServiceClient.getRestaurantInfoAsync(orderRequest.getRestaurantId(), authToken)
+                : null;
+        List<String> itemIds = orderRequest.getItems().stream()
+                .map(OrderItemRequest::getItemId)
+                .collect(Collectors.toList());
+        CompletableFuture<Map<String, Object>> menuStage = pipelineStages.supply("menu", () ->
+                restaurantServiceClient.validateMenuItems(orderRequest.getRestaurantId(), itemIds, authToken));
+
+        // Common validation and preparation
+        Order order = prepareOrderBase(orderRequest, authToken);
+
         // Set restaurant info
         order.setRestaurantId(orderRequest.getRestaurantId());
         order.setRestaurantName(orderRequest.getRestaurantName());
 
         // Validate restaurant exists if not already set
-        if (order.getRestaurantName() == null || order.getRestaurantName().isEmpty()) {
-            setRestaurantName(order, authToken);
+        if (needsRestaurantName) {
+            setRestaurantName(order, restaurantInfo);
         }
 
         // Convert request items to order items
@@ -142,7 +205,6 @@ public class OrderServiceImpl implements OrderService {
                     item.setItemId(itemRequest.getItemId());
                     item.setName(itemRequest.getName());
                     item.setQuantity(itemRequest.getQuantity());
-                    item.setPrice(itemRequest.getPrice());
                     item.setSpecialInstructions(itemRequest.getSpecialInstructions());
                     item.setCategory(itemRequest.getCategory());
                     item.setSize(itemRequest.getItemSize());
@@ -150,6 +212,8 @@ public class OrderServiceImpl implements OrderService {
                 })
                 .collect(Collectors.toList());
 
+        // Prices come from the restaurant's menu, never from the request
+        applyMenuValidation(orderItems, OrderPipelineStages.await(menuStage));
         order.setItems(orderItems);
 
         // Calculate totals
@@ -178,24 +242,9 @@ public class OrderServiceImpl implements OrderService {
      * @return true if user is authorized for the restaurant
      */
     private boolean isUserAuthorizedForRestaurant(String restaurantId, String authToken) {
-        try {
-            // Admins are authorized for all restaurants
-            if (isUserAdmin(authToken)) {
-                return true;
-            }
-            String userId = extractUserIdFromToken(authToken);
-            if (userId == null) {
-                return false;
-            }
-
-            Map<String, Object> ownershipInfo = restaurantServiceClient.verifyOwnership(
-                    restaurantId, userId, authToken);
-
-            return Boolean.TRUE.equals(ownershipInfo.get("isOwner"));
-        } catch (Exception e) {
-            logger.error("Error verifying restaurant ownership: {}", e.getMessage());
-            return false;
-        }
+        // Admins are authorized for all restaurants, owners for their own
+        AuthenticatedUser user = currentUser(authToken);
+        return user != null && user.canManageRestaurant(restaurantId);
     }
 
     /**
@@ -205,27 +254,88 @@ public class OrderServiceImpl implements OrderService {
      * @return true if the user is authorized to access this order
      */
     private boolean isAuthorizedForOrder(Order order, String authToken) {
-        if (order == null) {
+        AuthenticatedUser user = currentUser(authToken);
+        if (order == null || user == null) {
             return false;
         }
 
-        // Admins can access all orders
-        if (isUserAdmin(authToken)) {
+        // Admins can access all orders and order owners can access their orders
+        if (user.canActAs(order.getUserId())) {
             return true;
         }
 
-        String userId = extractUserIdFromToken(authToken);
-        if (userId == null) {
-            return false;
+        // Restaurant owners can access orders for their restaurants
+        return user.ownsRestaurant(order.getRestaurantId());
+    }
+
+    /**
+     * Load the caller's cart and make sure there is something to order
+     * @param userId Cart owner
+     * @return Non-empty cart
+     */
+    private Cart loadCartForCheckout(String userId) {
+        cartService.flushCart(userId);
+        Cart cart = cartRepository.findByUserId(userId)
+                .orElseThrow(() -> new OrderServiceException(
+                        "Cart not found for user: " + userId,
+                        ErrorCodes.CART_NOT_FOUND));
+
+        // Ensure cart is not empty
+        if (cart.getItems() == null || cart.getItems().isEmpty()) {
+            throw new OrderServiceException(
+                    "Cannot create order from empty cart",
+                    ErrorCodes.EMPTY_CART);
         }
+        return cart;
+    }
 
-        // Order owners can access their orders
-        if (order.getUserId().equals(userId)) {
-            return true;
+    private static List<String> cartItemIds(Cart cart) {
+        return cart.getItems().stream().map(CartItem::getItemId).collect(Collectors.toList());
+    }
+
+    /**
+     * Check order items against the restaurant's current menu and take its names and prices
+     * @param orderItems Items converted from the cart or the request
+     * @param validation Result of the bulk menu validation, or null if it failed
+     * @throws OrderServiceException if the menu could not be checked or an item is unavailable
+     */
+    @SuppressWarnings("unchecked")
+    private void applyMenuValidation(List<OrderItem> orderItems, Map<String, Object> validation) {
+        if (validation == null || !(validation.get("items") instanceof List)) {
+            throw new OrderServiceException(
+                    "Could not verify menu items with the restaurant service",
+                    ErrorCodes.RESTAURANT_SERVICE_ERROR);
         }
 
-        // Restaurant owners can access orders for their restaurants
-        return isUserAuthorizedForRestaurant(order.getRestaurantId(), authToken);
+        Map<String, Map<String, Object>> menuItems = new HashMap<>();
+        for (Map<String, Object> menuItem : (List<Map<String, Object>>) validation.get("items")) {
+            menuItems.put(String.valueOf(menuItem.get("itemId")), menuItem);
+        }
+
+        List<String> unavailable = new ArrayList<>();
+        for (OrderItem orderItem : orderItems) {
+            Map<String, Object> menuItem = menuItems.get(orderItem.getItemId());
+            if (menuItem == null || !Boolean.TRUE.equals(menuItem.get("valid"))
+                    || !Boolean.TRUE.equals(menuItem.get("available")) || menuItem.get("price") == null) {
+                unavailable.add(orderItem.getName() != null ? orderItem.getName() : orderItem.getItemId());
+                continue;
+            }
+
+            if (menuItem.get("name") != null) {
+                orderItem.setName(String.valueOf(menuItem.get("name")));
+            }
+            BigDecimal price = new BigDecimal(String.valueOf(menuItem.get("price")));
+            if (orderItem.getPrice() == null || orderItem.getPrice().compareTo(price) != 0) {
+                logger.info("Price of item {} changed from {} to {}", orderItem.getItemId(), orderItem.getPrice(), price);
+                orderItem.setPrice(price);
+            }
+        }
+
+        if (!unavailable.isEmpty()) {
+            throw new OrderServiceException(
+                    "Items no longer available: " + String.join(", ", unavailable),
+                    ErrorCodes.MENU_ITEM_UNAVAILABLE);
+        }
     }
 
     /**
@@ -253,8 +363,17 @@ public class OrderServiceImpl implements OrderService {
         // Verify user identity
         verifyUserIdentity(orderRequest.getUserId(), authToken);
 
-        // Create new order
+        return newOrder(orderRequest);
+    }
+
+    /**
+     * Create a pending order with the fields common to all order sources
+     * @param orderRequest Request containing order details
+     * @return Partially initialized Order
+     */
+    private Order newOrder(OrderRequest orderRequest) {
         Order order = new Order();
+        order.setPriceCalculationService(priceCalculationService);
 
         // Set basic properties
         order.setUserId(orderRequest.getUserId());
@@ -270,14 +389,13 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * Set restaurant name by looking it up from the restaurant service
+     * Set restaurant name from a restaurant service lookup started earlier
      * @param order Order to set restaurant name for
-     * @param authToken Authentication token
+     * @param restaurantInfoLookup Pending restaurant info lookup
      */
-    private void setRestaurantName(Order order, String authToken) {
+    private void setRestaurantName(Order order, CompletableFuture<Map<String, Object>> restaurantInfoLookup) {
         try {
-            Map<String, Object> restaurantInfo = restaurantServiceClient.getRestaurantInfo(
-                    order.getRestaurantId(), authToken);
+            Map<String, Object> restaurantInfo = restaurantInfoLookup.join();
 
             if (restaurantInfo != null && restaurantInfo.containsKey("name")) {
                 order.setRestaurantName(restaurantInfo.get("name").toString());
@@ -299,32 +417,50 @@ public class OrderServiceImpl implements OrderService {
         Order savedOrder = orderRepository.save(order);
 
         // Now initiate payment if this is an online payment method
-        if (isOnlinePaymentMethod(orderRequest.getPaymentMethod())) {
-            try {
-                PaymentRequest paymentRequest = PaymentRequest.builder()
-                        .userId(orderRequest.getUserId())
-                        .orderId(savedOrder.getId())
-                        .amount(savedOrder.getTotalAmount())
-                        .currency("INR")
-                        .paymentMethod(orderRequest.getPaymentMethod())
-                        .build();
-
-                Map<String, Object> paymentResult = paymentServiceClient.createPayment(paymentRequest, authToken);
-
-                logger.info("Payment initiated for order {}: {}", savedOrder.getId(), paymentResult);
-
-                // You might want to store the payment ID in the order
-                if (paymentResult != null && paymentResult.containsKey("paymentId")) {
-                    savedOrder.setOrderNotes("Payment ID: " + paymentResult.get("paymentId"));
-                    savedOrder = orderRepository.save(savedOrder);
-                }
-            } catch (Exception e) {
-                logger.error("Failed to initiate payment for order {}: {}", savedOrder.getId(), e.getMessage());
-                // Handle payment initiation failure
-                // You might want to mark the order as payment_pending or similar
-            }
+        Map<String, Object> paymentResult = initiatePayment(savedOrder, orderRequest, authToken).join();
+        return recordPaymentReference(savedOrder, paymentResult);
+    }
+
+    /**
+     * Initiate payment for a saved order if it uses an online payment method
+     * @return Future of the payment service response, or of null if no payment was initiated
+     */
+    private CompletableFuture<Map<String, Object>> initiatePayment(Order savedOrder, OrderRequest orderRequest,
+                                                                   String authToken) {
+        if (!isOnlinePaymentMethod(orderRequest.getPaymentMethod())) {
+            return CompletableFuture.completedFuture(null);
         }
 
+        PaymentRequest paymentRequest = PaymentRequest.builder()
+                .userId(orderRequest.getUserId())
+                .orderId(savedOrder.getId())
+                .amount(savedOrder.getTotalAmount())
+                .currency("INR")
+                .paymentMethod(orderRequest.getPaymentMethod())
+                .build();
+
+        return paymentServiceClient.createPaymentAsync(paymentRequest, authToken)
+                .exceptionally(e -> {
+                    logger.error("Failed to initiate payment for order {}: {}", savedOrder.getId(), e.getMessage());
+                    // You might want to mark the order as payment_pending or similar
+                    return null;
+                });
+    }
+
+    /**
+     * Store the payment id from a payment service response on the order
+     */
+    private Order recordPaymentReference(Order savedOrder, Map<String, Object> paymentResult) {
+        if (paymentResult == null) {
+            return savedOrder;
+        }
+        logger.info("Payment initiated for order {}: {}", savedOrder.getId(), paymentResult);
+
+        // You might want to store the payment ID in the order
+        if (paymentResult.containsKey("paymentId")) {
+            savedOrder.setOrderNotes("Payment ID: " + paymentResult.get("paymentId"));
+            return pipelineStages.call("payment_reference", () -> orderRepository.save(savedOrder));
+        }
         return savedOrder;
     }
 
@@ -353,7 +489,7 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public List<Order> getRestaurantOrders(String restaurantId, String authToken) {
         // Verify the requester has permission to view these orders
-        if (!isUserAuthorizedForRestaurant(restaurantId, authToken) && !isUserAdmin(authToken)) {
+        if (!isUserAuthorizedForRestaurant(restaurantId, authToken)) {
             throw new UnauthorizedException(
                     "You are not authorized to view orders for this restaurant");
         }
@@ -381,6 +517,9 @@ public class OrderServiceImpl implements OrderService {
         // Store original status
         OrderStatus oldStatus = order.getStatus();
 
+        // Already resolved for this request by getOrderById
+        AuthenticatedUser user = currentUser(authToken);
+
         // Perform authorization checks
         boolean authorized = false;
 
@@ -388,21 +527,19 @@ public class OrderServiceImpl implements OrderService {
         if (status == OrderStatus.CANCELLED &&
                 (order.getStatus() == OrderStatus.PENDING || order.getStatus() == OrderStatus.CONFIRMED)) {
             // Check if the authenticated user is the order owner
-            String userId = extractUserIdFromToken(authToken);
-            authorized = userId != null && userId.equals(order.getUserId());
+            authorized = user != null && user.getUserId().equals(order.getUserId());
         }
 
         // If it's a restaurant operation
         if ((status == OrderStatus.CONFIRMED || status == OrderStatus.PREPARING ||
                 status == OrderStatus.READY || status == OrderStatus.OUT_FOR_DELIVERY)) {
             // Check if the authenticated user is associated with the restaurant
-            String restaurantId = order.getRestaurantId();
-            authorized = isUserAuthorizedForRestaurant(restaurantId, authToken);
+            authorized = user != null && user.canManageRestaurant(order.getRestaurantId());
         }
 
         // If it's an admin operation
         if (!authorized) {
-            authorized = isUserAdmin(authToken);
+            authorized = user != null && user.isAdmin();
         }
 
         if (!authorized) {
@@ -433,11 +570,11 @@ public class OrderServiceImpl implements OrderService {
             order.setOrderNotes(notes);
         }
 
-        // Save the order
+        // Save the order together with the notifications it owes, then queue them;
+        // they are delivered in the background
+        notificationOutbox.recordStatusChange(order, oldStatus);
         Order updatedOrder = orderRepository.save(order);
-
-        // Send notifications about status change
-        sendOrderStatusNotifications(updatedOrder, oldStatus);
+        notificationOutbox.enqueue(updatedOrder);
 
         return updatedOrder;
     }
@@ -474,39 +611,23 @@ public class OrderServiceImpl implements OrderService {
 
     private void verifyUserIdentity(String userId, String authToken) {
         // Check if the authenticated user matches the requested user ID
-        String authenticatedUserId = extractUserIdFromToken(authToken);
-        boolean isAdmin = isUserAdmin(authToken);
+        AuthenticatedUser user = currentUser(authToken);
 
-        if (!isAdmin && (authenticatedUserId == null || !authenticatedUserId.equals(userId))) {
+        if (user == null || !user.canActAs(userId)) {
             throw new UnauthorizedException("You are not authorized to perform this action");
         }
     }
 
-    private String extractUserIdFromToken(String authToken) {
-        Map<String, Object> tokenInfo = userServiceClient.validateToken(authToken);
-
-        if (Boolean.TRUE.equals(tokenInfo.get("valid"))) {
-            return tokenInfo.get("userId").toString();
-        }
-
-        return null;
+    /**
+     * The caller resolved once for this request, or null if the token is invalid
+     */
+    private AuthenticatedUser currentUser(String authToken) {
+        return authenticatedUserResolver.current(authToken);
     }
 
     private boolean isUserAdmin(String authToken) {
-        try {
-            Map<String, Object> tokenInfo = userServiceClient.validateToken(authToken);
-
-            if (Boolean.TRUE.equals(tokenInfo.get("valid"))) {
-                @SuppressWarnings("unchecked")
-                List<String> roles = (List<String>) tokenInfo.get("roles");
-                return roles != null && roles.contains("ROLE_ADMIN");
-            }
-
-            return false;
-        } catch (Exception e) {
-            logger.error("Error checking admin status: {}", e.getMessage());
-            return false;
-        }
+        AuthenticatedUser user = currentUser(authToken);
+        return user != null && user.isAdmin();
     }
 
     // Helper method to validate status transitions
@@ -580,99 +701,4 @@ public class OrderServiceImpl implements OrderService {
         // Save and return the updated order
         return orderRepository.save(order);
     }
-
-    /**
-     * Send order status notifications
-     */
-    private void sendOrderStatusNotifications(Order order, OrderStatus oldStatus) {
-        try {
-            // Skip notification if status didn't change
-            if (oldStatus == order.getStatus()) {
-                return;
-            }
-
-            // Get user details from user service
-            Map<String, Object> userDetails = userServiceClient.getUserDetails(order.getUserId(), "");
-
-            if (userDetails == null || !Boolean.TRUE.equals(userDetails.get("exists"))) {
-                logger.warn("User details not found for order status notification. UserId: {}", order.getUserId());
-                return;
-            }
-
-            // Extract user contact info
-            String email = (String) userDetails.get("email");
-            String phoneNumber = (String) userDetails.get("phoneNumber");
-
-            // Send email notification
-            if (email != null && !email.isEmpty()) {
-                notificationServiceClient.sendOrderStatusEmail(
-                        email,
-                        order.getId(),
-                        order.getStatus().toString(),
-                        order.getRestaurantName());
-            }
-
-            // Send SMS for important status changes
-            if (phoneNumber != null && !phoneNumber.isEmpty() &&
-                    (order.getStatus() == OrderStatus.CONFIRMED ||
-                            order.getStatus() == OrderStatus.OUT_FOR_DELIVERY ||
-                            order.getStatus() == OrderStatus.DELIVERED ||
-                            order.getStatus() == OrderStatus.CANCELLED)) {
-
-                notificationServiceClient.sendOrderStatusSms(
-                        phoneNumber,
-                        order.getId(),
-                        order.getStatus().toString(),
-                        order.getRestaurantName());
-            }
-
-            // If this is a new order (changing from PENDING to CONFIRMED), notify restaurant
-            if (oldStatus == OrderStatus.PENDING && order.getStatus() == OrderStatus.CONFIRMED) {
-                notifyRestaurantAboutOrder(order);
-            }
-
-            logger.info("Order status notifications sent for order: {}", order.getId());
-        } catch (Exception e) {
-            logger.error("Failed to send order status notifications: {}", e.getMessage());
-        }
-    }
-
-    /**
-     * Notify restaurant about new order
-     */
-    private void notifyRestaurantAboutOrder(Order order) {
-        try {
-            // Get restaurant details from restaurant service
-            Map<String, Object> restaurantInfo = restaurantServiceClient.getRestaurantInfo(
-                    order.getRestaurantId(), "");
-
-            if (restaurantInfo == null || !Boolean.TRUE.equals(restaurantInfo.get("exists"))) {
-                logger.warn("Restaurant details not found for notification. RestaurantId: {}", order.getRestaurantId());
-                return;
-            }
-
-            // Get restaurant owner ID
-            String ownerId = (String) restaurantInfo.get("ownerId");
-
-            // Get owner details from user service
-            Map<String, Object> ownerDetails = userServiceClient.getUserDetails(ownerId, "");
-
-            if (ownerDetails == null || !Boolean.TRUE.equals(ownerDetails.get("exists"))) {
-                logger.warn("Restaurant owner details not found. OwnerId: {}", ownerId);
-                return;
-            }
-
-            // Extract owner email
-            String ownerEmail = (String) ownerDetails.get("email");
-
-            if (ownerEmail != null && !ownerEmail.isEmpty()) {
-                notificationServiceClient.notifyRestaurantAboutNewOrder(
-                        ownerEmail,
-                        order.getId(),
-                        order.getCustomerName());
-            }
-        } catch (Exception e) {
-            logger.error("Failed to notify restaurant about order: {}", e.getMessage());
-        }
-    }
 }
@@ -0,0 +1,105 @@
+package com.foodieapp.order.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable amount of money held as a whole number of minor units (paise).
+ *
+ * Rounding rules:
+ * - addition, subtraction and multiplication by a quantity are exact
+ * - converting a BigDecimal with more than two decimals rounds HALF_UP
+ * - applying a rate rounds the result HALF_UP (ties away from zero) to a whole paisa
+ * Arithmetic that would overflow a long throws ArithmeticException.
+ */
+public final class Money implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
+    private static final long BASIS_POINTS = 10_000;
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return ofMinor(toMinorUnits(amount));
+    }
+
+    /**
+     * Minor units of a decimal amount, without creating a Money
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        BigDecimal minor = amount.movePointRight(SCALE);
+        if (minor.scale() > 0) {
+            minor = minor.setScale(0, RoundingMode.HALF_UP);
+        }
+        return minor.longValueExact();
+    }
+
+    /**
+     * Rate in basis points applied to an amount in minor units, rounded HALF_UP
+     */
+    public static long applyRate(long minorUnits, long basisPoints) {
+        long scaled = Math.multiplyExact(minorUnits, basisPoints);
+        long half = scaled >= 0 ? BASIS_POINTS / 2 : -BASIS_POINTS / 2;
+        return (scaled + half) / BASIS_POINTS;
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money times(long quantity) {
+        return ofMinor(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    public Money applyRate(long basisPoints) {
+        return ofMinor(applyRate(minorUnits, basisPoints));
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money && ((Money) o).minorUnits == minorUnits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
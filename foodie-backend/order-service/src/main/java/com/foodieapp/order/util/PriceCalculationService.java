@@ -12,44 +12,34 @@ import java.util.List;
  */
 @Component
 public class PriceCalculationService {
+    private static final PriceCalculationService DEFAULTS =
+            new PriceCalculationService(new PricingEngine(PricingConfig.defaults()));
 
-    private final PriceCalculationUtil priceCalculationUtil;
+    private final PricingEngine pricingEngine;
 
-    public PriceCalculationService(PriceCalculationUtil priceCalculationUtil) {
-        this.priceCalculationUtil = priceCalculationUtil;
+    public PriceCalculationService(PricingEngine pricingEngine) {
+        this.pricingEngine = pricingEngine;
     }
 
     /**
-     * Calculate totals for a list of cart items
+     * Calculation with the default pricing, for entities priced outside of Spring wiring
      */
-    public PriceBreakdown calculateCartTotals(List<CartItem> items) {
-        BigDecimal subtotal = items.stream()
-                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        return calculatePriceBreakdown(subtotal);
+    public static PriceCalculationService defaults() {
+        return DEFAULTS;
     }
 
     /**
-     * Calculate totals for a list of order items
+     * Calculate totals for a list of cart items
      */
-    public PriceBreakdown calculateOrderTotals(List<OrderItem> items) {
-        BigDecimal subtotal = items.stream()
-                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        return calculatePriceBreakdown(subtotal);
+    public PriceBreakdown calculateCartTotals(List<CartItem> items) {
+        return new PriceBreakdown(pricingEngine.priceCartItems(items));
     }
 
     /**
-     * Common method to calculate price breakdown
+     * Calculate totals for a list of order items
      */
-    private PriceBreakdown calculatePriceBreakdown(BigDecimal subtotal) {
-        BigDecimal tax = PriceCalculationUtil.calculateTax(subtotal);
-        BigDecimal deliveryFee = PriceCalculationUtil.getDeliveryFee();
-        BigDecimal total = PriceCalculationUtil.calculateTotal(subtotal, tax, deliveryFee, null);
-
-        return new PriceBreakdown(subtotal, tax, deliveryFee, total);
+    public PriceBreakdown calculateOrderTotals(List<OrderItem> items) {
+        return new PriceBreakdown(pricingEngine.priceOrderItems(items));
     }
 
     /**
@@ -60,12 +50,24 @@ public class PriceCalculationService {
         private final BigDecimal tax;
         private final BigDecimal deliveryFee;
         private final BigDecimal totalAmount;
+        private final int itemCount;
 
         public PriceBreakdown(BigDecimal subtotal, BigDecimal tax, BigDecimal deliveryFee, BigDecimal totalAmount) {
+            this(subtotal, tax, deliveryFee, totalAmount, 0);
+        }
+
+        private PriceBreakdown(BigDecimal subtotal, BigDecimal tax, BigDecimal deliveryFee, BigDecimal totalAmount,
+                               int itemCount) {
             this.subtotal = subtotal;
             this.tax = tax;
             this.deliveryFee = deliveryFee;
             this.totalAmount = totalAmount;
+            this.itemCount = itemCount;
+        }
+
+        PriceBreakdown(PricingEngine.Totals totals) {
+            this(totals.getSubtotal().toBigDecimal(), totals.getTax().toBigDecimal(),
+                    totals.getDeliveryFee().toBigDecimal(), totals.getTotal().toBigDecimal(), totals.getItemCount());
         }
 
         public BigDecimal getSubtotal() {
@@ -83,5 +85,9 @@ public class PriceCalculationService {
         public BigDecimal getTotalAmount() {
             return totalAmount;
         }
+
+        public int getItemCount() {
+            return itemCount;
+        }
     }
 }
\ No newline at end of file
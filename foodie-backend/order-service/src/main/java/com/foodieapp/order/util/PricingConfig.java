@@ -0,0 +1,53 @@
+package com.foodieapp.order.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable pricing parameters for carts and orders
+ */
+public final class PricingConfig {
+    private static final PricingConfig DEFAULTS = fromPercent(BigDecimal.TEN, new BigDecimal("2.99"));
+
+    private final long taxRateBasisPoints;
+    private final Money deliveryFee;
+
+    public PricingConfig(long taxRateBasisPoints, Money deliveryFee) {
+        if (taxRateBasisPoints < 0) {
+            throw new IllegalArgumentException("Tax rate must not be negative");
+        }
+        this.taxRateBasisPoints = taxRateBasisPoints;
+        this.deliveryFee = deliveryFee;
+    }
+
+    /**
+     * @param taxPercentage Tax rate in percent, e.g. 12.5; precision beyond a basis point is rounded HALF_UP
+     * @param deliveryFee Flat delivery fee
+     */
+    public static PricingConfig fromPercent(BigDecimal taxPercentage, BigDecimal deliveryFee) {
+        long basisPoints = taxPercentage.movePointRight(2)
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact();
+        return new PricingConfig(basisPoints, Money.of(deliveryFee));
+    }
+
+    /**
+     * 10% tax and a 2.99 delivery fee, the values used when nothing is configured
+     */
+    public static PricingConfig defaults() {
+        return DEFAULTS;
+    }
+
+    public long getTaxRateBasisPoints() {
+        return taxRateBasisPoints;
+    }
+
+    public Money getDeliveryFee() {
+        return deliveryFee;
+    }
+
+    @Override
+    public String toString() {
+        return "PricingConfig{taxRateBasisPoints=" + taxRateBasisPoints + ", deliveryFee=" + deliveryFee + "}";
+    }
+}
@@ -0,0 +1,89 @@
+package com.foodieapp.order.util;
+
+import com.foodieapp.order.model.CartItem;
+import com.foodieapp.order.model.OrderItem;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Computes cart and order totals in a single pass over the items, in whole paise.
+ *
+ * subtotal = sum(price x quantity), tax = subtotal x tax rate rounded HALF_UP,
+ * total = subtotal + tax + delivery fee. Item prices are converted once per line;
+ * everything after that is long arithmetic.
+ */
+@Component
+public class PricingEngine {
+    private final PricingConfig config;
+
+    public PricingEngine(PricingConfig config) {
+        this.config = config;
+    }
+
+    public Totals priceCartItems(List<CartItem> items) {
+        long subtotal = 0;
+        int itemCount = 0;
+        for (int i = 0, n = items.size(); i < n; i++) {
+            CartItem item = items.get(i);
+            int quantity = item.getQuantity() != null ? item.getQuantity() : 0;
+            subtotal = Math.addExact(subtotal, lineTotal(item.getPrice(), quantity));
+            itemCount += quantity;
+        }
+        return totals(subtotal, itemCount);
+    }
+
+    public Totals priceOrderItems(List<OrderItem> items) {
+        long subtotal = 0;
+        int itemCount = 0;
+        for (int i = 0, n = items.size(); i < n; i++) {
+            OrderItem item = items.get(i);
+            int quantity = item.getQuantity() != null ? item.getQuantity() : 0;
+            subtotal = Math.addExact(subtotal, lineTotal(item.getPrice(), quantity));
+            itemCount += quantity;
+        }
+        return totals(subtotal, itemCount);
+    }
+
+    public PricingConfig getConfig() {
+        return config;
+    }
+
+    private static long lineTotal(BigDecimal price, int quantity) {
+        return Math.multiplyExact(Money.toMinorUnits(price), (long) quantity);
+    }
+
+    private Totals totals(long subtotal, int itemCount) {
+        long tax = Money.applyRate(subtotal, config.getTaxRateBasisPoints());
+        long deliveryFee = config.getDeliveryFee().getMinorUnits();
+        long total = Math.addExact(Math.addExact(subtotal, tax), deliveryFee);
+        return new Totals(Money.ofMinor(subtotal), Money.ofMinor(tax), Money.ofMinor(deliveryFee),
+                Money.ofMinor(total), itemCount);
+    }
+
+    /**
+     * Result of pricing a list of items
+     */
+    public static final class Totals {
+        private final Money subtotal;
+        private final Money tax;
+        private final Money deliveryFee;
+        private final Money total;
+        private final int itemCount;
+
+        Totals(Money subtotal, Money tax, Money deliveryFee, Money total, int itemCount) {
+            this.subtotal = subtotal;
+            this.tax = tax;
+            this.deliveryFee = deliveryFee;
+            this.total = total;
+            this.itemCount = itemCount;
+        }
+
+        public Money getSubtotal() { return subtotal; }
+        public Money getTax() { return tax; }
+        public Money getDeliveryFee() { return deliveryFee; }
+        public Money getTotal() { return total; }
+        public int getItemCount() { return itemCount; }
+    }
+}
@@ -0,0 +1,140 @@
+package com.foodieapp.order.client.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CaffeineResponseCacheTest {
+
+    @Test
+    void longestMatchingPrefixOverridesDefaultTtl() {
+        CaffeineResponseCache cache = new CaffeineResponseCache(1024 * 1024,
+                Map.of("token_", 1_000L, "token_validation_", 60_000L), 0, Runnable::run);
+
+        assertEquals(60_000L, cache.resolveTtl("token_validation_abc", 5_000L));
+        assertEquals(1_000L, cache.resolveTtl("token_other", 5_000L));
+        assertEquals(5_000L, cache.resolveTtl("restaurant_info_1", 5_000L));
+    }
+
+    @Test
+    void nullValuesAreNotCached() {
+        CaffeineResponseCache cache = new CaffeineResponseCache(1024 * 1024, Map.of(), 0, Runnable::run);
+
+        cache.put("user_details_1", null, 60_000L);
+
+        assertNull(cache.getIfPresent("user_details_1"));
+    }
+
+    @Test
+    void totalWeightStaysBounded() {
+        long maximumWeight = 64 * 1024;
+        CaffeineResponseCache cache = new CaffeineResponseCache(maximumWeight, Map.of(), 0, Runnable::run);
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("token_validation_" + i, Map.of("valid", true, "userId", "user-" + i), 60_000L);
+        }
+        cache.getNativeCache().cleanUp();
+
+        long perEntry = CaffeineResponseCache.weigh("token_validation_0", Map.of("valid", true, "userId", "user-0"));
+        assertTrue(cache.estimatedSize() * perEntry <= maximumWeight + perEntry);
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CaffeineResponseCache cache = new CaffeineResponseCache(1024 * 1024, Map.of(), 0, Runnable::run);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> cache.get("restaurant_info_1", () -> {
+                    loads.incrementAndGet();
+                    awaitQuietly(release);
+                    return Map.of("id", "1");
+                }, 60_000L)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<Object> result : results) {
+                assertEquals(Map.of("id", "1"), result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void asyncLoadsAreSharedAndCached() throws Exception {
+        CaffeineResponseCache cache = new CaffeineResponseCache(1024 * 1024, Map.of(), 0, Runnable::run);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<Object> response = new CompletableFuture<>();
+
+        CompletableFuture<Object> first = cache.getAsync("restaurant_info_1", () -> {
+            loads.incrementAndGet();
+            return response;
+        }, 60_000L);
+        CompletableFuture<Object> second = cache.getAsync("restaurant_info_1", () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(Map.of("id", "other"));
+        }, 60_000L);
+        assertTrue(!first.isDone() && !second.isDone());
+
+        response.complete(Map.of("id", "1"));
+        assertEquals(Map.of("id", "1"), first.get(5, TimeUnit.SECONDS));
+        assertEquals(Map.of("id", "1"), second.get(5, TimeUnit.SECONDS));
+        assertEquals(Map.of("id", "1"), cache.get("restaurant_info_1", () -> "unused", 60_000L));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void staleValueIsServedWhileRefreshing() throws Exception {
+        List<Runnable> refreshes = new ArrayList<>();
+        CaffeineResponseCache cache = new CaffeineResponseCache(1024 * 1024, Map.of(), 60_000L, refreshes::add);
+
+        cache.put("restaurant_info_1", "v1", 1L);
+        Thread.sleep(5);
+
+        assertNull(cache.getIfPresent("restaurant_info_1"));
+        assertEquals("v1", cache.get("restaurant_info_1", () -> "v2", 60_000L));
+        assertEquals("v1", cache.get("restaurant_info_1", () -> "v3", 60_000L));
+        assertEquals(1, refreshes.size());
+
+        refreshes.get(0).run();
+        assertEquals("v2", cache.get("restaurant_info_1", () -> "v4", 60_000L));
+    }
+
+    @Test
+    void parsesPrefixTtlProperty() {
+        Map<String, Long> ttls = ResponseCacheFactory.parsePrefixTtls("token_validation_:60000, payment_:30000,bad");
+
+        assertEquals(2, ttls.size());
+        assertEquals(60_000L, ttls.get("token_validation_"));
+        assertEquals(30_000L, ttls.get("payment_"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.foodieapp.order.security;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.ExpectedCount.manyTimes;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class JwtServiceTest {
+
+    private static final String USER_SERVICE = "http://user-service";
+
+    private KeyPair keyPair;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        server.expect(manyTimes(), requestTo(USER_SERVICE + "/api/v1/auth/jwks"))
+                .andRespond(withSuccess("{\"keys\":[{\"kty\":\"RSA\",\"kid\":\"k1\",\"alg\":\"RS256\",\"n\":\""
+                        + base64Url(publicKey.getModulus()) + "\",\"e\":\""
+                        + base64Url(publicKey.getPublicExponent()) + "\"}]}", MediaType.APPLICATION_JSON));
+        server.expect(manyTimes(), requestTo(USER_SERVICE + "/api/v1/auth/revoked-tokens"))
+                .andRespond(withSuccess("{\"tokenIds\":[\"revoked-id\"]}", MediaType.APPLICATION_JSON));
+
+        jwtService = new JwtService(restTemplate, USER_SERVICE);
+        ReflectionTestUtils.setField(jwtService, "enabled", true);
+        ReflectionTestUtils.setField(jwtService, "sharedSecret", "");
+        jwtService.init();
+    }
+
+    private void loadKeysAndDenyList() {
+        jwtService.refreshSigningKeys();
+        jwtService.refreshDenyList();
+    }
+
+    @Test
+    void verifiesTokenSignedByPublishedKey() {
+        loadKeysAndDenyList();
+        Map<String, Object> tokenInfo = jwtService.verify("Bearer " + token("k1", "token-1", null, 60_000));
+
+        assertEquals(true, tokenInfo.get("valid"));
+        assertEquals("user-1", tokenInfo.get("userId"));
+        assertEquals(List.of("ROLE_CUSTOMER"), tokenInfo.get("roles"));
+    }
+
+    @Test
+    void rejectsExpiredRevokedAndNonAccessTokens() {
+        loadKeysAndDenyList();
+        assertEquals(false, jwtService.verify(token("k1", "token-1", null, -120_000)).get("valid"));
+        assertEquals(false, jwtService.verify(token("k1", "revoked-id", null, 60_000)).get("valid"));
+        assertEquals(false, jwtService.verify(token("k1", "token-1", "refresh", 60_000)).get("valid"));
+    }
+
+    @Test
+    void rejectsTamperedToken() {
+        loadKeysAndDenyList();
+        String token = token("k1", "token-1", null, 60_000);
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        assertEquals(false, jwtService.verify(tampered).get("valid"));
+    }
+
+    @Test
+    void leavesUnknownKeyUndecided() {
+        loadKeysAndDenyList();
+
+        assertNull(jwtService.verify(token("k2", "token-1", null, 60_000)));
+    }
+
+    @Test
+    void leavesTokensUndecidedUntilDenyListLoaded() {
+        jwtService.refreshSigningKeys();
+        String token = token("k1", "revoked-id", null, 60_000);
+
+        assertNull(jwtService.verify(token));
+
+        jwtService.refreshDenyList();
+        assertEquals(false, jwtService.verify(token).get("valid"));
+    }
+
+    private String token(String kid, String tokenId, String tokenType, long expiresInMs) {
+        long now = System.currentTimeMillis();
+        var builder = Jwts.builder()
+                .header().keyId(kid).and()
+                .subject("customer@example.com")
+                .claim("userId", "user-1")
+                .claim("email", "customer@example.com")
+                .claim("roles", List.of("ROLE_CUSTOMER"))
+                .claim("tokenId", tokenId)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiresInMs));
+        if (tokenType != null) {
+            builder.claim("tokenType", tokenType);
+        }
+        return builder.signWith(keyPair.getPrivate(), Jwts.SIG.RS256).compact();
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
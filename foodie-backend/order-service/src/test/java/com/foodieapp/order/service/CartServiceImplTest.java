@@ -0,0 +1,334 @@
+package com.foodieapp.order.service;
+
+import com.foodieapp.order.dto.request.CartItemRequest;
+import com.foodieapp.order.model.Cart;
+import com.foodieapp.order.model.CartItem;
+import com.foodieapp.order.repository.CartRepository;
+import com.foodieapp.order.repository.CustomCartRepository;
+import com.foodieapp.order.util.PriceCalculationService;
+import com.foodieapp.order.util.PricingConfig;
+import com.foodieapp.order.util.PricingEngine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CartServiceImplTest {
+
+    @Test
+    void parallelAddsLoseNoQuantity() throws Exception {
+        VersionedCartStore store = new VersionedCartStore();
+        CartServiceImpl cartService = cartService(store);
+
+        int threads = 8;
+        int addsPerThread = 25;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String itemId = t % 2 == 0 ? "item-a" : "item-b";
+            results.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < addsPerThread; i++) {
+                    cartService.addItemToCart("user-1", itemRequest(itemId));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        pool.shutdown();
+
+        Cart cart = store.read();
+        int expectedPerItem = threads / 2 * addsPerThread;
+        assertEquals(2, cart.getItems().size());
+        for (CartItem item : cart.getItems()) {
+            assertEquals(expectedPerItem, item.getQuantity());
+        }
+        assertEquals(threads * addsPerThread, cart.getItemCount());
+        assertEquals(new BigDecimal("2.50").multiply(BigDecimal.valueOf(threads * addsPerThread)), cart.getSubtotal());
+    }
+
+    @Test
+    void mutationsApplyInPlaceOperatorsToTheStoredCart() {
+        VersionedCartStore store = new VersionedCartStore();
+        CartServiceImpl cartService = cartService(store);
+
+        cartService.addItemToCart("user-1", itemRequest("item-a"));
+        cartService.addItemToCart("user-1", itemRequest("item-b"));
+        cartService.addItemToCart("user-1", itemRequest("item-a"));
+        cartService.updateItemQuantity("user-1", "item-b", 4);
+        cartService.removeItemFromCart("user-1", "item-a");
+
+        List<Document> updates = store.updates();
+        assertTrue(updates.get(0).get("$push", Document.class).containsKey("items"));
+        assertEquals(1, updates.get(2).get("$inc", Document.class).get("items.0.quantity"));
+        assertEquals(4, updates.get(3).get("$set", Document.class).get("items.1.quantity"));
+        assertEquals(new Document("itemId", "item-a"), updates.get(4).get("$pull", Document.class).get("items"));
+        for (Document update : updates) {
+            assertEquals(1, update.get("$inc", Document.class).get("version"));
+            assertTrue(update.get("$set", Document.class).containsKey("totalAmount"));
+        }
+
+        Cart cart = store.read();
+        assertEquals(List.of("item-b"), cart.getItems().stream().map(CartItem::getItemId).collect(Collectors.toList()));
+        assertEquals(4, cart.getItems().get(0).getQuantity());
+        assertEquals(new BigDecimal("10.00"), cart.getItems().get(0).getSubtotal());
+        assertEquals(4, cart.getItemCount());
+        assertEquals(5L, cart.getVersion());
+
+        CartItemRequest otherRestaurant = itemRequest("item-c");
+        otherRestaurant.setRestaurantId("restaurant-2");
+        cartService.addItemToCart("user-1", otherRestaurant);
+
+        cart = store.read();
+        assertEquals("restaurant-2", cart.getRestaurantId());
+        assertEquals(List.of("item-c"), cart.getItems().stream().map(CartItem::getItemId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void sessionStoreWritesOnceForManyChanges() {
+        VersionedCartStore store = new VersionedCartStore();
+        CartServiceImpl cartService = cartService(store);
+        CartSessionStore sessionStore = new CartSessionStore(
+                (CartRepository) ReflectionTestUtils.getField(cartService, "cartRepository"),
+                store, new PriceCalculationService(new PricingEngine(PricingConfig.defaults())),
+                "node-1", 100, 60_000, 15_000, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        ReflectionTestUtils.setField(cartService, "cartSessionStore", sessionStore);
+
+        for (int i = 0; i < 20; i++) {
+            cartService.addItemToCart("user-1", itemRequest("item-a"));
+        }
+        assertEquals(20, cartService.getCart("user-1").getItemCount());
+        assertEquals(0, store.writes.get());
+
+        sessionStore.flushAll();
+
+        assertEquals(1, store.writes.get());
+        assertEquals(20, store.read().getItems().get(0).getQuantity());
+    }
+
+    private static CartServiceImpl cartService(VersionedCartStore store) {
+        CartRepository cartRepository = mock(CartRepository.class);
+        when(cartRepository.findByUserIdAndIsActiveTrue(anyString())).thenAnswer(invocation -> Optional.of(store.read()));
+
+        CartServiceImpl cartService = new CartServiceImpl();
+        ReflectionTestUtils.setField(cartService, "cartRepository", cartRepository);
+        ReflectionTestUtils.setField(cartService, "customCartRepository", store);
+        ReflectionTestUtils.setField(cartService, "priceCalculationService",
+                new PriceCalculationService(new PricingEngine(PricingConfig.defaults())));
+        return cartService;
+    }
+
+    private static CartItemRequest itemRequest(String itemId) {
+        CartItemRequest request = new CartItemRequest();
+        request.setItemId(itemId);
+        request.setName(itemId);
+        request.setPrice(new BigDecimal("2.50"));
+        request.setQuantity(1);
+        request.setRestaurantId("restaurant-1");
+        return request;
+    }
+
+    /**
+     * Stands in for the versioned findAndModify: an update only applies to the version it was read at.
+     * Updates go through the same mapping as MongoTemplate and their operators are applied to the
+     * stored document, so the positional $inc/$set, $push and $pull the service sends are what is checked.
+     */
+    private static class VersionedCartStore implements CustomCartRepository {
+        private static final MongoCustomConversions CONVERSIONS = new MongoCustomConversions(List.of());
+        private static final MongoMappingContext MAPPING_CONTEXT = new MongoMappingContext();
+        private static final MappingMongoConverter CONVERTER =
+                new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, MAPPING_CONTEXT);
+        private static final UpdateMapper UPDATE_MAPPER = new UpdateMapper(CONVERTER);
+
+        static {
+            // Set up the way Spring Boot configures them for MongoTemplate
+            MAPPING_CONTEXT.setSimpleTypeHolder(CONVERSIONS.getSimpleTypeHolder());
+            MAPPING_CONTEXT.afterPropertiesSet();
+            CONVERTER.setCustomConversions(CONVERSIONS);
+            CONVERTER.afterPropertiesSet();
+        }
+
+        private final Document stored = new Document();
+        private final List<Document> updates = new ArrayList<>();
+        final AtomicInteger writes = new AtomicInteger();
+
+        VersionedCartStore() {
+            Cart cart = new Cart();
+            cart.setId("cart-1");
+            cart.setUserId("user-1");
+            cart.setActive(true);
+            cart.setVersion(0L);
+            CONVERTER.write(cart, stored);
+        }
+
+        synchronized Cart read() {
+            return CONVERTER.read(Cart.class, copy(stored));
+        }
+
+        /**
+         * Update documents as sent to Mongo, in the order they were applied
+         */
+        synchronized List<Document> updates() {
+            return new ArrayList<>(updates);
+        }
+
+        @Override
+        public synchronized Cart updateIfVersion(Cart cart, Update update) {
+            if (!Objects.equals(cart.getVersion(), stored.get("version"))) {
+                return null;
+            }
+            Document mapped = UPDATE_MAPPER.getMappedObject(update.inc("version", 1).getUpdateObject(),
+                    MAPPING_CONTEXT.getPersistentEntity(Cart.class));
+            apply(mapped);
+            updates.add(mapped);
+            writes.incrementAndGet();
+            return read();
+        }
+
+        @Override
+        public synchronized Cart acquireSession(String userId, String owner, LocalDateTime leaseUntil) {
+            stored.put("sessionOwner", owner);
+            return read();
+        }
+
+        @Override
+        public void renewSessions(Collection<String> cartIds, String owner, LocalDateTime leaseUntil) {
+        }
+
+        @Override
+        public synchronized void releaseSession(String cartId, String owner) {
+            stored.remove("sessionOwner");
+        }
+
+        @Override
+        public synchronized Map<String, Long> findVersions(Collection<String> cartIds) {
+            return Map.of(stored.getString("_id"), stored.getLong("version"));
+        }
+
+        private void apply(Document update) {
+            for (Map.Entry<String, Object> operator : update.entrySet()) {
+                Document fields = (Document) operator.getValue();
+                for (Map.Entry<String, Object> field : fields.entrySet()) {
+                    String path = field.getKey();
+                    Object value = field.getValue();
+                    switch (operator.getKey()) {
+                        case "$set" -> set(path, value);
+                        case "$inc" -> set(path, add((Number) get(path), (Number) value));
+                        case "$push" -> list(path).add(value);
+                        case "$pull" -> list(path).removeIf(element -> matches((Document) element, (Document) value));
+                        default -> throw new AssertionError("Unexpected update operator " + operator.getKey());
+                    }
+                }
+            }
+        }
+
+        private Object get(String path) {
+            Object current = stored;
+            for (String segment : path.split("\\.")) {
+                current = child(current, segment, path);
+            }
+            return current;
+        }
+
+        private void set(String path, Object value) {
+            int last = path.lastIndexOf('.');
+            Object parent = last < 0 ? stored : get(path.substring(0, last));
+            String key = path.substring(last + 1);
+            if (parent instanceof List) {
+                List<Object> list = asList(parent);
+                int index = Integer.parseInt(key);
+                if (index >= list.size()) {
+                    throw new AssertionError("Update of " + path + " is past the end of the array");
+                }
+                list.set(index, value);
+            } else {
+                ((Document) parent).put(key, value);
+            }
+        }
+
+        private List<Object> list(String path) {
+            Object value = get(path);
+            if (value == null) {
+                value = new ArrayList<>();
+                set(path, value);
+            }
+            return asList(value);
+        }
+
+        private static Object child(Object parent, String segment, String path) {
+            if (parent instanceof List) {
+                List<Object> list = asList(parent);
+                int index = Integer.parseInt(segment);
+                if (index >= list.size()) {
+                    throw new AssertionError("Update of " + path + " is past the end of the array");
+                }
+                return list.get(index);
+            }
+            return ((Document) parent).get(segment);
+        }
+
+        private static boolean matches(Document element, Document criteria) {
+            return criteria.entrySet().stream()
+                    .allMatch(criterion -> Objects.equals(element.get(criterion.getKey()), criterion.getValue()));
+        }
+
+        private static Number add(Number current, Number increment) {
+            if (current instanceof Long || increment instanceof Long) {
+                return (current != null ? current.longValue() : 0L) + increment.longValue();
+            }
+            return (current != null ? current.intValue() : 0) + increment.intValue();
+        }
+
+        @SuppressWarnings("unchecked")
+        private static List<Object> asList(Object value) {
+            return (List<Object>) value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T copy(T value) {
+            if (value instanceof Document) {
+                Document copy = new Document();
+                ((Document) value).forEach((key, field) -> copy.put(key, copy(field)));
+                return (T) copy;
+            }
+            if (value instanceof List) {
+                List<Object> copy = new ArrayList<>();
+                ((List<?>) value).forEach(element -> copy.add(copy(element)));
+                return (T) copy;
+            }
+            return value;
+        }
+    }
+}
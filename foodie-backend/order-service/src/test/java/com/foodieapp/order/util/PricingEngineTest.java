@@ -0,0 +1,51 @@
+package com.foodieapp.order.util;
+
+import com.foodieapp.order.model.CartItem;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PricingEngineTest {
+
+    @Test
+    void taxRoundsHalfUpToWholePaise() {
+        assertEquals(1, Money.applyRate(5, 1000));     // 0.05 x 10% = 0.005
+        assertEquals(0, Money.applyRate(4, 1000));     // 0.04 x 10% = 0.004
+        assertEquals(-1, Money.applyRate(-5, 1000));   // ties round away from zero
+        assertEquals(1999, Money.toMinorUnits(new BigDecimal("19.985")));
+    }
+
+    @Test
+    void fractionalTaxRatesAreKeptExactly() {
+        PricingConfig config = PricingConfig.fromPercent(new BigDecimal("12.5"), new BigDecimal("40"));
+
+        assertEquals(1250, config.getTaxRateBasisPoints());
+        assertEquals(Money.ofMinor(4000), config.getDeliveryFee());
+    }
+
+    @Test
+    void cartTotalsInOnePass() {
+        PricingEngine engine = new PricingEngine(PricingConfig.defaults());
+
+        PricingEngine.Totals totals = engine.priceCartItems(List.of(
+                cartItem("149.50", 2),
+                cartItem("0.99", 3),
+                cartItem("20", 1)));
+
+        assertEquals(new BigDecimal("321.97"), totals.getSubtotal().toBigDecimal());
+        assertEquals(new BigDecimal("32.20"), totals.getTax().toBigDecimal());
+        assertEquals(new BigDecimal("2.99"), totals.getDeliveryFee().toBigDecimal());
+        assertEquals(new BigDecimal("357.16"), totals.getTotal().toBigDecimal());
+        assertEquals(6, totals.getItemCount());
+    }
+
+    private static CartItem cartItem(String price, int quantity) {
+        CartItem item = new CartItem();
+        item.setPrice(new BigDecimal(price));
+        item.setQuantity(quantity);
+        return item;
+    }
+}
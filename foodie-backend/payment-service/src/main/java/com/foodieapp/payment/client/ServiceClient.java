@@ -1,7 +1,10 @@
 package com.foodieapp.payment.client;
 
+import com.foodieapp.payment.client.cache.ResponseCache;
+import com.foodieapp.payment.client.cache.ResponseCacheFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -10,9 +13,6 @@ import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Collections;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -25,8 +25,8 @@ public abstract class ServiceClient {
     protected final RestTemplate restTemplate;
     protected final String baseUrl;
 
-    // Cache mechanism
-    private final Map<String, CacheEntry<Object>> responseCache = new ConcurrentHashMap<>();
+    // Cache mechanism - replaced with a configured, metered cache once Spring wires the factory
+    private volatile ResponseCache responseCache = ResponseCacheFactory.defaultCache();
     protected static final long DEFAULT_CACHE_EXPIRATION_MS = TimeUnit.MINUTES.toMillis(5);
 
     public ServiceClient(RestTemplate restTemplate, String baseUrl) {
@@ -35,6 +35,14 @@ public abstract class ServiceClient {
         logger.debug("Initialized service client with base URL: {}", baseUrl);
     }
 
+    /**
+     * Swap in the configured response cache for this client
+     */
+    @Autowired(required = false)
+    public void setResponseCacheFactory(ResponseCacheFactory responseCacheFactory) {
+        this.responseCache = responseCacheFactory.create(getClass().getSimpleName());
+    }
+
     /**
      * Create standard HTTP headers with authorization
      */
@@ -150,19 +158,12 @@ public abstract class ServiceClient {
     }
 
     /**
-     * Get cached value or compute if absent or expired
+     * Get cached value or compute if absent or expired. Concurrent misses on
+     * the same key share one call to the supplier.
      */
+    @SuppressWarnings("unchecked")
     protected <T> T getCachedOrCompute(String cacheKey, Supplier<T> supplier, long expirationMs) {
-        CacheEntry<Object> entry = responseCache.get(cacheKey);
-
-        if (entry != null && !entry.isExpired()) {
-            logger.debug("Using cached response for key: {}", cacheKey);
-            return (T) entry.getValue();
-        }
-
-        T result = supplier.get();
-        responseCache.put(cacheKey, new CacheEntry<>(result, expirationMs));
-        return result;
+        return (T) responseCache.get(cacheKey, supplier, expirationMs);
     }
 
     /**
@@ -173,23 +174,16 @@ public abstract class ServiceClient {
     }
 
     /**
-     * Cache entry class
+     * Clear a specific item from cache
      */
-    protected static class CacheEntry<T> {
-        private final T value;
-        private final long expirationTime;
-
-        public CacheEntry(T value, long expirationMs) {
-            this.value = value;
-            this.expirationTime = System.currentTimeMillis() + expirationMs;
-        }
-
-        public T getValue() {
-            return value;
-        }
+    protected void clearCache(String cacheKey) {
+        responseCache.invalidate(cacheKey);
+    }
 
-        public boolean isExpired() {
-            return System.currentTimeMillis() > expirationTime;
-        }
+    /**
+     * Clear entire cache
+     */
+    protected void clearAllCache() {
+        responseCache.invalidateAll();
     }
 }
@@ -1,5 +1,6 @@
 package com.foodieapp.payment.client;
 
+import com.foodieapp.payment.security.JwtService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
@@ -11,16 +12,26 @@ import java.util.Map;
 @Component
 public class UserServiceClient extends ServiceClient {
 
+    private final JwtService jwtService;
+
     public UserServiceClient(
             RestTemplate restTemplate,
-            @Value("${services.user.url:${user.service.url}}") String userServiceUrl) {
+            @Value("${services.user.url:${user.service.url}}") String userServiceUrl,
+            JwtService jwtService) {
         super(restTemplate, userServiceUrl);
+        this.jwtService = jwtService;
     }
 
     /**
      * Validate a token with the user service
      */
     public Map<String, Object> validateToken(String token) {
+        // Verify locally against the user service's published keys when possible
+        Map<String, Object> localResult = jwtService.verify(token);
+        if (localResult != null) {
+            return localResult;
+        }
+
         if (token == null || token.isEmpty()) {
             logger.warn("Attempt to validate null or empty token");
             return Collections.singletonMap("valid", false);
@@ -0,0 +1,169 @@
+package com.foodieapp.restaurant.benchmark;
+
+import com.foodieapp.restaurant.model.Restaurant;
+import com.foodieapp.restaurant.util.GeoGrid;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeospatialIndex;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Nearby within R km, top K": the in-memory grid against a linear scan and
+ * the $nearSphere query the service used before.
+ *
+ * The Mongo benchmark needs a reachable server (-Dbenchmark.mongo.uri, default
+ * mongodb://localhost:27017) and writes to a scratch database it drops
+ * afterwards; without one only that benchmark fails. For example:
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="NearbyBenchmark -p restaurants=10000"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NearbyBenchmark {
+    private static final double CENTER_LATITUDE = 40.73;
+    private static final double CENTER_LONGITUDE = -73.99;
+    private static final double SPREAD_DEGREES = 0.5;
+    private static final double RADIUS_KM = 5;
+    private static final int LIMIT = 10;
+    private static final int QUERY_POINTS = 1024;
+
+    @State(Scope.Benchmark)
+    public static class Dataset {
+        @Param({"10000", "100000"})
+        public int restaurants;
+
+        List<Restaurant> all;
+        double[][] queries;
+        int next;
+
+        @Setup
+        public void setUp() {
+            Random random = new Random(42);
+            all = new ArrayList<>(restaurants);
+            for (int i = 0; i < restaurants; i++) {
+                Restaurant restaurant = new Restaurant();
+                restaurant.setId(String.format("%024x", i));
+                restaurant.setName("Restaurant " + i);
+                restaurant.setIsActive(true);
+                restaurant.setIsVerified(true);
+                restaurant.setCoordinates(randomLatitude(random), randomLongitude(random));
+                all.add(restaurant);
+            }
+
+            queries = new double[QUERY_POINTS][];
+            for (int i = 0; i < QUERY_POINTS; i++) {
+                queries[i] = new double[] {randomLatitude(random), randomLongitude(random)};
+            }
+        }
+
+        double[] nextQuery() {
+            next = (next + 1) & (QUERY_POINTS - 1);
+            return queries[next];
+        }
+
+        private static double randomLatitude(Random random) {
+            return CENTER_LATITUDE + (random.nextDouble() * 2 - 1) * SPREAD_DEGREES;
+        }
+
+        private static double randomLongitude(Random random) {
+            return CENTER_LONGITUDE + (random.nextDouble() * 2 - 1) * SPREAD_DEGREES;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class GridState {
+        @Param({"2", "5"})
+        public double cellKm;
+
+        GeoGrid grid;
+
+        @Setup
+        public void setUp(Dataset dataset) {
+            grid = GeoGrid.empty(cellKm).with(dataset.all, List.of());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MongoState {
+        MongoClient client;
+        MongoTemplate mongoTemplate;
+
+        @Setup(Level.Trial)
+        public void setUp(Dataset dataset) {
+            client = MongoClients.create(System.getProperty("benchmark.mongo.uri", "mongodb://localhost:27017"));
+            mongoTemplate = new MongoTemplate(client, "foodieapp_benchmark");
+            mongoTemplate.dropCollection(Restaurant.class);
+            mongoTemplate.indexOps(Restaurant.class)
+                    .ensureIndex(new GeospatialIndex("location").typed(GeoSpatialIndexType.GEO_2DSPHERE));
+            for (int from = 0; from < dataset.all.size(); from += 1000) {
+                mongoTemplate.insertAll(dataset.all.subList(from, Math.min(from + 1000, dataset.all.size())));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (mongoTemplate != null) {
+                mongoTemplate.getDb().drop();
+            }
+            if (client != null) {
+                client.close();
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Restaurant> gridIndex(Dataset dataset, GridState state) {
+        double[] query = dataset.nextQuery();
+        return state.grid.nearest(query[0], query[1], RADIUS_KM, LIMIT);
+    }
+
+    @Benchmark
+    public List<Restaurant> linearScan(Dataset dataset) {
+        double[] query = dataset.nextQuery();
+        return dataset.all.stream()
+                .filter(r -> GeoGrid.distanceKm(query[0], query[1], r.getLatitude(), r.getLongitude()) <= RADIUS_KM)
+                .sorted(Comparator.comparingDouble(
+                        r -> GeoGrid.distanceKm(query[0], query[1], r.getLatitude(), r.getLongitude())))
+                .limit(LIMIT)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Restaurant> mongoNearSphere(Dataset dataset, MongoState state) {
+        double[] point = dataset.nextQuery();
+        Distance distance = new Distance(RADIUS_KM, Metrics.KILOMETERS);
+        Query query = new Query(Criteria.where("location")
+                .nearSphere(new Point(point[1], point[0])).maxDistance(distance.getNormalizedValue())
+                .and("isActive").is(true)
+                .and("isVerified").is(true));
+        query.limit(LIMIT);
+        return state.mongoTemplate.find(query, Restaurant.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.foodieapp.restaurant.benchmark;
+
+import com.foodieapp.restaurant.util.TextIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search-as-you-type over synthetic dish names: the inverted index against the
+ * case-insensitive substring scan that name lookups used before.
+ * For example: mvn -Pjmh test-compile exec:exec -Djmh.args="SearchBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+    private static final String[] ADJECTIVES = {
+            "spicy", "crispy", "grilled", "smoked", "classic", "garlic", "creamy", "roasted", "sweet", "tandoori"
+    };
+    private static final String[] DISHES = {
+            "chicken", "paneer", "pizza", "pasta", "burger", "noodles", "biryani", "tacos", "salad", "curry",
+            "ramen", "sushi", "falafel", "dumplings", "risotto", "kebab", "lasagna", "burrito", "gnocchi", "pho"
+    };
+    private static final String[] STYLES = {"bowl", "platter", "wrap", "special", "combo", "deluxe", "plate", "box"};
+    private static final String[] QUERIES = {"p", "pi", "piz", "pizza", "spicy chi", "grilled paneer t", "biryan"};
+    private static final int LIMIT = 10;
+
+    @Param({"200000"})
+    public int dishes;
+
+    private List<String> names;
+    private TextIndex<String> index;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        names = new ArrayList<>(dishes);
+        index = new TextIndex<>();
+        for (int i = 0; i < dishes; i++) {
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + DISHES[random.nextInt(DISHES.length)] + " "
+                    + STYLES[random.nextInt(STYLES.length)] + " " + i;
+            names.add(name);
+            index.put(String.valueOf(i), name, 1, List.of(new TextIndex.Field(name, 3)));
+        }
+    }
+
+    private String nextQuery() {
+        next = (next + 1) % QUERIES.length;
+        return QUERIES[next];
+    }
+
+    @Benchmark
+    public List<String> invertedIndex() {
+        return index.search(nextQuery(), LIMIT, name -> true);
+    }
+
+    @Benchmark
+    public List<String> substringScan() {
+        String query = nextQuery().toLowerCase(Locale.ROOT);
+        List<String> matches = new ArrayList<>(LIMIT);
+        for (String name : names) {
+            if (name.toLowerCase(Locale.ROOT).contains(query)) {
+                matches.add(name);
+                if (matches.size() == LIMIT) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+}
@@ -2,8 +2,10 @@ package com.foodieapp.restaurant;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class RestaurantServiceApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(RestaurantServiceApplication.class, args);
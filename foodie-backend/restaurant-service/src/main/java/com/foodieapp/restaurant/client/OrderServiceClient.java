@@ -0,0 +1,52 @@
+package com.foodieapp.restaurant.client;
+
+import com.foodieapp.restaurant.security.ServiceTokenVerifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+@Component
+public class OrderServiceClient extends BaseServiceClient {
+    private final ServiceTokenVerifier serviceTokenVerifier;
+
+    public OrderServiceClient(
+            RestTemplate restTemplate,
+            @Value("${order.service.url}") String orderServiceUrl,
+            ServiceTokenVerifier serviceTokenVerifier) {
+        super(restTemplate, orderServiceUrl);
+        this.serviceTokenVerifier = serviceTokenVerifier;
+    }
+
+    /**
+     * Get an order as seen by the caller; the order service only returns the caller's own orders
+     * @param authToken The caller's Authorization header
+     * @return Order details (userId, restaurantId, status, ...), or null if it isn't available to the caller
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getOrder(String orderId, String authToken) {
+        return getForObject("/api/v1/orders/" + orderId, Map.class, authToken);
+    }
+
+    /**
+     * Get an order's restaurant and status as a service, outside any user's request
+     * @return Order summary (orderId, restaurantId, status), or null if the order doesn't exist
+     * @throws org.springframework.web.client.RestClientException if the order service can't be asked
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getOrderSummary(String orderId) {
+        HttpHeaders headers = createHeaders(null);
+        headers.set(ServiceTokenVerifier.HEADER, serviceTokenVerifier.token());
+        try {
+            return restTemplate.exchange(serviceUrl + "/api/v1/internal/orders/" + orderId,
+                    HttpMethod.GET, new HttpEntity<>(headers), Map.class).getBody();
+        } catch (HttpClientErrorException.NotFound e) {
+            return null;
+        }
+    }
+}
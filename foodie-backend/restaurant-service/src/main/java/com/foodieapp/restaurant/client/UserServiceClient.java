@@ -1,5 +1,6 @@
 package com.foodieapp.restaurant.client;
 
+import com.foodieapp.restaurant.security.JwtService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,18 +14,28 @@ import java.util.Map;
 public class UserServiceClient extends BaseServiceClient {
     private static final Logger logger = LoggerFactory.getLogger(UserServiceClient.class);
 
+    private final JwtService jwtService;
+
     public UserServiceClient(
             RestTemplate restTemplate,
-            @Value("${user.service.url}") String userServiceUrl) {
+            @Value("${user.service.url}") String userServiceUrl,
+            JwtService jwtService) {
         super(restTemplate, userServiceUrl);
+        this.jwtService = jwtService;
     }
 
     /**
-     * Validate a token with the user service - this is the single source of truth for token validation
+     * Validate a token, locally when the signing key is known and with the user service otherwise
      * @param token Authentication token
      * @return Map containing validation results
      */
     public Map<String, Object> validateToken(String token) {
+        // Verify locally against the user service's published keys when possible
+        Map<String, Object> localResult = jwtService.verify(token);
+        if (localResult != null) {
+            return localResult;
+        }
+
         String cacheKey = "token_validation_" + token;
 
         return getCachedOrCompute(cacheKey, () -> {
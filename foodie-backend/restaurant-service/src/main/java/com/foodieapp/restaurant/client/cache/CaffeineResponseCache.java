@@ -0,0 +1,281 @@
+package com.foodieapp.restaurant.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded response cache backed by Caffeine.
+ *
+ * Caffeine uses W-TinyLFU admission, so a burst of one-off keys (such as a
+ * token_validation_ entry per distinct bearer token) cannot flush frequently
+ * used entries like restaurant info. Entries are weighed by their estimated
+ * size in bytes, expire per entry, and are removed in the background by the
+ * system scheduler rather than only on read.
+ *
+ * Loads through {@link #get(String, Supplier, long)} are single-flight:
+ * concurrent misses on the same key share one in-flight future, and an entry
+ * that is past its TTL but still inside the stale-while-revalidate window is
+ * served as-is while a single background refresh replaces it.
+ */
+public class CaffeineResponseCache implements ResponseCache {
+
+    private static final int MAX_WEIGH_DEPTH = 4;
+
+    private final Cache<String, CachedValue> cache;
+    private final Map<String, Long> prefixTtls;
+    private final long staleNanos;
+    private final Executor refreshExecutor;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param maximumWeight Upper bound on the summed estimated size of all entries, in bytes
+     * @param prefixTtls TTL overrides in milliseconds keyed by cache key prefix; the longest matching prefix wins
+     * @param staleWhileRevalidateMs How long past its TTL an entry may still be served while it is refreshed; 0 disables
+     * @param refreshExecutor Executor for background refreshes of stale entries
+     */
+    public CaffeineResponseCache(long maximumWeight, Map<String, Long> prefixTtls,
+                                 long staleWhileRevalidateMs, Executor refreshExecutor) {
+        this.prefixTtls = sortByPrefixLength(prefixTtls);
+        this.staleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, staleWhileRevalidateMs));
+        this.refreshExecutor = refreshExecutor;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((String key, CachedValue value) -> value.weight)
+                .expireAfter(new PerEntryExpiry())
+                .scheduler(Scheduler.systemScheduler())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Object getIfPresent(String key) {
+        CachedValue cached = cache.getIfPresent(key);
+        return cached != null && !cached.isStale() ? cached.value : null;
+    }
+
+    @Override
+    public Object get(String key, Supplier<?> loader, long expirationMs) {
+        CachedValue cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (cached.isStale()) {
+                refreshInBackground(key, loader, expirationMs);
+            }
+            return cached.value;
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing);
+        }
+        return loadInto(key, loader, expirationMs, future);
+    }
+
+    @Override
+    public void put(String key, Object value, long expirationMs) {
+        if (value == null) {
+            // Caffeine does not store nulls; a null result is simply recomputed next time
+            return;
+        }
+        long ttlNanos = TimeUnit.MILLISECONDS.toNanos(resolveTtl(key, expirationMs));
+        cache.put(key, new CachedValue(value, System.nanoTime() + ttlNanos, ttlNanos + staleNanos, weigh(key, value)));
+    }
+
+    @Override
+    public void invalidate(String key) {
+        // Detach any in-flight load so its (possibly outdated) result is not stored
+        inFlight.remove(key);
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        inFlight.clear();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Underlying cache, exposed for metrics binding
+     */
+    public Cache<String, ?> getNativeCache() {
+        return cache;
+    }
+
+    /**
+     * Run the loader on the calling thread and publish the result to waiters
+     */
+    private Object loadInto(String key, Supplier<?> loader, long expirationMs, CompletableFuture<Object> future) {
+        try {
+            Object value = loader.get();
+            if (inFlight.get(key) == future) {
+                put(key, value, expirationMs);
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Start one background refresh for a stale key; a failed or empty refresh keeps the stale value
+     */
+    private void refreshInBackground(String key, Supplier<?> loader, long expirationMs) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, future) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    loadInto(key, loader, expirationMs, future);
+                } catch (RuntimeException e) {
+                    // Already delivered to any waiters; the stale entry stays until it expires
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, future);
+            future.complete(null);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    long resolveTtl(String key, long defaultTtlMs) {
+        for (Map.Entry<String, Long> entry : prefixTtls.entrySet()) {
+            if (key.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return defaultTtlMs;
+    }
+
+    private static Map<String, Long> sortByPrefixLength(Map<String, Long> prefixTtls) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        if (prefixTtls == null) {
+            return sorted;
+        }
+        prefixTtls.entrySet().stream()
+                .sorted((a, b) -> Integer.compare(b.getKey().length(), a.getKey().length()))
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return Collections.unmodifiableMap(sorted);
+    }
+
+    /**
+     * Rough size estimate of a key/value pair in bytes. Only needs to be
+     * proportional, not exact, for the weight bound to be meaningful.
+     */
+    static int weigh(String key, Object value) {
+        long weight = 40L + 2L * key.length() + estimate(value, 0);
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    private static long estimate(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof CharSequence) {
+            return 40L + 2L * ((CharSequence) value).length();
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return 16;
+        }
+        if (value instanceof byte[]) {
+            return 16L + ((byte[]) value).length;
+        }
+        if (depth >= MAX_WEIGH_DEPTH) {
+            return 64;
+        }
+        if (value instanceof Map) {
+            long size = 64;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += 32 + estimate(entry.getKey(), depth + 1) + estimate(entry.getValue(), depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Collection) {
+            long size = 40;
+            for (Object element : (Collection<?>) value) {
+                size += 8 + estimate(element, depth + 1);
+            }
+            return size;
+        }
+        return 64;
+    }
+
+    /**
+     * Cached value with its own TTL and precomputed weight
+     */
+    private static final class CachedValue {
+        private final Object value;
+        private final long freshUntilNanos;
+        private final long lifetimeNanos;
+        private final int weight;
+
+        private CachedValue(Object value, long freshUntilNanos, long lifetimeNanos, int weight) {
+            this.value = value;
+            this.freshUntilNanos = freshUntilNanos;
+            this.lifetimeNanos = lifetimeNanos;
+            this.weight = weight;
+        }
+
+        private boolean isStale() {
+            return System.nanoTime() - freshUntilNanos > 0;
+        }
+    }
+
+    /**
+     * Expires each entry after its own TTL plus the stale window, counted from the last write
+     */
+    private static final class PerEntryExpiry implements Expiry<String, CachedValue> {
+        @Override
+        public long expireAfterCreate(String key, CachedValue value, long currentTime) {
+            return value.lifetimeNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedValue value, long currentTime, long currentDuration) {
+            return value.lifetimeNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedValue value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
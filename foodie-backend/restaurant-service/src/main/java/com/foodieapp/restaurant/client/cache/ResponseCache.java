@@ -0,0 +1,43 @@
+package com.foodieapp.restaurant.client.cache;
+
+import java.util.function.Supplier;
+
+/**
+ * Storage engine behind {@code BaseServiceClient.getCachedOrCompute}.
+ * Implementations must be thread-safe and bounded.
+ */
+public interface ResponseCache {
+
+    /**
+     * Get a cached value, or null if absent or expired
+     */
+    Object getIfPresent(String key);
+
+    /**
+     * Get a cached value, loading it on a miss. Concurrent misses on the same
+     * key share a single load; a stale value may be returned while it is
+     * refreshed in the background.
+     */
+    Object get(String key, Supplier<?> loader, long expirationMs);
+
+    /**
+     * Store a value. The expiration is a default that a configured
+     * per-key-prefix TTL may override.
+     */
+    void put(String key, Object value, long expirationMs);
+
+    /**
+     * Remove a single entry
+     */
+    void invalidate(String key);
+
+    /**
+     * Remove all entries
+     */
+    void invalidateAll();
+
+    /**
+     * Approximate number of entries currently held
+     */
+    long estimatedSize();
+}
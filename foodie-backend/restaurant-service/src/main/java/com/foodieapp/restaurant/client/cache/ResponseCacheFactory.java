@@ -0,0 +1,115 @@
+package com.foodieapp.restaurant.client.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the response cache for each service client and registers its
+ * hit/miss/eviction statistics with the actuator metrics registry
+ * (cache.gets, cache.evictions, cache.size tagged with cache=client.&lt;ClientName&gt;).
+ */
+@Component
+public class ResponseCacheFactory {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCacheFactory.class);
+
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 8L * 1024 * 1024;
+
+    private final long maximumWeight;
+    private final Map<String, Long> prefixTtls;
+    private final long staleWhileRevalidateMs;
+    private final Executor refreshExecutor;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ResponseCacheFactory(
+            @Value("${app.client-cache.maximum-weight:8388608}") long maximumWeight,
+            @Value("${app.client-cache.prefix-ttls:}") String prefixTtls,
+            @Value("${app.client-cache.stale-while-revalidate-ms:0}") long staleWhileRevalidateMs,
+            @Value("${app.client-cache.refresh-threads:2}") int refreshThreads,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.maximumWeight = maximumWeight;
+        this.prefixTtls = parsePrefixTtls(prefixTtls);
+        this.staleWhileRevalidateMs = staleWhileRevalidateMs;
+        this.refreshExecutor = createRefreshExecutor(refreshThreads);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Create a cache for the named client
+     */
+    public ResponseCache create(String clientName) {
+        CaffeineResponseCache cache = new CaffeineResponseCache(
+                maximumWeight, prefixTtls, staleWhileRevalidateMs, refreshExecutor);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            CaffeineCacheMetrics.monitor(registry, cache.getNativeCache(), "client." + clientName);
+        }
+
+        logger.debug("Created response cache for {} with maximum weight {}, prefix TTLs {} and stale window {}ms",
+                clientName, maximumWeight, prefixTtls, staleWhileRevalidateMs);
+        return cache;
+    }
+
+    /**
+     * Fallback cache used before (or without) Spring wiring
+     */
+    public static ResponseCache defaultCache() {
+        return new CaffeineResponseCache(DEFAULT_MAXIMUM_WEIGHT, Collections.emptyMap(), 0, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Small bounded pool for stale-while-revalidate refreshes. Refreshes that
+     * do not fit are dropped; the stale entry is simply refreshed on a later read.
+     */
+    private static Executor createRefreshExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        int poolSize = Math.max(1, threads);
+        return new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(256),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "client-cache-refresh-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Parse "prefix:millis,prefix:millis" into a map
+     */
+    static Map<String, Long> parsePrefixTtls(String property) {
+        Map<String, Long> ttls = new HashMap<>();
+        if (property == null || property.isBlank()) {
+            return ttls;
+        }
+
+        for (String pair : property.split(",")) {
+            int separator = pair.lastIndexOf(':');
+            if (separator <= 0) {
+                logger.warn("Ignoring malformed client cache TTL entry: {}", pair);
+                continue;
+            }
+            try {
+                ttls.put(pair.substring(0, separator).trim(), Long.parseLong(pair.substring(separator + 1).trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring client cache TTL entry with invalid duration: {}", pair);
+            }
+        }
+        return ttls;
+    }
+}
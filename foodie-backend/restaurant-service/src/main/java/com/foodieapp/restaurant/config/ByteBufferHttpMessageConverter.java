@@ -0,0 +1,76 @@
+package com.foodieapp.restaurant.config;
+
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.ServletResponseWrapper;
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes {@link ByteBuffer} response bodies, e.g. cached images held off-heap.
+ *
+ * On Tomcat the buffer is handed to the connector as is, which copies it into
+ * the socket buffer without an intermediate byte[]. Response wrappers (Spring
+ * Security's) only pass byte[] writes through, so the response is committed
+ * through them first and the buffer is written to the connector's stream.
+ */
+public class ByteBufferHttpMessageConverter extends AbstractHttpMessageConverter<ByteBuffer> {
+    private static final int COPY_CHUNK_SIZE = 16 * 1024;
+
+    public ByteBufferHttpMessageConverter() {
+        super(MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ByteBuffer.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ByteBuffer readInternal(Class<? extends ByteBuffer> clazz, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("ByteBuffer request bodies are not supported");
+    }
+
+    @Override
+    protected Long getContentLength(ByteBuffer buffer, MediaType contentType) {
+        return (long) buffer.remaining();
+    }
+
+    @Override
+    protected void writeInternal(ByteBuffer buffer, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = outputMessage.getBody();
+        if (outputMessage instanceof ServletServerHttpResponse servletResponse) {
+            ServletResponse response = servletResponse.getServletResponse();
+            if (response instanceof ServletResponseWrapper) {
+                // Lets wrappers write their headers before we go around them
+                body.flush();
+                while (response instanceof ServletResponseWrapper wrapper) {
+                    response = wrapper.getResponse();
+                }
+            }
+            if (response.getOutputStream() instanceof CoyoteOutputStream connector) {
+                connector.write(buffer);
+                return;
+            }
+        }
+
+        byte[] chunk = new byte[Math.min(COPY_CHUNK_SIZE, buffer.remaining())];
+        while (buffer.hasRemaining()) {
+            int length = Math.min(chunk.length, buffer.remaining());
+            buffer.get(chunk, 0, length);
+            body.write(chunk, 0, length);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.foodieapp.restaurant.config;
 
+import com.foodieapp.restaurant.model.Cuisine;
+import com.foodieapp.restaurant.model.Ingredient;
+import com.foodieapp.restaurant.model.Rating;
 import com.foodieapp.restaurant.model.Restaurant;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -49,7 +52,34 @@ public class MongoConfig {
         mongoTemplate.indexOps(Restaurant.class)
             .ensureIndex(new Index().on("avgRating", Sort.Direction.DESC));
 
+        // Top-rated and popular listings rank by the smoothed rating
+        mongoTemplate.indexOps(Restaurant.class)
+            .ensureIndex(new Index().on("bayesianRating", Sort.Direction.DESC));
+
+        // One rating per order and customer; a restaurant's ratings newest first
+        mongoTemplate.indexOps(Rating.class)
+            .ensureIndex(new Index().on("orderId", Sort.Direction.ASC).on("userId", Sort.Direction.ASC).unique());
+        mongoTemplate.indexOps(Rating.class)
+            .ensureIndex(new Index().on("restaurantId", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC));
+
+        // Catalog refreshes upsert by name
+        mongoTemplate.indexOps(Cuisine.class)
+            .ensureIndex(new Index().on("name", Sort.Direction.ASC).unique());
+        mongoTemplate.indexOps(Ingredient.class)
+            .ensureIndex(new Index().on("name", Sort.Direction.ASC).unique());
+
         mongoTemplate.indexOps(Restaurant.class)
             .ensureIndex(new Index().on("createdAt", Sort.Direction.DESC));
+
+        // Incremental refresh of the in-memory geo index
+        mongoTemplate.indexOps(Restaurant.class)
+            .ensureIndex(new Index().on("updatedAt", Sort.Direction.DESC));
+
+        // Keyset pagination of restaurant listings, newest first
+        for (String filterField : new String[] {"isActive", "ownerId", "cuisine"}) {
+            mongoTemplate.indexOps(Restaurant.class)
+                .ensureIndex(new Index().on(filterField, Sort.Direction.ASC)
+                    .on("createdAt", Sort.Direction.DESC).on("_id", Sort.Direction.DESC));
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.foodieapp.restaurant.config;
 
+import com.foodieapp.restaurant.dto.response.RestaurantPage;
 import com.foodieapp.restaurant.security.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -53,10 +54,18 @@ public class SecurityConfig {
                         // Validation endpoints - accessible to other services
                         .requestMatchers("/api/v1/validate/**").permitAll()
 
+                        // Event endpoints - only other services, identified by the service token
+                        .requestMatchers(HttpMethod.POST, "/api/v1/events/**").hasAnyAuthority("ROLE_SERVICE", "ROLE_ADMIN")
+
+                        // Health checks are public, details and the other actuator endpoints are for admins
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
+
                         // Customer-facing endpoints - publicly accessible
                         .requestMatchers(HttpMethod.GET, "/api/v1/restaurants/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/cuisines/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/images/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/search", "/api/v1/search/**").permitAll()
 
                         // Owner-specific endpoints
                         .requestMatchers("/api/v1/owner/restaurants/**").hasAnyAuthority("ROLE_RESTAURANT_OWNER", "ROLE_ADMIN")
@@ -78,6 +87,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList(allowedOrigins.split(",")));
         configuration.setAllowedMethods(Arrays.asList(allowedMethods.split(",")));
         configuration.setAllowedHeaders(Arrays.asList(allowedHeaders.split(",")));
+        configuration.setExposedHeaders(Arrays.asList("ETag", RestaurantPage.NEXT_CURSOR_HEADER));
         configuration.setAllowCredentials(allowCredentials);
         configuration.setMaxAge(maxAge);
 
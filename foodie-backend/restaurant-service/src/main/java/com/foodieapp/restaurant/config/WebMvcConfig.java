@@ -3,9 +3,12 @@ package com.foodieapp.restaurant.config;
 import com.foodieapp.restaurant.interceptor.RestaurantOwnerInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
@@ -22,4 +25,10 @@ public class WebMvcConfig implements WebMvcConfigurer {
         registry.addInterceptor(restaurantOwnerInterceptor)
                 .addPathPatterns("/api/v1/owner/restaurants/**");
     }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Cached images are served straight from their off-heap buffers
+        converters.add(0, new ByteBufferHttpMessageConverter());
+    }
 }
@@ -1,35 +1,48 @@
 package com.foodieapp.restaurant.controller;
 
 import com.foodieapp.restaurant.dto.response.ApiResponse;
+import com.foodieapp.restaurant.dto.response.ImageUploadResponse;
 import com.foodieapp.restaurant.model.ImageData;
+import com.foodieapp.restaurant.model.ImageVariant;
+import com.foodieapp.restaurant.service.ImageByteCache;
 import com.foodieapp.restaurant.service.ImageService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneId;
 
 @RestController
 @RequestMapping("/api/v1/images")
 public class ImageController {
+    private static final Duration IMAGE_MAX_AGE = Duration.ofDays(365);
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(IMAGE_MAX_AGE).cachePublic().immutable();
 
     @Autowired
     private ImageService imageService;
 
+    @Autowired
+    private ImageByteCache imageByteCache;
+
     /**
      * Upload restaurant image
      */
     @PostMapping("/restaurant/{restaurantId}")
-    public ResponseEntity<ApiResponse<String>> uploadRestaurantImage(
+    public ResponseEntity<ApiResponse<ImageUploadResponse>> uploadRestaurantImage(
             @PathVariable String restaurantId,
             @RequestParam("file") MultipartFile file) {
         try {
-            String imageId = imageService.uploadRestaurantImage(restaurantId, file);
-            return ResponseEntity.ok(ApiResponse.success("Image uploaded successfully", imageId));
+            ImageUploadResponse uploaded = imageService.uploadRestaurantImage(restaurantId, file);
+            return ResponseEntity.ok(ApiResponse.success("Image uploaded successfully", uploaded));
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Failed to upload image: " + e.getMessage(), "UPLOAD_ERROR"));
@@ -40,13 +53,13 @@ public class ImageController {
      * Upload menu item image
      */
     @PostMapping("/restaurant/{restaurantId}/menu/{menuItemId}")
-    public ResponseEntity<ApiResponse<String>> uploadMenuItemImage(
+    public ResponseEntity<ApiResponse<ImageUploadResponse>> uploadMenuItemImage(
             @PathVariable String restaurantId,
             @PathVariable String menuItemId,
             @RequestParam("file") MultipartFile file) {
         try {
-            String imageId = imageService.uploadMenuItemImage(restaurantId, menuItemId, file);
-            return ResponseEntity.ok(ApiResponse.success("Image uploaded successfully", imageId));
+            ImageUploadResponse uploaded = imageService.uploadMenuItemImage(restaurantId, menuItemId, file);
+            return ResponseEntity.ok(ApiResponse.success("Image uploaded successfully", uploaded));
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Failed to upload image: " + e.getMessage(), "UPLOAD_ERROR"));
@@ -54,15 +67,82 @@ public class ImageController {
     }
 
     /**
-     * Get image by ID
+     * Get image by ID, streamed with Range support, optionally as a resized copy (?size=thumbnail|card|hero)
+     * An image ID always names the same bytes (a new upload gets a new ID), so responses are cacheable forever.
+     * A size that isn't generated yet serves the original, marked for revalidation so the copy replaces it later.
+     * Popular images are answered from {@link ImageByteCache} without touching Mongo.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<byte[]> getImage(@PathVariable String id) {
+    public ResponseEntity<?> getImage(
+            @PathVariable String id,
+            @RequestParam(required = false) String size,
+            WebRequest webRequest) throws IOException {
+        ImageVariant requestedSize = size != null ? ImageVariant.fromKey(size) : null;
+        String cacheKey = ImageByteCache.key(id, requestedSize);
+        // Ranges are rare for images; they are streamed from storage
+        boolean ranged = webRequest.getHeader(HttpHeaders.RANGE) != null;
+
+        ImageByteCache.CachedImage cached = imageByteCache.get(cacheKey);
+        if (cached != null && !ranged) {
+            if (isNotModified(webRequest, cached.getEtag(), cached.getLastModified(), requestedSize)) {
+                return notModified(cached.getEtag(), IMMUTABLE);
+            }
+            return ok(cached.getEtag(), cached.getLastModified(), cached.getContentType(), IMMUTABLE,
+                    cached.getBytes());
+        }
+
         ImageData image = imageService.getImage(id);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(image.getType()));
-        headers.setContentLength(image.getData().length);
-        return new ResponseEntity<>(image.getData(), headers, HttpStatus.OK);
+        ImageData.Variant variant = requestedSize != null
+                ? imageService.findVariant(image, requestedSize)
+                : null;
+
+        String etag = "\"" + (variant != null ? variant.getContentHash()
+                : image.getContentHash() != null ? image.getContentHash() : image.getId()) + "\"";
+        long lastModified = image.getCreatedAt() != null
+                ? image.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        boolean fallback = requestedSize != null && variant == null;
+        CacheControl cacheControl = fallback ? CacheControl.noCache().cachePublic() : IMMUTABLE;
+
+        if (isNotModified(webRequest, etag, lastModified, requestedSize)) {
+            return notModified(etag, cacheControl);
+        }
+
+        String contentType = variant != null ? variant.getContentType() : image.getType();
+        Resource content = variant != null ? imageService.openVariant(variant) : imageService.openImage(image);
+        if (!fallback && !ranged) {
+            cached = imageByteCache.put(cacheKey, contentType, etag, lastModified, content);
+            if (cached != null) {
+                return ok(etag, lastModified, contentType, cacheControl, cached.getBytes());
+            }
+        }
+        return ok(etag, lastModified, contentType, cacheControl, content);
+    }
+
+    private static boolean isNotModified(WebRequest webRequest, String etag, long lastModified, ImageVariant size) {
+        // Only the ETag tells the original and its copy apart, so don't let Last-Modified alone match
+        return webRequest.checkNotModified(etag, size != null ? -1 : lastModified);
+    }
+
+    private static ResponseEntity<?> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    private static ResponseEntity<?> ok(String etag, long lastModified, String contentType,
+                                        CacheControl cacheControl, Object body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(contentType != null
+                        ? MediaType.parseMediaType(contentType)
+                        : MediaType.APPLICATION_OCTET_STREAM)
+                .eTag(etag)
+                .cacheControl(cacheControl);
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response.body(body);
     }
 
     /**
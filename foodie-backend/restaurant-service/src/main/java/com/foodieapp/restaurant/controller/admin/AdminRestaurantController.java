@@ -1,15 +1,19 @@
 package com.foodieapp.restaurant.controller.admin;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foodieapp.restaurant.dto.response.ApiResponse;
 import com.foodieapp.restaurant.dto.response.RestaurantDetailResponse;
-import com.foodieapp.restaurant.model.Restaurant;
 import com.foodieapp.restaurant.service.AuthorizationService;
+import com.foodieapp.restaurant.service.CatalogService;
 import com.foodieapp.restaurant.service.RestaurantService;
-import com.foodieapp.restaurant.service.external.ThirdPartyApiClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -20,11 +24,14 @@ public class AdminRestaurantController {
     private RestaurantService restaurantService;
 
     @Autowired
-    private ThirdPartyApiClient thirdPartyApiClient;
+    private CatalogService catalogService;
 
     @Autowired
     private AuthorizationService authorizationService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @DeleteMapping("/restaurants/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteRestaurant(@PathVariable String id) {
         // Ensure admin privileges using centralized service
@@ -39,18 +46,45 @@ public class AdminRestaurantController {
         // Ensure admin privileges using centralized service
         authorizationService.requireAdminRole();
 
-        Restaurant restaurant = restaurantService.getRestaurantById(id);
-        restaurant.setIsVerified(true);
-        RestaurantDetailResponse response = restaurantService.updateRestaurant(id, restaurant);
+        RestaurantDetailResponse response = restaurantService.verifyRestaurant(id);
         return ResponseEntity.ok(ApiResponse.success("Restaurant verified successfully", response));
     }
 
+    /**
+     * Export all active restaurants as newline-delimited JSON
+     * Rows are written as they are read from the database, so the export is never held in memory.
+     */
+    @GetMapping(value = "/restaurants/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportRestaurants() {
+        // Ensure admin privileges using centralized service
+        authorizationService.requireAdminRole();
+
+        StreamingResponseBody body = out -> {
+            try {
+                restaurantService.exportRestaurants(restaurant -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(restaurant));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header("Content-Disposition", "attachment; filename=\"restaurants.ndjson\"")
+                .body(body);
+    }
+
     @GetMapping("/ingredients")
     public ResponseEntity<ApiResponse<List<String>>> getAllIngredients() {
         // Ensure admin privileges using centralized service
         authorizationService.requireAdminRole();
 
-        List<String> ingredients = thirdPartyApiClient.getIngredients();
+        List<String> ingredients = catalogService.getIngredients();
         return ResponseEntity.ok(ApiResponse.success("All ingredients retrieved successfully", ingredients));
     }
 }
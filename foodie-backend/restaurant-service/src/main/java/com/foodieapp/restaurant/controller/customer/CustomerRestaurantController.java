@@ -1,15 +1,31 @@
 package com.foodieapp.restaurant.controller.customer;
 
+import com.foodieapp.restaurant.dto.request.RatingRequest;
+import com.foodieapp.restaurant.dto.request.RestaurantFilterRequest;
 import com.foodieapp.restaurant.dto.response.ApiResponse;
 import com.foodieapp.restaurant.dto.response.RestaurantDTO;
 import com.foodieapp.restaurant.dto.response.RestaurantDetailResponse;
-import com.foodieapp.restaurant.model.MenuItem;
+import com.foodieapp.restaurant.dto.response.RestaurantFilterResponse;
+import com.foodieapp.restaurant.dto.response.RestaurantPage;
+import com.foodieapp.restaurant.service.DiscoveryFeedMaterializer;
+import com.foodieapp.restaurant.service.DiscoveryFeedMaterializer.FeedType;
+import com.foodieapp.restaurant.model.Rating;
+import com.foodieapp.restaurant.service.MenuSnapshotCache;
+import com.foodieapp.restaurant.service.RatingService;
+import com.foodieapp.restaurant.service.RestaurantCounters;
+import com.foodieapp.restaurant.service.RestaurantFacetIndex;
 import com.foodieapp.restaurant.service.RestaurantService;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,14 +34,36 @@ import java.util.List;
 @RequestMapping("/api/v1/restaurants")
 public class CustomerRestaurantController {
     private static final Logger logger = LoggerFactory.getLogger(CustomerRestaurantController.class);
+    private static final int MAX_FILTER_PAGE_SIZE = 100;
 
     @Autowired
     private RestaurantService restaurantService;
 
+    @Autowired
+    private MenuSnapshotCache menuSnapshotCache;
+
+    @Autowired
+    private DiscoveryFeedMaterializer feedMaterializer;
+
+    @Autowired
+    private RestaurantFacetIndex facetIndex;
+
+    @Autowired
+    private RestaurantCounters restaurantCounters;
+
+    @Autowired
+    private RatingService ratingService;
+
+    /**
+     * Active restaurants, newest first, one page at a time
+     * The next page's cursor is returned in the X-Next-Cursor header, absent on the last page.
+     */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<RestaurantDetailResponse>>> getAllRestaurants() {
-        List<RestaurantDetailResponse> restaurants = restaurantService.getAllRestaurants();
-        return ResponseEntity.ok(ApiResponse.success("Restaurants retrieved successfully", restaurants));
+    public ResponseEntity<ApiResponse<List<RestaurantDetailResponse>>> getAllRestaurants(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        RestaurantPage page = restaurantService.getAllRestaurants(cursor, limit);
+        return pageResponse("Restaurants retrieved successfully", page);
     }
 
     @GetMapping("/{id}")
@@ -35,15 +73,68 @@ public class CustomerRestaurantController {
     }
 
     @GetMapping("/cuisine/{cuisine}")
-    public ResponseEntity<ApiResponse<List<RestaurantDetailResponse>>> getRestaurantsByCuisine(@PathVariable String cuisine) {
-        List<RestaurantDetailResponse> restaurants = restaurantService.getRestaurantsByCuisine(cuisine);
-        return ResponseEntity.ok(ApiResponse.success("Restaurants by cuisine retrieved successfully", restaurants));
+    public ResponseEntity<ApiResponse<List<RestaurantDetailResponse>>> getRestaurantsByCuisine(
+            @PathVariable String cuisine,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        RestaurantPage page = restaurantService.getRestaurantsByCuisine(cuisine, cursor, limit);
+        return pageResponse("Restaurants by cuisine retrieved successfully", page);
     }
 
+    /**
+     * Active restaurants matching every given facet, best rated first, with counts per facet value
+     * e.g. /filter?cuisine=Italian&cuisine=Thai&vegetarian=true&minRating=4.0&openNow=true&verified=true
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<ApiResponse<RestaurantFilterResponse>> filterRestaurants(RestaurantFilterRequest request) {
+        if (!facetIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(ApiResponse.error("Filtering is starting up, please retry shortly", "SERVICE_UNAVAILABLE"));
+        }
+        request.setSize(Math.min(request.getSize(), MAX_FILTER_PAGE_SIZE));
+        return ResponseEntity.ok(ApiResponse.success("Restaurants filtered successfully", facetIndex.filter(request)));
+    }
+
+    /**
+     * Restaurant menu, served from a pre-serialized snapshot
+     * Clients revalidate with If-None-Match and get a 304 while the menu is unchanged.
+     */
     @GetMapping("/{restaurantId}/menu")
-    public ResponseEntity<ApiResponse<List<MenuItem>>> getRestaurantMenu(@PathVariable String restaurantId) {
-        List<MenuItem> menuItems = restaurantService.getMenuItems(restaurantId);
-        return ResponseEntity.ok(ApiResponse.success("Restaurant menu retrieved successfully", menuItems));
+    public ResponseEntity<byte[]> getRestaurantMenu(@PathVariable String restaurantId, WebRequest webRequest) {
+        MenuSnapshotCache.MenuSnapshot snapshot = menuSnapshotCache.get(restaurantId);
+        // Only the detail page loads the menu; other services read /{id}, which isn't counted
+        restaurantCounters.recordView(restaurantId);
+        if (webRequest.checkNotModified(snapshot.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getBody());
+    }
+
+    /**
+     * Rate a restaurant for one of the current user's delivered orders
+     */
+    @PostMapping("/{restaurantId}/ratings")
+    public ResponseEntity<ApiResponse<Rating>> rateRestaurant(
+            @PathVariable String restaurantId,
+            @Valid @RequestBody RatingRequest request) {
+        Rating rating = ratingService.rate(restaurantId, request);
+        return ResponseEntity.ok(ApiResponse.success("Rating submitted successfully", rating));
+    }
+
+    @GetMapping("/{restaurantId}/ratings")
+    public ResponseEntity<ApiResponse<List<Rating>>> getRatings(
+            @PathVariable String restaurantId,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(ApiResponse.success("Ratings retrieved successfully",
+                ratingService.getRatings(restaurantId, limit)));
     }
 
     /**
@@ -54,10 +145,11 @@ public class CustomerRestaurantController {
      * @param longitude Longitude for nearby search (optional)
      * @param radiusInKm Radius in kilometers for nearby search (optional)
      * @param limit Maximum number of results to return (optional)
-     * @return List of restaurant details matching the criteria
+     * @return List of restaurant details matching the criteria; popular, new and
+     *         top-rated come from the materialized feeds once they are built
      */
     @GetMapping("/discover")
-    public ResponseEntity<ApiResponse<List<RestaurantDetailResponse>>> discoverRestaurants(
+    public ResponseEntity<?> discoverRestaurants(
             @RequestParam String type,
             @RequestParam(required = false) Double latitude,
             @RequestParam(required = false) Double longitude,
@@ -67,6 +159,17 @@ public class CustomerRestaurantController {
         List<RestaurantDetailResponse> restaurants;
         String successMessage;
 
+        FeedType feedType = switch (type.toLowerCase()) {
+            case "popular" -> FeedType.POPULAR;
+            case "new" -> FeedType.NEW;
+            case "top-rated" -> FeedType.TOP_RATED;
+            default -> null;
+        };
+        DiscoveryFeedMaterializer.Feed feed = feedType != null ? feedMaterializer.feed(feedType) : null;
+        if (feed != null) {
+            return feedResponse(feed.body(limit));
+        }
+
         switch (type.toLowerCase()) {
             case "popular":
                 restaurants = restaurantService.getPopularRestaurants(limit);
@@ -104,14 +207,14 @@ public class CustomerRestaurantController {
     // Backward compatibility endpoints - explicitly call the consolidated endpoint
 
     @GetMapping("/popular")
-    public ResponseEntity<ApiResponse<List<RestaurantDetailResponse>>> getPopularRestaurants(
+    public ResponseEntity<?> getPopularRestaurants(
             @RequestParam(defaultValue = "10") int limit) {
         // Delegate to discover endpoint with type=popular
         return discoverRestaurants("popular", null, null, 10, limit);
     }
 
     @GetMapping("/nearby")
-    public ResponseEntity<ApiResponse<List<RestaurantDetailResponse>>> getNearbyRestaurants(
+    public ResponseEntity<?> getNearbyRestaurants(
             @RequestParam double latitude,
             @RequestParam double longitude,
             @RequestParam(defaultValue = "10") double radiusInKm,
@@ -121,14 +224,14 @@ public class CustomerRestaurantController {
     }
 
     @GetMapping("/new")
-    public ResponseEntity<ApiResponse<List<RestaurantDetailResponse>>> getNewRestaurants(
+    public ResponseEntity<?> getNewRestaurants(
             @RequestParam(defaultValue = "10") int limit) {
         // Delegate to discover endpoint with type=new
         return discoverRestaurants("new", null, null, 10, limit);
     }
 
     @GetMapping("/top-rated")
-    public ResponseEntity<ApiResponse<List<RestaurantDetailResponse>>> getTopRatedRestaurants(
+    public ResponseEntity<?> getTopRatedRestaurants(
             @RequestParam(defaultValue = "10") int limit) {
         // Delegate to discover endpoint with type=top-rated
         return discoverRestaurants("top-rated", null, null, 10, limit);
@@ -136,7 +239,12 @@ public class CustomerRestaurantController {
 
     // Featured restaurants endpoint
     @GetMapping("/featured")
-    public ResponseEntity<ApiResponse<List<RestaurantDTO>>> getFeaturedRestaurants() {
+    public ResponseEntity<?> getFeaturedRestaurants() {
+        DiscoveryFeedMaterializer.Feed feed = feedMaterializer.feed(FeedType.FEATURED);
+        if (feed != null) {
+            return feedResponse(feed.body());
+        }
+
         try {
             List<RestaurantDTO> restaurants = restaurantService.getFeaturedRestaurants();
             return ResponseEntity.ok(ApiResponse.success("Featured restaurants retrieved successfully",
@@ -147,4 +255,17 @@ public class CustomerRestaurantController {
                 ApiResponse.error("Failed to retrieve featured restaurants", "INTERNAL_SERVER_ERROR"));
         }
     }
+
+    private static ResponseEntity<byte[]> feedResponse(byte[] body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static ResponseEntity<ApiResponse<List<RestaurantDetailResponse>>> pageResponse(
+            String message, RestaurantPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasMore()) {
+            response.header(RestaurantPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(ApiResponse.success(message, page.getRestaurants()));
+    }
 }
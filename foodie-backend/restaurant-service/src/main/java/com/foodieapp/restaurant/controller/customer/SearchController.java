@@ -0,0 +1,40 @@
+package com.foodieapp.restaurant.controller.customer;
+
+import com.foodieapp.restaurant.dto.response.ApiResponse;
+import com.foodieapp.restaurant.dto.response.SearchResponse;
+import com.foodieapp.restaurant.service.RestaurantSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/search")
+public class SearchController {
+    private static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private RestaurantSearchIndex searchIndex;
+
+    /**
+     * Restaurants and menu items matching q, meant to be called as the user types.
+     * Words may contain a typo, and the last word also matches as a prefix unless q ends with a space.
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<SearchResponse>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (!searchIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(ApiResponse.error("Search is starting up, please retry shortly", "SERVICE_UNAVAILABLE"));
+        }
+
+        SearchResponse results = searchIndex.search(q, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        return ResponseEntity.ok(ApiResponse.success("Search results retrieved successfully", results));
+    }
+}
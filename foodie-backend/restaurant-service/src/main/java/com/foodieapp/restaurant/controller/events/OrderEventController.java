@@ -0,0 +1,55 @@
+package com.foodieapp.restaurant.controller.events;
+
+import com.foodieapp.restaurant.client.OrderServiceClient;
+import com.foodieapp.restaurant.dto.request.OrderCompletedEvent;
+import com.foodieapp.restaurant.dto.response.ApiResponse;
+import com.foodieapp.restaurant.exception.RestaurantNotFoundException;
+import com.foodieapp.restaurant.repository.RestaurantRepository;
+import com.foodieapp.restaurant.service.RestaurantCounters;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Order lifecycle events posted by the order service.
+ * Only callers with the service token (or admins) get here, see SecurityConfig.
+ */
+@RestController
+@RequestMapping("/api/v1/events")
+public class OrderEventController {
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantCounters restaurantCounters;
+
+    @Autowired
+    private OrderServiceClient orderServiceClient;
+
+    /**
+     * Count a completed order towards the restaurant's orderCount
+     * The order is confirmed with the order service first, and counted once
+     * per order, so the order service can retry freely.
+     */
+    @PostMapping("/order-completed")
+    public ResponseEntity<ApiResponse<Void>> orderCompleted(@Valid @RequestBody OrderCompletedEvent event) {
+        if (!restaurantRepository.existsById(event.getRestaurantId())) {
+            throw new RestaurantNotFoundException(event.getRestaurantId());
+        }
+
+        // An unreachable order service fails the request, so the event is retried rather than dropped
+        Map<String, Object> order = orderServiceClient.getOrderSummary(event.getOrderId());
+        if (order == null
+                || !event.getRestaurantId().equals(order.get("restaurantId"))
+                || !"COMPLETED".equals(order.get("status"))) {
+            throw new IllegalArgumentException("Order " + event.getOrderId() + " is not a completed order of this restaurant");
+        }
+
+        restaurantCounters.recordCompletedOrder(event.getRestaurantId(), event.getOrderId());
+        return ResponseEntity.ok(ApiResponse.success("Order completion recorded", null));
+    }
+}
@@ -5,6 +5,7 @@ import com.foodieapp.restaurant.model.MenuItem;
 import com.foodieapp.restaurant.dto.request.RestaurantRequest;
 import com.foodieapp.restaurant.dto.response.ApiResponse;
 import com.foodieapp.restaurant.dto.response.RestaurantDetailResponse;
+import com.foodieapp.restaurant.dto.response.RestaurantPage;
 import com.foodieapp.restaurant.service.AuthorizationService;
 import com.foodieapp.restaurant.service.RestaurantOwnerVerificationService;
 import com.foodieapp.restaurant.service.RestaurantService;
@@ -61,7 +62,9 @@ public class OwnerRestaurantController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<RestaurantDetailResponse>>> getOwnerRestaurants() {
+    public ResponseEntity<ApiResponse<List<RestaurantDetailResponse>>> getOwnerRestaurants(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
         // Get user ID from centralized AuthorizationService
         String ownerId = authorizationService.getCurrentUserId();
         if (ownerId == null || ownerId.isEmpty()) {
@@ -69,8 +72,12 @@ public class OwnerRestaurantController {
                     ApiResponse.error("User ID could not be determined", "AUTHENTICATION_ERROR"));
         }
 
-        List<RestaurantDetailResponse> restaurants = restaurantService.getRestaurantsByOwner(ownerId);
-        return ResponseEntity.ok(ApiResponse.success("Owner restaurants retrieved successfully", restaurants));
+        RestaurantPage page = restaurantService.getRestaurantsByOwner(ownerId, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasMore()) {
+            response.header(RestaurantPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(ApiResponse.success("Owner restaurants retrieved successfully", page.getRestaurants()));
     }
 
     @PutMapping("/{id}")
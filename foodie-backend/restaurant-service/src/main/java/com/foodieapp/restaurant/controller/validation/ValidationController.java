@@ -8,16 +8,28 @@ import com.foodieapp.restaurant.service.RestaurantService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/validate")
 public class ValidationController {
     private static final Logger logger = LoggerFactory.getLogger(ValidationController.class);
+    private static final int MAX_BULK_ITEMS = 100;
 
     @Autowired
     private RestaurantService restaurantService;
@@ -119,7 +131,7 @@ public class ValidationController {
 
             // Check if the item is available
             response.put("valid", true);
-            response.put("available", menuItem.isAvailable());
+            response.put("available", Boolean.TRUE.equals(menuItem.getIsAvailable()));
             response.put("name", menuItem.getName());
             response.put("price", menuItem.getPrice());
             response.put("description", menuItem.getDescription());
@@ -132,4 +144,70 @@ public class ValidationController {
             return ResponseEntity.ok(ApiResponse.error("Error validating menu item", "VALIDATION_ERROR", response));
         }
     }
+
+    /**
+     * Validate several menu items of one restaurant in a single call
+     * Returns availability and current prices for every requested item. The ETag
+     * covers exactly those fields, so a caller holding an unchanged result gets a
+     * 304 for If-None-Match.
+     */
+    @GetMapping("/restaurant/{restaurantId}/menu")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> validateMenuItems(
+            @PathVariable String restaurantId,
+            @RequestParam List<String> itemIds,
+            WebRequest webRequest) {
+
+        Set<String> requestedIds = new LinkedHashSet<>(itemIds);
+        if (requestedIds.isEmpty() || requestedIds.size() > MAX_BULK_ITEMS) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(
+                    "Between 1 and " + MAX_BULK_ITEMS + " item ids are required", "VALIDATION_ERROR"));
+        }
+
+        Map<String, MenuItem> found;
+        try {
+            found = menuItemRepository.findPricingByRestaurantIdAndIdIn(restaurantId, requestedIds).stream()
+                    .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        } catch (Exception e) {
+            logger.error("Error validating menu items for restaurant {}: {}", restaurantId, e.getMessage());
+            return ResponseEntity.ok(ApiResponse.error("Error validating menu items", "VALIDATION_ERROR"));
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>(requestedIds.size());
+        StringBuilder fingerprint = new StringBuilder(restaurantId);
+        boolean allAvailable = true;
+        for (String itemId : requestedIds) {
+            MenuItem menuItem = found.get(itemId);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("itemId", itemId);
+            fingerprint.append('|').append(itemId);
+            if (menuItem == null) {
+                item.put("valid", false);
+                allAvailable = false;
+            } else {
+                // Documents without the field are not available, rather than a 500 for the whole order
+                boolean available = Boolean.TRUE.equals(menuItem.getIsAvailable());
+                item.put("valid", true);
+                item.put("available", available);
+                item.put("name", menuItem.getName());
+                item.put("price", menuItem.getPrice());
+                allAvailable &= available;
+                fingerprint.append(':').append(menuItem.getPrice())
+                        .append(':').append(available)
+                        .append(':').append(menuItem.getName());
+            }
+            items.add(item);
+        }
+
+        String etag = "\"" + DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("restaurantId", restaurantId);
+        response.put("allAvailable", allAvailable);
+        response.put("items", items);
+        return ResponseEntity.ok().eTag(etag)
+                .body(ApiResponse.success("Menu items validation completed", response));
+    }
 }
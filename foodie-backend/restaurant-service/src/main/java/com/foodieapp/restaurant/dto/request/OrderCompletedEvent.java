@@ -0,0 +1,21 @@
+package com.foodieapp.restaurant.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Sent by the order service when an order reaches COMPLETED
+ */
+public class OrderCompletedEvent {
+
+    @NotBlank(message = "Order ID is required")
+    private String orderId;
+
+    @NotBlank(message = "Restaurant ID is required")
+    private String restaurantId;
+
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+
+    public String getRestaurantId() { return restaurantId; }
+    public void setRestaurantId(String restaurantId) { this.restaurantId = restaurantId; }
+}
@@ -0,0 +1,30 @@
+package com.foodieapp.restaurant.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class RatingRequest {
+
+    @NotBlank(message = "Order ID is required")
+    private String orderId;
+
+    @NotNull(message = "Score is required")
+    @Min(value = 1, message = "Score must be between 1 and 5")
+    @Max(value = 5, message = "Score must be between 1 and 5")
+    private Integer score;
+
+    @Size(max = 1000, message = "Comment must be at most 1000 characters")
+    private String comment;
+
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+
+    public Integer getScore() { return score; }
+    public void setScore(Integer score) { this.score = score; }
+
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+}
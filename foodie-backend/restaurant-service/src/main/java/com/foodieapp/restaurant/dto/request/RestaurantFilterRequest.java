@@ -0,0 +1,37 @@
+package com.foodieapp.restaurant.dto.request;
+
+import java.util.List;
+
+/**
+ * Facet selection for restaurant filtering; unset facets don't filter
+ */
+public class RestaurantFilterRequest {
+    private List<String> cuisine;
+    private Boolean vegetarian;
+    private Double minRating;
+    private Boolean openNow;
+    private Boolean verified;
+    private int page = 0;
+    private int size = 20;
+
+    public List<String> getCuisine() { return cuisine; }
+    public void setCuisine(List<String> cuisine) { this.cuisine = cuisine; }
+
+    public Boolean getVegetarian() { return vegetarian; }
+    public void setVegetarian(Boolean vegetarian) { this.vegetarian = vegetarian; }
+
+    public Double getMinRating() { return minRating; }
+    public void setMinRating(Double minRating) { this.minRating = minRating; }
+
+    public Boolean getOpenNow() { return openNow; }
+    public void setOpenNow(Boolean openNow) { this.openNow = openNow; }
+
+    public Boolean getVerified() { return verified; }
+    public void setVerified(Boolean verified) { this.verified = verified; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+}
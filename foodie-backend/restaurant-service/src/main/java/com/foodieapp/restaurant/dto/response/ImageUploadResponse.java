@@ -0,0 +1,25 @@
+package com.foodieapp.restaurant.dto.response;
+
+import java.util.Map;
+
+/**
+ * An uploaded image and the URLs of its resized copies, by size ("thumbnail", "card", "hero").
+ * The copies are generated in the background; until then their URLs serve the original.
+ */
+public class ImageUploadResponse {
+    private String id;
+    private String url;
+    private Map<String, String> variants;
+
+    public ImageUploadResponse(String id, String url, Map<String, String> variants) {
+        this.id = id;
+        this.url = url;
+        this.variants = variants;
+    }
+
+    public String getId() { return id; }
+
+    public String getUrl() { return url; }
+
+    public Map<String, String> getVariants() { return variants; }
+}
@@ -0,0 +1,38 @@
+package com.foodieapp.restaurant.dto.response;
+
+import java.math.BigDecimal;
+
+public class MenuItemSearchHit {
+    private String id;
+    private String restaurantId;
+    private String restaurantName;
+    private String name;
+    private String category;
+    private BigDecimal price;
+    private Boolean isVegetarian;
+    private String imageUrl;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getRestaurantId() { return restaurantId; }
+    public void setRestaurantId(String restaurantId) { this.restaurantId = restaurantId; }
+
+    public String getRestaurantName() { return restaurantName; }
+    public void setRestaurantName(String restaurantName) { this.restaurantName = restaurantName; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public Boolean getIsVegetarian() { return isVegetarian; }
+    public void setIsVegetarian(Boolean vegetarian) { isVegetarian = vegetarian; }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+}
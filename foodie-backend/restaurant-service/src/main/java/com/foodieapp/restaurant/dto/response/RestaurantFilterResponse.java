@@ -0,0 +1,37 @@
+package com.foodieapp.restaurant.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of filtered restaurants, best rated first, with facet counts.
+ * Each facet's counts apply every other selected facet, so they show how many
+ * restaurants selecting that value would leave.
+ */
+public class RestaurantFilterResponse {
+    private long total;
+    private int page;
+    private int size;
+    private Map<String, Map<String, Integer>> facets;
+    private List<RestaurantDetailResponse> restaurants;
+
+    public RestaurantFilterResponse(long total, int page, int size,
+                                    Map<String, Map<String, Integer>> facets,
+                                    List<RestaurantDetailResponse> restaurants) {
+        this.total = total;
+        this.page = page;
+        this.size = size;
+        this.facets = facets;
+        this.restaurants = restaurants;
+    }
+
+    public long getTotal() { return total; }
+
+    public int getPage() { return page; }
+
+    public int getSize() { return size; }
+
+    public Map<String, Map<String, Integer>> getFacets() { return facets; }
+
+    public List<RestaurantDetailResponse> getRestaurants() { return restaurants; }
+}
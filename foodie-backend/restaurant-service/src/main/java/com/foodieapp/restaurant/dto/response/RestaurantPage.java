@@ -0,0 +1,26 @@
+package com.foodieapp.restaurant.dto.response;
+
+import java.util.List;
+
+/**
+ * One page of a restaurant listing. The next cursor is null on the last page;
+ * controllers return it in the {@value #NEXT_CURSOR_HEADER} header so the
+ * response body keeps its list shape.
+ */
+public class RestaurantPage {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<RestaurantDetailResponse> restaurants;
+    private final String nextCursor;
+
+    public RestaurantPage(List<RestaurantDetailResponse> restaurants, String nextCursor) {
+        this.restaurants = restaurants;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<RestaurantDetailResponse> getRestaurants() { return restaurants; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean hasMore() { return nextCursor != null; }
+}
@@ -0,0 +1,24 @@
+package com.foodieapp.restaurant.dto.response;
+
+import java.util.List;
+
+/**
+ * Restaurants and dishes matching a search, each list best first
+ */
+public class SearchResponse {
+    private String query;
+    private List<RestaurantSearchHit> restaurants;
+    private List<MenuItemSearchHit> menuItems;
+
+    public SearchResponse(String query, List<RestaurantSearchHit> restaurants, List<MenuItemSearchHit> menuItems) {
+        this.query = query;
+        this.restaurants = restaurants;
+        this.menuItems = menuItems;
+    }
+
+    public String getQuery() { return query; }
+
+    public List<RestaurantSearchHit> getRestaurants() { return restaurants; }
+
+    public List<MenuItemSearchHit> getMenuItems() { return menuItems; }
+}
@@ -0,0 +1,36 @@
+package com.foodieapp.restaurant.model;
+
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.annotation.Id;
+import java.time.LocalDateTime;
+
+/**
+ * A completed order already counted towards its restaurant's orderCount.
+ * Keyed by the order ID, so each order is counted once across all instances.
+ */
+@Document(collection = "counted_orders")
+public class CountedOrder {
+    @Id
+    private String orderId;
+    private String restaurantId;
+    private LocalDateTime countedAt;
+
+    public CountedOrder() {
+        this.countedAt = LocalDateTime.now();
+    }
+
+    public CountedOrder(String orderId, String restaurantId) {
+        this();
+        this.orderId = orderId;
+        this.restaurantId = restaurantId;
+    }
+
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+
+    public String getRestaurantId() { return restaurantId; }
+    public void setRestaurantId(String restaurantId) { this.restaurantId = restaurantId; }
+
+    public LocalDateTime getCountedAt() { return countedAt; }
+    public void setCountedAt(LocalDateTime countedAt) { this.countedAt = countedAt; }
+}
@@ -3,6 +3,7 @@ package com.foodieapp.restaurant.model;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Document(collection = "images")
 public class ImageData {
@@ -10,7 +11,11 @@ public class ImageData {
     private String id;
     private String name;
     private String type;
-    private byte[] data;
+    private byte[] data; // Inline bytes of images stored before GridFS, moved out by ImageStorageMigration
+    private String fileId; // GridFS file holding the bytes
+    private Long size;
+    private String contentHash; // SHA-256 of the bytes, hex
+    private Map<String, Variant> variants; // By ImageVariant key; empty if the image could not be resized
     private String ownerId;
     private String restaurantId;
     private String menuItemId;
@@ -34,6 +39,22 @@ public class ImageData {
     public byte[] getData() { return data; }
     public void setData(byte[] data) { this.data = data; }
 
+    public String getFileId() { return fileId; }
+    public void setFileId(String fileId) { this.fileId = fileId; }
+
+    public Long getSize() { return size; }
+    public void setSize(Long size) { this.size = size; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public Map<String, Variant> getVariants() { return variants; }
+    public void setVariants(Map<String, Variant> variants) { this.variants = variants; }
+
+    public Variant getVariant(ImageVariant variant) {
+        return variants != null ? variants.get(variant.key()) : null;
+    }
+
     public String getOwnerId() { return ownerId; }
     public void setOwnerId(String ownerId) { this.ownerId = ownerId; }
 
@@ -48,4 +69,34 @@ public class ImageData {
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
-}
\ No newline at end of file
+
+    /**
+     * A resized copy of the image, stored as its own GridFS file
+     */
+    public static class Variant {
+        private String fileId;
+        private String contentType;
+        private long size;
+        private String contentHash;
+        private int width;
+        private int height;
+
+        public String getFileId() { return fileId; }
+        public void setFileId(String fileId) { this.fileId = fileId; }
+
+        public String getContentType() { return contentType; }
+        public void setContentType(String contentType) { this.contentType = contentType; }
+
+        public long getSize() { return size; }
+        public void setSize(long size) { this.size = size; }
+
+        public String getContentHash() { return contentHash; }
+        public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+        public int getWidth() { return width; }
+        public void setWidth(int width) { this.width = width; }
+
+        public int getHeight() { return height; }
+        public void setHeight(int height) { this.height = height; }
+    }
+}
@@ -0,0 +1,42 @@
+package com.foodieapp.restaurant.model;
+
+import java.util.Locale;
+
+/**
+ * Resized copies generated for every uploaded image, by the longest side in pixels.
+ * Sizes are about twice the largest display size so they stay sharp on high-density screens.
+ */
+public enum ImageVariant {
+    THUMBNAIL(200),
+    CARD(640),
+    HERO(1600);
+
+    private final int maxSide;
+
+    ImageVariant(int maxSide) {
+        this.maxSide = maxSide;
+    }
+
+    public int getMaxSide() {
+        return maxSide;
+    }
+
+    /**
+     * Name used in URLs and in the image document, e.g. "thumbnail"
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the key names no variant
+     */
+    public static ImageVariant fromKey(String key) {
+        for (ImageVariant variant : values()) {
+            if (variant.key().equalsIgnoreCase(key)) {
+                return variant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown image size: " + key);
+    }
+}
@@ -0,0 +1,26 @@
+package com.foodieapp.restaurant.model;
+
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.annotation.Id;
+import java.time.LocalDateTime;
+
+@Document(collection = "ingredients")
+public class Ingredient {
+    @Id
+    private String id;
+    private String name;
+    private LocalDateTime updatedAt;
+
+    public Ingredient() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,46 @@
+package com.foodieapp.restaurant.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A customer's rating of a restaurant for one order; unique per (orderId, userId)
+ */
+@Document(collection = "ratings")
+public class Rating {
+    @Id
+    private String id;
+    private String orderId;
+    private String userId;
+    private String restaurantId;
+    private int score; // 1-5
+    private String comment;
+    private LocalDateTime createdAt;
+
+    public Rating() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getRestaurantId() { return restaurantId; }
+    public void setRestaurantId(String restaurantId) { this.restaurantId = restaurantId; }
+
+    public int getScore() { return score; }
+    public void setScore(int score) { this.score = score; }
+
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
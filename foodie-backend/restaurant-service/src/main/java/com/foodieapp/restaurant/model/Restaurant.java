@@ -26,9 +26,13 @@ public class Restaurant {
     private double latitude;
     private double longitude;
     private double[] location; // [longitude, latitude] for MongoDB geospatial queries
-    private double avgRating;
+    private double avgRating; // ratingSum / ratingCount
+    private long ratingSum; // Running totals, only ever changed with $inc
+    private long ratingCount;
+    private double bayesianRating; // avgRating pulled towards a prior; ranks restaurants with few ratings
     private int orderCount;
     private int viewCount;
+    private Long menuVersion; // Incremented on every menu item change
 
     public Restaurant() {
         this.createdAt = LocalDateTime.now();
@@ -83,4 +87,39 @@ public class Restaurant {
 
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public double getAvgRating() { return avgRating; }
+
+    public long getRatingSum() { return ratingSum; }
+
+    public long getRatingCount() { return ratingCount; }
+
+    public double getBayesianRating() { return bayesianRating; }
+
+    public Long getMenuVersion() { return menuVersion; }
+    public void setMenuVersion(Long menuVersion) { this.menuVersion = menuVersion; }
+
+    public double getLatitude() { return latitude; }
+
+    public double getLongitude() { return longitude; }
+
+    public double[] getLocation() { return location; }
+    public void setLocation(double[] location) { this.location = location; }
+
+    /**
+     * Set the coordinates together with the [longitude, latitude] location the
+     * 2dsphere index and $nearSphere queries use
+     */
+    public void setCoordinates(double latitude, double longitude) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.location = new double[] {longitude, latitude};
+    }
+
+    /**
+     * Whether coordinates were ever set; (0, 0) is treated as unset
+     */
+    public boolean hasCoordinates() {
+        return latitude != 0 || longitude != 0;
+    }
 }
@@ -0,0 +1,26 @@
+package com.foodieapp.restaurant.repository;
+
+import com.foodieapp.restaurant.model.Restaurant;
+import com.foodieapp.restaurant.util.PageCursor;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Restaurant listings that load only the fields a listing shows
+ */
+public interface CustomRestaurantRepository {
+
+    /**
+     * Restaurants matching the filter, newest first, starting after the cursor
+     * @param after Last restaurant of the previous page, or null for the first page
+     */
+    List<Restaurant> findPage(Criteria filter, PageCursor after, int limit);
+
+    /**
+     * All restaurants matching the filter, read through a database cursor.
+     * The stream must be closed.
+     */
+    Stream<Restaurant> stream(Criteria filter);
+}
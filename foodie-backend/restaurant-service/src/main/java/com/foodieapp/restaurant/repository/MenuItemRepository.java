@@ -2,7 +2,9 @@ package com.foodieapp.restaurant.repository;
 
 import com.foodieapp.restaurant.model.MenuItem;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +13,11 @@ public interface MenuItemRepository extends MongoRepository<MenuItem, String> {
     List<MenuItem> findByRestaurantIdAndCategory(String restaurantId, String category);
     List<MenuItem> findByRestaurantIdAndIsAvailableTrue(String restaurantId);
     MenuItem findByIdAndRestaurantId(String id, String restaurantId);
+
+    /**
+     * Name, price and availability of the given items of one restaurant, in a single query
+     */
+    @Query(value = "{ 'restaurantId': ?0, '_id': { $in: ?1 } }",
+            fields = "{ 'name': 1, 'price': 1, 'isAvailable': 1, 'restaurantId': 1 }")
+    List<MenuItem> findPricingByRestaurantIdAndIdIn(String restaurantId, Collection<String> ids);
 }
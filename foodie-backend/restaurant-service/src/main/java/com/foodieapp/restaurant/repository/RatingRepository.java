@@ -0,0 +1,13 @@
+package com.foodieapp.restaurant.repository;
+
+import com.foodieapp.restaurant.model.Rating;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RatingRepository extends MongoRepository<Rating, String> {
+    List<Rating> findByRestaurantIdOrderByCreatedAtDesc(String restaurantId, Pageable pageable);
+}
@@ -9,10 +9,6 @@ import java.util.List;
 
 @Repository
 public interface RestaurantRepository extends MongoRepository<Restaurant, String> {
-    List<Restaurant> findByIsActiveTrue();
-    List<Restaurant> findByOwnerId(String ownerId);
-    List<Restaurant> findByCuisine(String cuisine);
-    List<Restaurant> findByNameContainingIgnoreCase(String name);
     List<Restaurant> findByIsVerifiedFalse();
 
     // Add more specific queries to reduce MongoTemplate usage
@@ -0,0 +1,62 @@
+package com.foodieapp.restaurant.repository.impl;
+
+import com.foodieapp.restaurant.model.Restaurant;
+import com.foodieapp.restaurant.repository.CustomRestaurantRepository;
+import com.foodieapp.restaurant.util.PageCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public class CustomRestaurantRepositoryImpl implements CustomRestaurantRepository {
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    // What RestaurantDetailResponse is built from, plus the sort key
+    private static final String[] LISTING_FIELDS = {
+            "name", "description", "cuisine", "rating", "imageUrl", "address",
+            "phoneNumber", "email", "openingHours", "closingHours", "createdAt"
+    };
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "_id");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Restaurant> findPage(Criteria filter, PageCursor after, int limit) {
+        Criteria criteria = after == null ? filter : new Criteria().andOperator(filter, seek(after));
+        return mongoTemplate.find(listingQuery(criteria).limit(limit), Restaurant.class);
+    }
+
+    /**
+     * Everything after the cursor in NEWEST_FIRST order. Documents without a
+     * createdAt sort after all dated ones, and $lt never matches them, so they
+     * are reached through the is(null) branch and then paged by _id alone.
+     */
+    private static Criteria seek(PageCursor after) {
+        if (after.getCreatedAt() == null) {
+            return Criteria.where("createdAt").is(null).and("_id").lt(after.getId());
+        }
+        return new Criteria().orOperator(
+                Criteria.where("createdAt").lt(after.getCreatedAt()),
+                Criteria.where("createdAt").is(after.getCreatedAt()).and("_id").lt(after.getId()),
+                Criteria.where("createdAt").is(null));
+    }
+
+    @Override
+    public Stream<Restaurant> stream(Criteria filter) {
+        return mongoTemplate.stream(listingQuery(filter).cursorBatchSize(STREAM_BATCH_SIZE), Restaurant.class);
+    }
+
+    private static Query listingQuery(Criteria criteria) {
+        Query query = new Query(criteria).with(NEWEST_FIRST);
+        query.fields().include(LISTING_FIELDS);
+        return query;
+    }
+}
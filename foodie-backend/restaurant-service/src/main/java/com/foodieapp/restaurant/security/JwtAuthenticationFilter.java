@@ -25,19 +25,34 @@ import java.util.Map;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    public static final String SERVICE_PRINCIPAL = "service";
+
     private final JwtService jwtService;
     private final UserServiceClient userServiceClient;
+    private final ServiceTokenVerifier serviceTokenVerifier;
 
     @Autowired
-    public JwtAuthenticationFilter(JwtService jwtService, UserServiceClient userServiceClient) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserServiceClient userServiceClient,
+                                   ServiceTokenVerifier serviceTokenVerifier) {
         this.jwtService = jwtService;
         this.userServiceClient = userServiceClient;
+        this.serviceTokenVerifier = serviceTokenVerifier;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
+            // Calls from another backend service carry the shared service token instead of a user's JWT
+            if (serviceTokenVerifier.matches(request.getHeader(ServiceTokenVerifier.HEADER))) {
+                UsernamePasswordAuthenticationToken serviceToken = new UsernamePasswordAuthenticationToken(
+                        SERVICE_PRINCIPAL, null, List.of(new SimpleGrantedAuthority("ROLE_SERVICE")));
+                serviceToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(serviceToken);
+                filterChain.doFilter(request, response);
+                return;
+            }
+
             // Extract token from Authorization header
             final String authHeader = request.getHeader("Authorization");
 
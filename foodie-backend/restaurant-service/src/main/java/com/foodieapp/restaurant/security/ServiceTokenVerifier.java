@@ -0,0 +1,35 @@
+package com.foodieapp.restaurant.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Shared secret that the backend services present to each other in the
+ * X-Service-Token header for calls that are not made on behalf of a user.
+ * Without a configured token no caller is accepted as a service.
+ */
+@Component
+public class ServiceTokenVerifier {
+    public static final String HEADER = "X-Service-Token";
+
+    private final byte[] token;
+
+    public ServiceTokenVerifier(@Value("${app.service-token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public boolean matches(String presented) {
+        return token.length > 0 && presented != null
+                && MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The token to send with outgoing service calls
+     */
+    public String token() {
+        return new String(token, StandardCharsets.UTF_8);
+    }
+}
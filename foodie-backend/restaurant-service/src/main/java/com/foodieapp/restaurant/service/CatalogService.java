@@ -0,0 +1,219 @@
+package com.foodieapp.restaurant.service;
+
+import com.foodieapp.restaurant.model.Cuisine;
+import com.foodieapp.restaurant.model.Ingredient;
+import com.foodieapp.restaurant.service.external.ThirdPartyApiClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cuisine and ingredient catalog, persisted in Mongo and served from memory.
+ *
+ * Requests only read the current snapshot; the third-party API is called from
+ * a single background thread, on startup and then every refresh-ms plus a
+ * random jitter so instances don't hit it in lockstep. Fetched entries are
+ * upserted by name and the snapshot is reloaded from Mongo. When the API fails
+ * the last good snapshot stays in place and the refresh is retried after
+ * retry-ms; the built-in defaults are only served until anything was loaded.
+ */
+@Component
+public class CatalogService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogService.class);
+
+    private final ThirdPartyApiClient thirdPartyApiClient;
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final long refreshMs;
+    private final long jitterMs;
+    private final long retryMs;
+    // Its own thread: the upstream API may be slow, and the shared @Scheduled thread runs the counter flushes
+    private final ScheduledExecutorService refresher;
+    private final Counter refreshFailures;
+
+    private volatile Snapshot snapshot = new Snapshot(
+            ThirdPartyApiClient.getDefaultCuisines(), ThirdPartyApiClient.getDefaultIngredients(), null);
+
+    public CatalogService(
+            ThirdPartyApiClient thirdPartyApiClient,
+            MongoTemplate mongoTemplate,
+            @Value("${app.catalog.enabled:true}") boolean enabled,
+            @Value("${app.catalog.refresh-ms:21600000}") long refreshMs,
+            @Value("${app.catalog.jitter-ms:600000}") long jitterMs,
+            @Value("${app.catalog.retry-ms:300000}") long retryMs,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.thirdPartyApiClient = thirdPartyApiClient;
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.refreshMs = refreshMs;
+        this.jitterMs = Math.max(0, jitterMs);
+        this.retryMs = retryMs;
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("catalog.age", this, catalog -> catalog.ageSeconds())
+                    .description("Seconds since the cuisine and ingredient catalog was last refreshed")
+                    .baseUnit("seconds")
+                    .register(registry);
+            this.refreshFailures = Counter.builder("catalog.refresh.failures")
+                    .description("Catalog refreshes that kept the previous snapshot")
+                    .register(registry);
+        } else {
+            this.refreshFailures = null;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefreshing() {
+        refresher.execute(() -> {
+            try {
+                reload(null);
+            } catch (Exception e) {
+                logger.warn("Could not load the stored catalog, serving defaults: {}", e.getMessage());
+            }
+            if (enabled) {
+                refreshAndReschedule();
+            }
+        });
+    }
+
+    public List<Cuisine> getCuisines() {
+        return snapshot.cuisines;
+    }
+
+    public List<String> getIngredients() {
+        return snapshot.ingredients;
+    }
+
+    public double ageSeconds() {
+        Instant refreshedAt = snapshot.refreshedAt;
+        return refreshedAt != null ? Duration.between(refreshedAt, Instant.now()).toSeconds() : Double.NaN;
+    }
+
+    /**
+     * Fetch the catalog from the third-party API, store it and swap the snapshot
+     * @return false if the previous snapshot was kept
+     */
+    public boolean refresh() {
+        List<Cuisine> cuisines;
+        List<String> ingredients;
+        try {
+            cuisines = thirdPartyApiClient.getCuisineTypes();
+            ingredients = thirdPartyApiClient.getIngredients();
+        } catch (Exception e) {
+            return failed("catalog API unavailable", e);
+        }
+
+        try {
+            storeCuisines(cuisines);
+            storeIngredients(ingredients);
+            reload(Instant.now());
+            return true;
+        } catch (Exception e) {
+            return failed("catalog could not be stored", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    private void refreshAndReschedule() {
+        long delay = refresh() ? refreshMs : retryMs;
+        if (jitterMs > 0) {
+            delay += ThreadLocalRandom.current().nextLong(jitterMs + 1);
+        }
+        if (!refresher.isShutdown()) {
+            refresher.schedule(this::refreshAndReschedule, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void storeCuisines(List<Cuisine> cuisines) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Cuisine.class);
+        for (Cuisine cuisine : cuisines) {
+            // Fields edited on our side, like imageUrl or isActive, are left alone
+            bulk.upsert(new Query(Criteria.where("name").is(cuisine.getName())), new Update()
+                    .setOnInsert("description", cuisine.getDescription())
+                    .setOnInsert("isActive", true)
+                    .setOnInsert("createdAt", LocalDateTime.now()));
+        }
+        bulk.execute();
+    }
+
+    private void storeIngredients(List<String> ingredients) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Ingredient.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (String name : ingredients) {
+            bulk.upsert(new Query(Criteria.where("name").is(name)), new Update().set("updatedAt", now));
+        }
+        bulk.execute();
+    }
+
+    private void reload(Instant refreshedAt) {
+        List<Cuisine> cuisines = mongoTemplate.find(
+                new Query(Criteria.where("isActive").is(true)).with(Sort.by("name")), Cuisine.class);
+        List<String> ingredients = mongoTemplate.find(
+                        new Query().with(Sort.by("name")), Ingredient.class).stream()
+                .map(Ingredient::getName)
+                .toList();
+        if (cuisines.isEmpty() && ingredients.isEmpty()) {
+            return;
+        }
+
+        Snapshot current = snapshot;
+        snapshot = new Snapshot(
+                cuisines.isEmpty() ? current.cuisines : cuisines,
+                ingredients.isEmpty() ? current.ingredients : ingredients,
+                refreshedAt != null ? refreshedAt : current.refreshedAt);
+        logger.info("Catalog loaded: {} cuisines, {} ingredients", snapshot.cuisines.size(), snapshot.ingredients.size());
+    }
+
+    private boolean failed(String reason, Exception e) {
+        if (refreshFailures != null) {
+            refreshFailures.increment();
+        }
+        logger.warn("Catalog refresh failed, keeping the previous snapshot ({}): {}", reason, e.getMessage());
+        return false;
+    }
+
+    private static final class Snapshot {
+        final List<Cuisine> cuisines;
+        final List<String> ingredients;
+        final Instant refreshedAt;
+
+        Snapshot(List<Cuisine> cuisines, List<String> ingredients, Instant refreshedAt) {
+            this.cuisines = List.copyOf(cuisines);
+            this.ingredients = List.copyOf(ingredients);
+            this.refreshedAt = refreshedAt;
+        }
+    }
+}
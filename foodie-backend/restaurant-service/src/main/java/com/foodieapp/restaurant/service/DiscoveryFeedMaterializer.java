@@ -0,0 +1,180 @@
+package com.foodieapp.restaurant.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodieapp.restaurant.dto.response.ApiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Global discovery feeds (popular, new, top-rated, featured), computed in the
+ * background and published as one immutable snapshot.
+ *
+ * A snapshot is rebuilt every refresh-ms, and within about a second of a
+ * restaurant write reported through {@link #markStale()}. Each feed keeps its
+ * default-size response pre-serialized; other sizes are serialized from the
+ * same in-memory list. Until the first build, {@link #feed} returns null and
+ * callers query the database.
+ */
+@Component
+public class DiscoveryFeedMaterializer {
+    private static final Logger logger = LoggerFactory.getLogger(DiscoveryFeedMaterializer.class);
+
+    public static final int DEFAULT_LIMIT = 10;
+
+    public enum FeedType {
+        POPULAR("Popular restaurants retrieved successfully"),
+        NEW("New restaurants retrieved successfully"),
+        TOP_RATED("Top rated restaurants retrieved successfully"),
+        FEATURED("Featured restaurants retrieved successfully");
+
+        private final String message;
+
+        FeedType(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private final RestaurantService restaurantService;
+    private final ObjectMapper objectMapper;
+    private final int feedSize;
+    private final long refreshMs;
+    private final Timer buildTimer;
+
+    private final AtomicReference<Map<FeedType, Feed>> snapshot = new AtomicReference<>();
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private volatile long builtAtMillis;
+
+    public DiscoveryFeedMaterializer(
+            @Lazy RestaurantService restaurantService,
+            ObjectMapper objectMapper,
+            @Value("${app.discovery-feed.size:50}") int feedSize,
+            @Value("${app.discovery-feed.refresh-ms:60000}") long refreshMs,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.restaurantService = restaurantService;
+        this.objectMapper = objectMapper;
+        this.feedSize = Math.max(DEFAULT_LIMIT, feedSize);
+        this.refreshMs = refreshMs;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.buildTimer = registry != null
+                ? Timer.builder("restaurant.discovery_feed.build")
+                    .description("Time to recompute all discovery feeds")
+                    .register(registry)
+                : null;
+    }
+
+    /**
+     * Current feed, or null if no snapshot has been built yet
+     */
+    public Feed feed(FeedType type) {
+        Map<FeedType, Feed> current = snapshot.get();
+        return current != null ? current.get(type) : null;
+    }
+
+    /**
+     * Ask for a rebuild after a write that may change a feed
+     */
+    public void markStale() {
+        stale.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.discovery-feed.check-ms:1000}")
+    public void refreshIfNeeded() {
+        boolean expired = System.currentTimeMillis() - builtAtMillis >= refreshMs;
+        if (stale.getAndSet(false) || expired) {
+            try {
+                refresh();
+            } catch (Exception e) {
+                stale.set(true);
+                logger.warn("Could not rebuild discovery feeds: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Recompute every feed and publish them together
+     */
+    public void refresh() {
+        long start = System.nanoTime();
+        Map<FeedType, Feed> feeds = new EnumMap<>(FeedType.class);
+        feeds.put(FeedType.POPULAR, build(FeedType.POPULAR, restaurantService.getPopularRestaurants(feedSize)));
+        feeds.put(FeedType.NEW, build(FeedType.NEW, restaurantService.getNewRestaurants(feedSize)));
+        feeds.put(FeedType.TOP_RATED, build(FeedType.TOP_RATED, restaurantService.getTopRatedRestaurants(feedSize)));
+        feeds.put(FeedType.FEATURED, build(FeedType.FEATURED, restaurantService.getFeaturedRestaurants()));
+
+        snapshot.set(Collections.unmodifiableMap(feeds));
+        builtAtMillis = System.currentTimeMillis();
+        if (buildTimer != null) {
+            buildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Feed build(FeedType type, List<?> restaurants) {
+        List<?> items = List.copyOf(restaurants);
+        return new Feed(type, items, serialize(type, items.subList(0, Math.min(DEFAULT_LIMIT, items.size()))));
+    }
+
+    private byte[] serialize(FeedType type, List<?> restaurants) {
+        try {
+            return objectMapper.writeValueAsBytes(ApiResponse.success(type.getMessage(), restaurants));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * One materialized feed: the restaurants, best first, and the serialized default-size response
+     */
+    public final class Feed {
+        private final FeedType type;
+        private final List<?> restaurants;
+        private final byte[] defaultBody;
+
+        private Feed(FeedType type, List<?> restaurants, byte[] defaultBody) {
+            this.type = type;
+            this.restaurants = restaurants;
+            this.defaultBody = defaultBody;
+        }
+
+        /**
+         * Serialized response for the first limit restaurants; limits above the
+         * materialized size return the whole feed. The default size is shared
+         * by every request and must not be modified.
+         */
+        public byte[] body(int limit) {
+            int size = Math.max(0, Math.min(limit, restaurants.size()));
+            if (size == Math.min(DEFAULT_LIMIT, restaurants.size())) {
+                return defaultBody;
+            }
+            return serialize(type, restaurants.subList(0, size));
+        }
+
+        /**
+         * Serialized response for the whole feed
+         */
+        public byte[] body() {
+            return body(restaurants.size());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.foodieapp.restaurant.service;
+
+import com.foodieapp.restaurant.model.ImageVariant;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Bytes of frequently requested images, held in direct (off-heap) buffers so
+ * the popular dish photos are neither re-read from GridFS on every request nor
+ * churned through the young generation.
+ *
+ * Bounded by total bytes; Caffeine's frequency-based admission keeps one-off
+ * requests from pushing out the hot set. Only immutable responses belong here:
+ * originals and generated variants, never the fallback served while a variant
+ * is missing. The native memory of an evicted entry is released once its
+ * buffer object is collected, so leave headroom in -XX:MaxDirectMemorySize.
+ */
+@Component
+public class ImageByteCache {
+    private final Cache<String, CachedImage> images;
+    private final int maxEntryBytes;
+
+    public ImageByteCache(
+            @Value("${app.images.cache.max-bytes:268435456}") long maxBytes,
+            @Value("${app.images.cache.max-entry-bytes:2097152}") int maxEntryBytes,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.images = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedImage image) -> image.bytes.capacity())
+                .recordStats()
+                .build();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            CaffeineCacheMetrics.monitor(registry, images, "image.bytes");
+            Gauge.builder("image.bytes.resident", this, cache -> cache.residentBytes())
+                    .description("Off-heap bytes held by cached images")
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+    }
+
+    public static String key(String imageId, ImageVariant size) {
+        return size != null ? imageId + "?size=" + size.key() : imageId;
+    }
+
+    public CachedImage get(String key) {
+        return images.getIfPresent(key);
+    }
+
+    /**
+     * Copy the content into a direct buffer and cache it
+     * @return The cached image, or null if it is too large to cache
+     */
+    public CachedImage put(String key, String contentType, String etag, long lastModified, Resource content)
+            throws IOException {
+        long length = content.contentLength();
+        if (length > maxEntryBytes) {
+            return null;
+        }
+
+        ByteBuffer bytes = ByteBuffer.allocateDirect((int) length);
+        try (ReadableByteChannel channel = Channels.newChannel(content.getInputStream())) {
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes) < 0) {
+                    throw new EOFException("Image " + key + " is shorter than its stored length");
+                }
+            }
+        }
+        bytes.flip();
+
+        CachedImage image = new CachedImage(contentType, etag, lastModified, bytes.asReadOnlyBuffer());
+        images.put(key, image);
+        return image;
+    }
+
+    /**
+     * Drop an image and all of its variants
+     */
+    public void evict(String imageId) {
+        images.invalidate(key(imageId, null));
+        for (ImageVariant size : ImageVariant.values()) {
+            images.invalidate(key(imageId, size));
+        }
+    }
+
+    public long residentBytes() {
+        return images.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    /**
+     * Image bytes with the headers needed to answer for them
+     */
+    public static final class CachedImage {
+        private final String contentType;
+        private final String etag;
+        private final long lastModified;
+        private final ByteBuffer bytes;
+
+        CachedImage(String contentType, String etag, long lastModified, ByteBuffer bytes) {
+            this.contentType = contentType;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.bytes = bytes;
+        }
+
+        public String getContentType() { return contentType; }
+
+        public String getEtag() { return etag; }
+
+        public long getLastModified() { return lastModified; }
+
+        /**
+         * A read-only view of the bytes with its own position, so concurrent responses don't interfere
+         */
+        public ByteBuffer getBytes() { return bytes.duplicate(); }
+    }
+}
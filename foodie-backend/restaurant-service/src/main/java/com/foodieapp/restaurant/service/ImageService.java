@@ -1,8 +1,10 @@
 package com.foodieapp.restaurant.service;
 
+import com.foodieapp.restaurant.dto.response.ImageUploadResponse;
 import com.foodieapp.restaurant.exception.RestaurantNotFoundException;
 import com.foodieapp.restaurant.exception.UnauthorizedException;
 import com.foodieapp.restaurant.model.ImageData;
+import com.foodieapp.restaurant.model.ImageVariant;
 import com.foodieapp.restaurant.model.MenuItem;
 import com.foodieapp.restaurant.model.Restaurant;
 import com.foodieapp.restaurant.repository.ImageRepository;
@@ -11,10 +13,19 @@ import com.foodieapp.restaurant.repository.RestaurantRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -31,9 +42,24 @@ public class ImageService {
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private MenuSnapshotCache menuSnapshotCache;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private ImageVariantProcessor variantProcessor;
+
+    @Autowired
+    private ImageByteCache imageByteCache;
+
     @Autowired
     private AuthorizationService authorizationService;
 
@@ -43,7 +69,7 @@ public class ImageService {
     /**
      * Upload restaurant image
      */
-    public String uploadRestaurantImage(String restaurantId, MultipartFile file) throws IOException {
+    public ImageUploadResponse uploadRestaurantImage(String restaurantId, MultipartFile file) throws IOException {
         // Verify restaurant exists
         Restaurant restaurant = verifyRestaurantExists(restaurantId);
 
@@ -60,13 +86,14 @@ public class ImageService {
         // Update restaurant with image URL
         updateRestaurantImageUrl(restaurant, imageData.getId());
 
-        return imageData.getId();
+        variantProcessor.submit(imageData.getId());
+        return toUploadResponse(imageData.getId());
     }
 
     /**
      * Upload menu item image
      */
-    public String uploadMenuItemImage(String restaurantId, String menuItemId, MultipartFile file) throws IOException {
+    public ImageUploadResponse uploadMenuItemImage(String restaurantId, String menuItemId, MultipartFile file) throws IOException {
         // Verify restaurant exists
         Restaurant restaurant = verifyRestaurantExists(restaurantId);
 
@@ -86,7 +113,8 @@ public class ImageService {
         // Update menu item with image URL
         updateMenuItemImageUrl(menuItem, imageData.getId());
 
-        return imageData.getId();
+        variantProcessor.submit(imageData.getId());
+        return toUploadResponse(imageData.getId());
     }
 
     /**
@@ -97,6 +125,43 @@ public class ImageService {
                 .orElseThrow(() -> new IllegalArgumentException("Image not found"));
     }
 
+    /**
+     * The image's bytes, streamed from GridFS; images not yet migrated are served from the document
+     */
+    public Resource openImage(ImageData image) throws IOException {
+        if (image.getFileId() != null) {
+            return imageStorage.open(image.getFileId());
+        }
+        if (image.getData() != null) {
+            return new ByteArrayResource(image.getData());
+        }
+        throw new IllegalArgumentException("Image not found");
+    }
+
+    /**
+     * A resized copy of the image, or null if it hasn't been generated (yet).
+     * Images uploaded before variants existed are queued for generation on first request.
+     */
+    public ImageData.Variant findVariant(ImageData image, ImageVariant size) {
+        if (image.getVariants() == null) {
+            variantProcessor.submit(image.getId());
+            return null;
+        }
+        return image.getVariant(size);
+    }
+
+    public Resource openVariant(ImageData.Variant variant) throws IOException {
+        return imageStorage.open(variant.getFileId());
+    }
+
+    public static String imageUrl(String imageId) {
+        return "/api/v1/images/" + imageId;
+    }
+
+    public static String variantUrl(String imageId, ImageVariant size) {
+        return imageUrl(imageId) + "?size=" + size.key();
+    }
+
     /**
      * Delete an image
      */
@@ -110,7 +175,7 @@ public class ImageService {
             throw new UnauthorizedException("You don't have permission to delete this image");
         }
 
-        imageRepository.delete(image);
+        delete(image);
     }
 
     // Private helper methods to make the code more modular
@@ -139,7 +204,24 @@ public class ImageService {
             throw new IllegalArgumentException("Unsupported image type: " + imageType);
         }
 
-        existingImage.ifPresent(image -> imageRepository.delete(image));
+        existingImage.ifPresent(this::delete);
+    }
+
+    private void delete(ImageData image) {
+        imageRepository.delete(image);
+        imageStorage.delete(image.getFileId());
+        if (image.getVariants() != null) {
+            image.getVariants().values().forEach(variant -> imageStorage.delete(variant.getFileId()));
+        }
+        imageByteCache.evict(image.getId());
+    }
+
+    private ImageUploadResponse toUploadResponse(String imageId) {
+        Map<String, String> variants = new LinkedHashMap<>();
+        for (ImageVariant size : ImageVariant.values()) {
+            variants.put(size.key(), variantUrl(imageId, size));
+        }
+        return new ImageUploadResponse(imageId, imageUrl(imageId), variants);
     }
 
     private ImageData createImageData(MultipartFile file, String ownerId, String restaurantId,
@@ -151,7 +233,13 @@ public class ImageService {
         ImageData imageData = new ImageData();
         imageData.setName(file.getOriginalFilename());
         imageData.setType(file.getContentType());
-        imageData.setData(file.getBytes());
+        ImageStorage.StoredFile stored;
+        try (InputStream content = file.getInputStream()) {
+            stored = imageStorage.store(content, file.getSize(), file.getOriginalFilename(), file.getContentType());
+        }
+        imageData.setFileId(stored.getFileId());
+        imageData.setSize(stored.getSize());
+        imageData.setContentHash(stored.getSha256());
         imageData.setRestaurantId(restaurantId);
         imageData.setOwnerId(ownerId);
         imageData.setImageType(imageType);
@@ -164,14 +252,15 @@ public class ImageService {
     }
 
     private void updateRestaurantImageUrl(Restaurant restaurant, String imageId) {
-        String imageUrl = "/api/v1/images/" + imageId;
-        restaurant.setImageUrl(imageUrl);
-        restaurantRepository.save(restaurant);
+        // Only this field: counters and rating totals may have moved since the restaurant was read
+        restaurant.setImageUrl(imageUrl(imageId));
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(restaurant.getId())),
+                Update.update("imageUrl", restaurant.getImageUrl()), Restaurant.class);
     }
 
     private void updateMenuItemImageUrl(MenuItem menuItem, String imageId) {
-        String imageUrl = "/api/v1/images/" + imageId;
-        menuItem.setImageUrl(imageUrl);
+        menuItem.setImageUrl(imageUrl(imageId));
         menuItemRepository.save(menuItem);
+        menuSnapshotCache.menuChanged(menuItem.getRestaurantId());
     }
 }
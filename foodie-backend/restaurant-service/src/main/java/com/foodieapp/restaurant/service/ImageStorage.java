@@ -0,0 +1,134 @@
+package com.foodieapp.restaurant.service;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import org.bson.types.ObjectId;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.gridfs.GridFsOperations;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Image bytes in GridFS, written and read as streams so an image is never
+ * held in memory as a whole.
+ */
+@Component
+public class ImageStorage {
+    private final GridFsOperations gridFs;
+
+    public ImageStorage(GridFsOperations gridFs) {
+        this.gridFs = gridFs;
+    }
+
+    /**
+     * Stream content into a new file, hashing it on the way
+     */
+    public StoredFile store(InputStream content, long size, String filename, String contentType) throws IOException {
+        MessageDigest digest = sha256();
+        try (DigestInputStream hashing = new DigestInputStream(content, digest)) {
+            ObjectId fileId = gridFs.store(hashing, filename, contentType);
+            return new StoredFile(fileId.toHexString(), size, HexFormat.of().formatHex(digest.digest()));
+        }
+    }
+
+    /**
+     * The stored file as a resource that can be read more than once (e.g. for several ranges)
+     * @throws FileNotFoundException if the file doesn't exist
+     */
+    public Resource open(String fileId) throws FileNotFoundException {
+        GridFSFile file = gridFs.findOne(query(where("_id").is(new ObjectId(fileId))));
+        if (file == null) {
+            throw new FileNotFoundException("Image file " + fileId + " not found");
+        }
+        return new GridFsFileResource(gridFs, file);
+    }
+
+    public void delete(String fileId) {
+        if (StringUtils.hasText(fileId)) {
+            gridFs.delete(query(where("_id").is(new ObjectId(fileId))));
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Where and what was stored
+     */
+    public static final class StoredFile {
+        private final String fileId;
+        private final long size;
+        private final String sha256;
+
+        StoredFile(String fileId, long size, String sha256) {
+            this.fileId = fileId;
+            this.size = size;
+            this.sha256 = sha256;
+        }
+
+        public String getFileId() { return fileId; }
+
+        public long getSize() { return size; }
+
+        public String getSha256() { return sha256; }
+    }
+
+    /**
+     * Opens a fresh download stream per read, unlike GridFsResource which can be read once
+     */
+    private static final class GridFsFileResource extends AbstractResource {
+        private final GridFsOperations gridFs;
+        private final GridFSFile file;
+
+        private GridFsFileResource(GridFsOperations gridFs, GridFSFile file) {
+            this.gridFs = gridFs;
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return gridFs.getResource(file).getInputStream();
+        }
+
+        @Override
+        public long contentLength() {
+            return file.getLength();
+        }
+
+        @Override
+        public long lastModified() {
+            return file.getUploadDate().getTime();
+        }
+
+        @Override
+        public String getFilename() {
+            return file.getFilename();
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public String getDescription() {
+            return "GridFS file [" + file.getObjectId().toHexString() + "]";
+        }
+    }
+}
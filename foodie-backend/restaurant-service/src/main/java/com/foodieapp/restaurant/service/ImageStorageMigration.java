@@ -0,0 +1,110 @@
+package com.foodieapp.restaurant.service;
+
+import com.foodieapp.restaurant.model.ImageData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Moves image bytes stored inline in image documents into GridFS. Idempotent:
+ * only documents that still have inline data and no file are touched, one at a
+ * time so at most one image is in memory, and it is cheap to run on every start.
+ */
+@Component
+public class ImageStorageMigration {
+    private static final Logger logger = LoggerFactory.getLogger(ImageStorageMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ImageStorage imageStorage;
+    private final boolean enabled;
+
+    public ImageStorageMigration(
+            MongoTemplate mongoTemplate,
+            ImageStorage imageStorage,
+            @Value("${app.images.migrate-on-startup:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.imageStorage = imageStorage;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            migrate();
+        } catch (Exception e) {
+            logger.error("Image storage migration failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return Number of images moved
+     */
+    public long migrate() {
+        Query pending = new Query(inline());
+        pending.fields().include("_id");
+        List<String> imageIds;
+        try (Stream<ImageData> images = mongoTemplate.stream(pending, ImageData.class)) {
+            imageIds = images.map(ImageData::getId).collect(Collectors.toList());
+        }
+
+        long moved = 0;
+        for (String imageId : imageIds) {
+            try {
+                if (moveOne(imageId)) {
+                    moved++;
+                }
+            } catch (IOException e) {
+                logger.warn("Could not move image {} to GridFS: {}", imageId, e.getMessage());
+            }
+        }
+
+        if (moved > 0) {
+            logger.info("Moved {} inline images to GridFS", moved);
+        }
+        return moved;
+    }
+
+    private boolean moveOne(String imageId) throws IOException {
+        Criteria stillInline = Criteria.where("_id").is(imageId).andOperator(inline());
+        ImageData image = mongoTemplate.findOne(new Query(stillInline), ImageData.class);
+        if (image == null) {
+            return false;
+        }
+
+        ImageStorage.StoredFile stored = imageStorage.store(new ByteArrayInputStream(image.getData()),
+                image.getData().length, image.getName(), image.getType());
+        Update update = new Update()
+                .set("fileId", stored.getFileId())
+                .set("size", stored.getSize())
+                .set("contentHash", stored.getSha256())
+                .unset("data");
+        if (mongoTemplate.updateFirst(new Query(stillInline), update, ImageData.class).getModifiedCount() == 0) {
+            // Another instance moved it first
+            imageStorage.delete(stored.getFileId());
+            return false;
+        }
+        return true;
+    }
+
+    private static Criteria inline() {
+        return new Criteria().andOperator(
+                Criteria.where("data").exists(true).ne(null),
+                Criteria.where("fileId").exists(false));
+    }
+}
@@ -0,0 +1,180 @@
+package com.foodieapp.restaurant.service;
+
+import com.foodieapp.restaurant.model.ImageData;
+import com.foodieapp.restaurant.model.ImageVariant;
+import com.foodieapp.restaurant.util.ImageResizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the {@link ImageVariant} copies of uploaded images on a small
+ * bounded pool, off the request thread.
+ *
+ * Each image is decoded once, at the smallest subsampling that still covers
+ * the largest variant, and every variant is scaled from the next larger one.
+ * When the queue is full the request is dropped; the image keeps being served
+ * at full size and is queued again the next time a variant is asked for.
+ */
+@Component
+public class ImageVariantProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantProcessor.class);
+
+    public static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+
+    private final ImageStorage imageStorage;
+    private final MongoTemplate mongoTemplate;
+    private final float jpegQuality;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Timer generateTimer;
+
+    public ImageVariantProcessor(
+            ImageStorage imageStorage,
+            MongoTemplate mongoTemplate,
+            @Value("${app.images.variants.workers:2}") int workers,
+            @Value("${app.images.variants.queue-capacity:200}") int queueCapacity,
+            @Value("${app.images.variants.jpeg-quality:0.82}") float jpegQuality,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.imageStorage = imageStorage;
+        this.mongoTemplate = mongoTemplate;
+        this.jpegQuality = jpegQuality;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    // Resizing is batch work; let request threads win the CPU
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            new ExecutorServiceMetrics(executor, "image.variants", Tags.empty()).bindTo(registry);
+            this.generateTimer = Timer.builder("image.variants.generate")
+                    .description("Time to decode an image and store all of its variants")
+                    .register(registry);
+        } else {
+            this.generateTimer = null;
+        }
+    }
+
+    /**
+     * Queue variant generation for an image unless it is already queued
+     */
+    public void submit(String imageId) {
+        if (!pending.add(imageId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(imageId);
+                } finally {
+                    pending.remove(imageId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(imageId);
+            logger.warn("Image variant queue is full; image {} is served at full size for now", imageId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void generate(String imageId) {
+        long start = System.nanoTime();
+        Query query = new Query(Criteria.where("_id").is(imageId));
+        query.fields().include("fileId", "data", "variants");
+        ImageData image = mongoTemplate.findOne(query, ImageData.class);
+        if (image == null || image.getVariants() != null) {
+            return;
+        }
+
+        List<String> storedFileIds = new ArrayList<>();
+        Map<String, ImageData.Variant> variants = new LinkedHashMap<>();
+        try {
+            BufferedImage source;
+            int largest = ImageVariant.HERO.getMaxSide();
+            try (InputStream content = image.getFileId() != null
+                    ? imageStorage.open(image.getFileId()).getInputStream()
+                    : new ByteArrayInputStream(image.getData())) {
+                source = ImageResizer.decode(content, largest);
+            }
+
+            // Largest first, each scaled from the previous one
+            List<ImageVariant> bySize = new ArrayList<>(List.of(ImageVariant.values()));
+            bySize.sort(Comparator.comparingInt(ImageVariant::getMaxSide).reversed());
+            for (ImageVariant variant : bySize) {
+                source = ImageResizer.fit(source, variant.getMaxSide());
+                byte[] bytes = ImageResizer.encodeJpeg(source, jpegQuality);
+                ImageStorage.StoredFile stored = imageStorage.store(new ByteArrayInputStream(bytes), bytes.length,
+                        imageId + "-" + variant.key() + ".jpg", VARIANT_CONTENT_TYPE);
+                storedFileIds.add(stored.getFileId());
+                variants.put(variant.key(), toVariant(stored, source));
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not generate variants of image {}: {}", imageId, e.getMessage());
+            storedFileIds.forEach(imageStorage::delete);
+            storedFileIds.clear();
+            variants.clear();
+        }
+
+        // An empty map records the failure so the image isn't queued again on every view
+        Query unchanged = new Query(Criteria.where("_id").is(imageId).and("variants").exists(false));
+        if (mongoTemplate.updateFirst(unchanged, Update.update("variants", variants), ImageData.class)
+                .getModifiedCount() == 0) {
+            // Deleted, or generated by another instance in the meantime
+            storedFileIds.forEach(imageStorage::delete);
+        }
+        if (generateTimer != null) {
+            generateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static ImageData.Variant toVariant(ImageStorage.StoredFile stored, BufferedImage image) {
+        ImageData.Variant variant = new ImageData.Variant();
+        variant.setFileId(stored.getFileId());
+        variant.setContentType(VARIANT_CONTENT_TYPE);
+        variant.setSize(stored.getSize());
+        variant.setContentHash(stored.getSha256());
+        variant.setWidth(image.getWidth());
+        variant.setHeight(image.getHeight());
+        return variant;
+    }
+}
@@ -0,0 +1,175 @@
+package com.foodieapp.restaurant.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodieapp.restaurant.dto.response.ApiResponse;
+import com.foodieapp.restaurant.exception.RestaurantNotFoundException;
+import com.foodieapp.restaurant.model.MenuItem;
+import com.foodieapp.restaurant.model.Restaurant;
+import com.foodieapp.restaurant.repository.MenuItemRepository;
+import com.foodieapp.restaurant.repository.RestaurantRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialized customer menu per restaurant, built once and served as bytes until
+ * the menu changes.
+ *
+ * Every menu item write goes through {@link #menuChanged(String)}, which bumps
+ * the restaurant's menuVersion and drops the local snapshot. Other instances
+ * poll the menuVersions of the menus they hold in one batched query and drop
+ * the snapshots that moved, so reads never go to Mongo while a menu is cached.
+ * The ETag is derived from the restaurant and version only, so all instances
+ * hand out the same tag for the same menu.
+ */
+@Component
+public class MenuSnapshotCache {
+    private static final Logger logger = LoggerFactory.getLogger(MenuSnapshotCache.class);
+    private static final int VERSION_CHECK_BATCH = 500;
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, MenuSnapshot> snapshots;
+
+    public MenuSnapshotCache(
+            RestaurantRepository restaurantRepository,
+            MenuItemRepository menuItemRepository,
+            MongoTemplate mongoTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.menu-snapshot.max-restaurants:5000}") long maxRestaurants,
+            @Value("${app.menu-snapshot.ttl-ms:300000}") long ttlMs,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.restaurantRepository = restaurantRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxRestaurants)
+                .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            CaffeineCacheMetrics.monitor(registry, snapshots, "menu.snapshot");
+        }
+    }
+
+    /**
+     * Current menu snapshot of a restaurant; concurrent misses share one build
+     * @throws RestaurantNotFoundException if the restaurant doesn't exist
+     */
+    public MenuSnapshot get(String restaurantId) {
+        return snapshots.get(restaurantId, this::build);
+    }
+
+    /**
+     * Record a change to a restaurant's menu. Call after the write has been saved.
+     */
+    public void menuChanged(String restaurantId) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(restaurantId)),
+                new Update().inc("menuVersion", 1),
+                Restaurant.class);
+        snapshots.invalidate(restaurantId);
+    }
+
+    /**
+     * Drop snapshots whose menu was changed on another instance. Reads only the
+     * menuVersion of the cached restaurants, VERSION_CHECK_BATCH ids per query.
+     */
+    @Scheduled(fixedDelayString = "${app.menu-snapshot.version-check-ms:2000}")
+    public void checkVersions() {
+        List<String> cachedIds = new ArrayList<>(snapshots.asMap().keySet());
+        try {
+            for (int from = 0; from < cachedIds.size(); from += VERSION_CHECK_BATCH) {
+                List<String> batch = cachedIds.subList(from, Math.min(from + VERSION_CHECK_BATCH, cachedIds.size()));
+                Query query = new Query(Criteria.where("_id").in(batch));
+                query.fields().include("menuVersion");
+
+                Map<String, Long> storedVersions = new HashMap<>();
+                for (Restaurant restaurant : mongoTemplate.find(query, Restaurant.class)) {
+                    storedVersions.put(restaurant.getId(),
+                            restaurant.getMenuVersion() != null ? restaurant.getMenuVersion() : 0L);
+                }
+
+                for (String restaurantId : batch) {
+                    MenuSnapshot cached = snapshots.getIfPresent(restaurantId);
+                    Long stored = storedVersions.get(restaurantId);
+                    if (cached != null && (stored == null || stored != cached.getVersion())) {
+                        // Only drop the snapshot that was checked, not one rebuilt meanwhile
+                        snapshots.asMap().remove(restaurantId, cached);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Could not check menu versions: {}", e.getMessage());
+        }
+    }
+
+    private MenuSnapshot build(String restaurantId) {
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new RestaurantNotFoundException(restaurantId));
+        List<MenuItem> menuItems = menuItemRepository.findByRestaurantId(restaurantId);
+        long version = restaurant.getMenuVersion() != null ? restaurant.getMenuVersion() : 0L;
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(
+                    ApiResponse.success("Restaurant menu retrieved successfully", menuItems));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Same tag on every instance and rebuild; bodies only differ in the response timestamp
+        String etag = "\"" + restaurantId + "-" + version + "\"";
+        logger.debug("Built menu snapshot for restaurant {} at version {} ({} items, {} bytes)",
+                restaurantId, version, menuItems.size(), body.length);
+        return new MenuSnapshot(version, etag, body);
+    }
+
+    /**
+     * Immutable serialized menu
+     */
+    public static final class MenuSnapshot {
+        private final long version;
+        private final String etag;
+        private final byte[] body;
+
+        MenuSnapshot(long version, String etag, byte[] body) {
+            this.version = version;
+            this.etag = etag;
+            this.body = body;
+        }
+
+        public long getVersion() { return version; }
+
+        public String getEtag() { return etag; }
+
+        /**
+         * The serialized response. Shared by every request; must not be modified.
+         */
+        public byte[] getBody() { return body; }
+    }
+}
@@ -0,0 +1,91 @@
+package com.foodieapp.restaurant.service;
+
+import com.foodieapp.restaurant.model.Restaurant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Seeds the rating totals of restaurants rated before they were kept, so their
+ * rating history counts towards bayesianRating instead of being replaced by
+ * the first new rating.
+ *
+ * A stored rating r becomes legacy-count ratings averaging r; restaurants
+ * without a rating get the prior. Restaurants saved since the totals were kept
+ * always have a ratingCount, so only older documents are touched. Idempotent:
+ * seeding writes ratingCount, so it is cheap to run on every start.
+ */
+@Component
+public class RatingBackfill {
+    private static final Logger logger = LoggerFactory.getLogger(RatingBackfill.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final RatingService ratingService;
+    private final boolean enabled;
+    private final int legacyCount;
+
+    public RatingBackfill(
+            MongoTemplate mongoTemplate,
+            RatingService ratingService,
+            @Value("${app.ratings.backfill-on-startup:true}") boolean enabled,
+            @Value("${app.ratings.backfill-legacy-count:10}") int legacyCount) {
+        this.mongoTemplate = mongoTemplate;
+        this.ratingService = ratingService;
+        this.enabled = enabled;
+        this.legacyCount = Math.max(1, legacyCount);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            backfill();
+        } catch (Exception e) {
+            logger.error("Restaurant rating backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return Number of restaurants seeded
+     */
+    public long backfill() {
+        Query pending = new Query(Criteria.where("ratingCount").exists(false));
+        pending.fields().include("_id", "rating");
+        List<Restaurant> restaurants;
+        try (Stream<Restaurant> stream = mongoTemplate.stream(pending, Restaurant.class)) {
+            restaurants = stream.collect(Collectors.toList());
+        }
+
+        long seeded = 0;
+        for (Restaurant restaurant : restaurants) {
+            Double rating = restaurant.getRating();
+            boolean rated = rating != null && rating > 0;
+            Update seed = new Update()
+                    .inc("ratingSum", rated ? Math.round(rating * legacyCount) : 0)
+                    .inc("ratingCount", rated ? legacyCount : 0);
+            // Conditional, so a concurrent run on another instance or a new rating in between doesn't seed twice
+            Query unseeded = new Query(Criteria.where("_id").is(restaurant.getId()).and("ratingCount").exists(false));
+            if (ratingService.incrementAggregates(unseeded, seed)) {
+                seeded++;
+            }
+        }
+
+        if (seeded > 0) {
+            logger.info("Seeded rating totals of {} restaurants", seeded);
+        }
+        return seeded;
+    }
+}
@@ -0,0 +1,167 @@
+package com.foodieapp.restaurant.service;
+
+import com.foodieapp.restaurant.client.OrderServiceClient;
+import com.foodieapp.restaurant.dto.request.RatingRequest;
+import com.foodieapp.restaurant.exception.RestaurantNotFoundException;
+import com.foodieapp.restaurant.exception.UnauthorizedException;
+import com.foodieapp.restaurant.model.Rating;
+import com.foodieapp.restaurant.model.Restaurant;
+import com.foodieapp.restaurant.repository.RatingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Customer ratings and the per-restaurant aggregates derived from them.
+ *
+ * Each rating adds to the restaurant's ratingSum and ratingCount with one $inc,
+ * and avgRating, bayesianRating and the displayed rating are set from the
+ * totals that $inc returned, so a new rating costs O(1) and ratings are never
+ * re-read. The bayesianRating is (priorWeight * priorMean + sum) / (priorWeight
+ * + count): a restaurant with a handful of ratings starts near the prior and
+ * only moves to its own average as ratings accumulate.
+ */
+@Service
+public class RatingService {
+    private static final Logger logger = LoggerFactory.getLogger(RatingService.class);
+
+    private static final Set<String> RATEABLE_ORDER_STATUSES = Set.of("DELIVERED", "COMPLETED");
+    private static final int MAX_LIST_SIZE = 100;
+
+    private final RatingRepository ratingRepository;
+    private final MongoTemplate mongoTemplate;
+    private final OrderServiceClient orderServiceClient;
+    private final AuthorizationService authorizationService;
+    private final RestaurantSearchIndex searchIndex;
+    private final RestaurantFacetIndex facetIndex;
+    private final DiscoveryFeedMaterializer feedMaterializer;
+    private final double priorMean;
+    private final double priorWeight;
+
+    public RatingService(
+            RatingRepository ratingRepository,
+            MongoTemplate mongoTemplate,
+            OrderServiceClient orderServiceClient,
+            AuthorizationService authorizationService,
+            RestaurantSearchIndex searchIndex,
+            RestaurantFacetIndex facetIndex,
+            DiscoveryFeedMaterializer feedMaterializer,
+            @Value("${app.ratings.prior-mean:3.5}") double priorMean,
+            @Value("${app.ratings.prior-weight:10}") double priorWeight) {
+        this.ratingRepository = ratingRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.orderServiceClient = orderServiceClient;
+        this.authorizationService = authorizationService;
+        this.searchIndex = searchIndex;
+        this.facetIndex = facetIndex;
+        this.feedMaterializer = feedMaterializer;
+        this.priorMean = priorMean;
+        this.priorWeight = priorWeight;
+    }
+
+    /**
+     * Rate a restaurant for a delivered order of the current user
+     * @throws IllegalArgumentException if the order isn't the user's delivered order from this restaurant,
+     *         or was rated already
+     */
+    public Rating rate(String restaurantId, RatingRequest request) {
+        String userId = authorizationService.getCurrentUserId();
+        if (userId == null) {
+            throw new UnauthorizedException("Authentication required to rate a restaurant");
+        }
+        if (!mongoTemplate.exists(new Query(Criteria.where("_id").is(restaurantId)), Restaurant.class)) {
+            throw new RestaurantNotFoundException(restaurantId);
+        }
+        verifyOrder(request.getOrderId(), userId, restaurantId);
+
+        Rating rating = new Rating();
+        rating.setOrderId(request.getOrderId());
+        rating.setUserId(userId);
+        rating.setRestaurantId(restaurantId);
+        rating.setScore(request.getScore());
+        rating.setComment(request.getComment());
+        try {
+            rating = ratingRepository.insert(rating);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException("This order has already been rated");
+        }
+
+        incrementAggregates(new Query(Criteria.where("_id").is(restaurantId)),
+                new Update().inc("ratingSum", rating.getScore()).inc("ratingCount", 1));
+        return rating;
+    }
+
+    /**
+     * Latest ratings of a restaurant, newest first
+     */
+    public List<Rating> getRatings(String restaurantId, int limit) {
+        return ratingRepository.findByRestaurantIdOrderByCreatedAtDesc(
+                restaurantId, PageRequest.of(0, Math.max(1, Math.min(limit, MAX_LIST_SIZE))));
+    }
+
+    private void verifyOrder(String orderId, String userId, String restaurantId) {
+        Map<String, Object> order = orderServiceClient.getOrder(orderId, authorizationService.getCurrentAuthHeader());
+        if (order == null
+                || !userId.equals(order.get("userId"))
+                || !restaurantId.equals(order.get("restaurantId"))) {
+            throw new IllegalArgumentException("Order not found for this restaurant");
+        }
+        if (!RATEABLE_ORDER_STATUSES.contains(String.valueOf(order.get("status")))) {
+            throw new IllegalArgumentException("Only delivered orders can be rated");
+        }
+    }
+
+    /**
+     * Apply an $inc of a restaurant's rating totals, then set the derived fields from the new totals
+     * @return false if no restaurant matched
+     */
+    boolean incrementAggregates(Query restaurant, Update increment) {
+        Restaurant totals = mongoTemplate.findAndModify(restaurant, increment,
+                FindAndModifyOptions.options().returnNew(true),
+                Restaurant.class);
+        if (totals == null) {
+            return false;
+        }
+
+        String restaurantId = totals.getId();
+        long sum = totals.getRatingSum();
+        long count = totals.getRatingCount();
+        double average = count > 0 ? (double) sum / count : 0;
+        Double displayed = count > 0 ? Math.round(average * 10) / 10.0 : null;
+
+        // Derived fields only move forward: if another rating landed in between, its
+        // writer has the newer totals and sets them instead
+        Query unchanged = new Query(Criteria.where("_id").is(restaurantId).and("ratingCount").is(count));
+        Update derived = new Update()
+                .set("avgRating", average)
+                .set("bayesianRating", bayesian(sum, count, priorMean, priorWeight))
+                .set("rating", displayed);
+        // Matched, not modified: recomputing equal values must still refresh the indexes
+        if (mongoTemplate.updateFirst(unchanged, derived, Restaurant.class).getMatchedCount() == 0) {
+            logger.debug("Newer rating of restaurant {} already updated its averages", restaurantId);
+            return true;
+        }
+
+        totals.setRating(displayed);
+        searchIndex.restaurantSaved(totals);
+        facetIndex.restaurantSaved(totals);
+        feedMaterializer.markStale();
+        return true;
+    }
+
+    static double bayesian(long sum, long count, double priorMean, double priorWeight) {
+        return (priorWeight * priorMean + sum) / (priorWeight + count);
+    }
+}
@@ -0,0 +1,175 @@
+package com.foodieapp.restaurant.service;
+
+import com.foodieapp.restaurant.model.CountedOrder;
+import com.foodieapp.restaurant.model.Restaurant;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Restaurant view and order counts, buffered per instance and written behind.
+ *
+ * Increments land in striped {@link LongAdder}s, so a popular restaurant's
+ * detail page doesn't serialize its viewers on one counter, and every
+ * flush-ms the accumulated deltas go to Mongo as a single unordered bulk of
+ * $inc updates. Deltas that fail to write are added back for the next flush.
+ * At most one flush interval of counts is lost if the process dies; a
+ * graceful shutdown flushes first. Completed orders are deduplicated in
+ * Mongo, keyed by order ID, so retried deliveries are counted once whichever
+ * instance receives them.
+ */
+@Component
+public class RestaurantCounters {
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantCounters.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    // Keyed only by restaurants that exist, so it is bounded by their number
+    private final Map<String, Deltas> pending = new ConcurrentHashMap<>();
+    private final Counter flushFailures;
+
+    public RestaurantCounters(
+            MongoTemplate mongoTemplate,
+            @Value("${app.counters.enabled:true}") boolean enabled,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("restaurant.counters.pending", this, counters -> counters.pendingIncrements())
+                    .description("View and order increments not yet written to Mongo")
+                    .register(registry);
+            this.flushFailures = Counter.builder("restaurant.counters.flush.failures")
+                    .description("Counter flushes that could not be written and were kept for the next one")
+                    .register(registry);
+        } else {
+            this.flushFailures = null;
+        }
+    }
+
+    /**
+     * Count a view of an existing restaurant's detail page
+     */
+    public void recordView(String restaurantId) {
+        if (enabled) {
+            deltas(restaurantId).views.increment();
+        }
+    }
+
+    /**
+     * Count a completed order of an existing restaurant
+     * @return false if the order was counted already
+     */
+    public boolean recordCompletedOrder(String restaurantId, String orderId) {
+        try {
+            mongoTemplate.insert(new CountedOrder(orderId, restaurantId));
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+        if (enabled) {
+            deltas(restaurantId).orders.increment();
+        }
+        return true;
+    }
+
+    public long pendingIncrements() {
+        long total = 0;
+        for (Deltas deltas : pending.values()) {
+            total += deltas.views.sum() + deltas.orders.sum();
+        }
+        return total;
+    }
+
+    @Scheduled(fixedDelayString = "${app.counters.flush-ms:5000}")
+    public synchronized void flush() {
+        List<String> restaurantIds = new ArrayList<>();
+        List<long[]> batch = new ArrayList<>();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Restaurant.class);
+        pending.forEach((restaurantId, deltas) -> {
+            // sumThenReset resets each stripe atomically, so concurrent increments go to the next flush
+            long views = deltas.views.sumThenReset();
+            long orders = deltas.orders.sumThenReset();
+            if (views == 0 && orders == 0) {
+                return;
+            }
+            Update update = new Update();
+            if (views != 0) {
+                update.inc("viewCount", Math.toIntExact(views));
+            }
+            if (orders != 0) {
+                update.inc("orderCount", Math.toIntExact(orders));
+            }
+            bulk.updateOne(new Query(Criteria.where("_id").is(restaurantId)), update);
+            restaurantIds.add(restaurantId);
+            batch.add(new long[] {views, orders});
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // Unordered: everything but the reported updates was applied
+            for (BulkWriteError error : e.getErrors()) {
+                restore(restaurantIds.get(error.getIndex()), batch.get(error.getIndex()));
+            }
+            failed(e.getErrors().size() + " of " + batch.size() + " updates were rejected");
+        } catch (Exception e) {
+            // Most likely nothing was written; keep the counts rather than lose them
+            for (int i = 0; i < batch.size(); i++) {
+                restore(restaurantIds.get(i), batch.get(i));
+            }
+            failed(e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Deltas deltas(String restaurantId) {
+        return pending.computeIfAbsent(restaurantId, id -> new Deltas());
+    }
+
+    private void restore(String restaurantId, long[] counts) {
+        Deltas deltas = deltas(restaurantId);
+        deltas.views.add(counts[0]);
+        deltas.orders.add(counts[1]);
+    }
+
+    private void failed(String reason) {
+        if (flushFailures != null) {
+            flushFailures.increment();
+        }
+        logger.warn("Could not write restaurant counters, keeping them for the next flush: {}", reason);
+    }
+
+    private static final class Deltas {
+        final LongAdder views = new LongAdder();
+        final LongAdder orders = new LongAdder();
+    }
+}
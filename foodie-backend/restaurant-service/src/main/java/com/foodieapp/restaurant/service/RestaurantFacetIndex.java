@@ -0,0 +1,211 @@
+package com.foodieapp.restaurant.service;
+
+import com.foodieapp.restaurant.dto.request.RestaurantFilterRequest;
+import com.foodieapp.restaurant.dto.response.RestaurantFilterResponse;
+import com.foodieapp.restaurant.model.MenuItem;
+import com.foodieapp.restaurant.model.Restaurant;
+import com.foodieapp.restaurant.util.RestaurantFacets;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Faceted restaurant filtering backed by {@link RestaurantFacets}.
+ *
+ * The facets are built from Mongo at startup and rebuilt every refresh-ms,
+ * which also picks up writes made on other instances. Restaurant and menu
+ * writes made on this instance are applied immediately; writes that land while
+ * a rebuild is running are replayed onto the new facets before they go live.
+ * Until the first build completes {@link #isReady()} is false.
+ */
+@Component
+public class RestaurantFacetIndex {
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantFacetIndex.class);
+
+    private static final String[] RESTAURANT_FIELDS = {
+            "name", "description", "cuisine", "rating", "imageUrl", "address", "phoneNumber", "email",
+            "openingHours", "closingHours", "isActive", "isVerified"
+    };
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private RestaurantFacets facets;
+    private boolean rebuilding;
+    private final Set<String> changedDuringRebuild = new HashSet<>();
+
+    public RestaurantFacetIndex(
+            MongoTemplate mongoTemplate,
+            @Value("${app.facet-index.enabled:true}") boolean enabled,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("restaurant.facet_index.size", this, index -> index.size())
+                    .description("Active restaurants in the facet index")
+                    .register(registry);
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return enabled && facets != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if minRating is not one of {@link RestaurantFacets#RATING_BANDS}
+     */
+    public RestaurantFilterResponse filter(RestaurantFilterRequest request) {
+        lock.readLock().lock();
+        try {
+            if (facets == null) {
+                throw new IllegalStateException("Facet index is not loaded yet");
+            }
+            return facets.filter(request, LocalTime.now());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return facets != null ? facets.size() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a restaurant saved on this instance without waiting for the next refresh
+     */
+    public synchronized void restaurantSaved(Restaurant restaurant) {
+        if (restaurant.getId() == null) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(restaurant.getId());
+        }
+        lock.writeLock().lock();
+        try {
+            if (facets != null) {
+                facets.put(restaurant);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-check whether a restaurant still offers vegetarian dishes after a menu change on this instance
+     */
+    public synchronized void menuChanged(String restaurantId) {
+        if (rebuilding) {
+            changedDuringRebuild.add(restaurantId);
+        }
+        try {
+            boolean hasVegetarianDishes = hasVegetarianDishes(restaurantId);
+            lock.writeLock().lock();
+            try {
+                if (facets != null) {
+                    facets.setVegetarian(restaurantId, hasVegetarianDishes);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            logger.warn("Could not update the facets of restaurant {}: {}", restaurantId, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.facet-index.refresh-ms:300000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        }
+        try {
+            RestaurantFacets next = load();
+            synchronized (this) {
+                for (String restaurantId : changedDuringRebuild) {
+                    reload(next, restaurantId);
+                }
+                lock.writeLock().lock();
+                try {
+                    facets = next;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            logger.info("Loaded {} restaurants into the facet index", next.size());
+        } catch (Exception e) {
+            logger.warn("Could not refresh the restaurant facet index: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            }
+        }
+    }
+
+    private RestaurantFacets load() {
+        RestaurantFacets next = new RestaurantFacets();
+
+        Query query = new Query(Criteria.where("isActive").is(true));
+        query.fields().include(RESTAURANT_FIELDS);
+        try (Stream<Restaurant> restaurants = mongoTemplate.stream(query, Restaurant.class)) {
+            restaurants.forEach(next::put);
+        }
+
+        List<String> vegetarianRestaurantIds = mongoTemplate.findDistinct(
+                new Query(vegetarianDishes()), "restaurantId", MenuItem.class, String.class);
+        vegetarianRestaurantIds.forEach(restaurantId -> next.setVegetarian(restaurantId, true));
+        return next;
+    }
+
+    private void reload(RestaurantFacets next, String restaurantId) {
+        Query query = new Query(Criteria.where("_id").is(restaurantId));
+        query.fields().include(RESTAURANT_FIELDS);
+        Restaurant restaurant = mongoTemplate.findOne(query, Restaurant.class);
+        if (restaurant != null) {
+            next.put(restaurant);
+            next.setVegetarian(restaurantId, hasVegetarianDishes(restaurantId));
+        }
+    }
+
+    private boolean hasVegetarianDishes(String restaurantId) {
+        return mongoTemplate.exists(
+                new Query(vegetarianDishes().and("restaurantId").is(restaurantId)), MenuItem.class);
+    }
+
+    private static Criteria vegetarianDishes() {
+        return Criteria.where("isVegetarian").is(true).and("isAvailable").ne(false);
+    }
+}
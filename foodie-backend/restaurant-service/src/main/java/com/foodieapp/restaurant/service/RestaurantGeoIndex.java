@@ -0,0 +1,163 @@
+package com.foodieapp.restaurant.service;
+
+import com.foodieapp.restaurant.model.Restaurant;
+import com.foodieapp.restaurant.util.GeoGrid;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * In-memory nearby search over active, verified restaurants.
+ *
+ * The grid is loaded in full at startup and every full-refresh-ms, and in
+ * between only restaurants created or updated since the previous refresh are
+ * read. Writes made on this instance are applied immediately. Until the first
+ * load completes {@link #isReady()} is false and callers use the database.
+ */
+@Component
+public class RestaurantGeoIndex {
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantGeoIndex.class);
+
+    // Re-read a little before the last refresh to cover clock skew between instances
+    private static final long CHANGE_OVERLAP_SECONDS = 60;
+
+    private static final String[] INDEXED_FIELDS = {
+            "name", "description", "cuisine", "rating", "imageUrl", "address", "phoneNumber", "email",
+            "openingHours", "closingHours", "latitude", "longitude", "isActive", "isVerified"
+    };
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final double cellKm;
+    private final long fullRefreshMs;
+
+    private volatile GeoGrid grid;
+    private LocalDateTime lastRefreshStart;
+    private long lastFullRefreshNanos;
+
+    public RestaurantGeoIndex(
+            MongoTemplate mongoTemplate,
+            @Value("${app.geo-index.enabled:true}") boolean enabled,
+            @Value("${app.geo-index.cell-km:2}") double cellKm,
+            @Value("${app.geo-index.full-refresh-ms:3600000}") long fullRefreshMs,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.cellKm = cellKm;
+        this.fullRefreshMs = fullRefreshMs;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("restaurant.geo_index.size", this, index -> index.size())
+                    .description("Restaurants in the in-memory nearby index")
+                    .register(registry);
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && grid != null;
+    }
+
+    /**
+     * Up to limit indexed restaurants within radiusKm, nearest first
+     */
+    public List<Restaurant> nearest(double latitude, double longitude, double radiusKm, int limit) {
+        GeoGrid current = grid;
+        return current != null ? current.nearest(latitude, longitude, radiusKm, limit) : Collections.emptyList();
+    }
+
+    public int size() {
+        GeoGrid current = grid;
+        return current != null ? current.size() : 0;
+    }
+
+    /**
+     * Apply a restaurant saved on this instance without waiting for the next refresh
+     */
+    public synchronized void restaurantSaved(Restaurant restaurant) {
+        if (grid != null && restaurant.getId() != null) {
+            grid = apply(grid, Collections.singletonList(restaurant));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.geo-index.refresh-ms:30000}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime refreshStart = LocalDateTime.now();
+        try {
+            boolean fullRefreshDue = grid == null
+                    || System.nanoTime() - lastFullRefreshNanos >= fullRefreshMs * 1_000_000L;
+            if (fullRefreshDue) {
+                loadAll();
+            } else {
+                loadChanges(lastRefreshStart.minusSeconds(CHANGE_OVERLAP_SECONDS));
+            }
+            lastRefreshStart = refreshStart;
+        } catch (Exception e) {
+            logger.warn("Could not refresh the restaurant geo index: {}", e.getMessage());
+        }
+    }
+
+    private void loadAll() {
+        Query query = new Query(Criteria.where("isActive").is(true).and("isVerified").is(true));
+        query.fields().include(INDEXED_FIELDS);
+
+        List<Restaurant> restaurants = new ArrayList<>();
+        try (Stream<Restaurant> stream = mongoTemplate.stream(query, Restaurant.class)) {
+            stream.filter(Restaurant::hasCoordinates).forEach(restaurants::add);
+        }
+
+        grid = GeoGrid.empty(cellKm).with(restaurants, Collections.emptyList());
+        lastFullRefreshNanos = System.nanoTime();
+        logger.info("Loaded {} restaurants into the geo index", restaurants.size());
+    }
+
+    private void loadChanges(LocalDateTime since) {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("updatedAt").gte(since),
+                Criteria.where("createdAt").gte(since)));
+        query.fields().include(INDEXED_FIELDS);
+
+        List<Restaurant> changed = mongoTemplate.find(query, Restaurant.class);
+        if (!changed.isEmpty()) {
+            grid = apply(grid, changed);
+            logger.debug("Applied {} restaurant changes to the geo index", changed.size());
+        }
+    }
+
+    private static GeoGrid apply(GeoGrid current, List<Restaurant> changed) {
+        List<Restaurant> upserts = new ArrayList<>();
+        List<String> removals = new ArrayList<>();
+        for (Restaurant restaurant : changed) {
+            if (isIndexable(restaurant)) {
+                upserts.add(restaurant);
+            } else if (current.contains(restaurant.getId())) {
+                removals.add(restaurant.getId());
+            }
+        }
+        return current.with(upserts, removals);
+    }
+
+    private static boolean isIndexable(Restaurant restaurant) {
+        return Boolean.TRUE.equals(restaurant.getIsActive())
+                && Boolean.TRUE.equals(restaurant.getIsVerified())
+                && restaurant.hasCoordinates();
+    }
+}
@@ -0,0 +1,88 @@
+package com.foodieapp.restaurant.service;
+
+import com.foodieapp.restaurant.model.Restaurant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Fills in the geospatial location of restaurants saved before it was kept in
+ * sync with latitude and longitude. Idempotent: only restaurants with
+ * coordinates but no location are touched, so it is cheap to run on every start.
+ */
+@Component
+public class RestaurantLocationBackfill {
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantLocationBackfill.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public RestaurantLocationBackfill(
+            MongoTemplate mongoTemplate,
+            @Value("${app.geo-index.backfill-on-startup:true}") boolean enabled,
+            @Value("${app.geo-index.backfill-batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            backfill();
+        } catch (Exception e) {
+            logger.error("Restaurant location backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return Number of restaurants updated
+     */
+    public long backfill() {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("location").isNull(),
+                new Criteria().orOperator(
+                        Criteria.where("latitude").ne(0),
+                        Criteria.where("longitude").ne(0))));
+        query.fields().include("latitude", "longitude");
+
+        long updated = 0;
+        try (Stream<Restaurant> restaurants = mongoTemplate.stream(query, Restaurant.class)) {
+            // Documents without the fields match $ne too; skip them
+            Iterator<Restaurant> iterator = restaurants.filter(Restaurant::hasCoordinates).iterator();
+            while (iterator.hasNext()) {
+                BulkOperations batch = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Restaurant.class);
+                int pending = 0;
+                while (pending < batchSize && iterator.hasNext()) {
+                    Restaurant restaurant = iterator.next();
+                    batch.updateOne(
+                            Query.query(Criteria.where("_id").is(restaurant.getId())),
+                            Update.update("location",
+                                    new double[] {restaurant.getLongitude(), restaurant.getLatitude()}));
+                    pending++;
+                }
+                updated += batch.execute().getModifiedCount();
+            }
+        }
+
+        if (updated > 0) {
+            logger.info("Backfilled location for {} restaurants", updated);
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,314 @@
+package com.foodieapp.restaurant.service;
+
+import com.foodieapp.restaurant.dto.response.MenuItemSearchHit;
+import com.foodieapp.restaurant.dto.response.RestaurantSearchHit;
+import com.foodieapp.restaurant.dto.response.SearchResponse;
+import com.foodieapp.restaurant.model.MenuItem;
+import com.foodieapp.restaurant.model.Restaurant;
+import com.foodieapp.restaurant.util.TextIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Search over active restaurants (name, cuisine, description) and their
+ * available menu items (name, category).
+ *
+ * The index is built from Mongo at startup and rebuilt every rebuild-ms, which
+ * also picks up writes made on other instances. Restaurant and menu writes made
+ * on this instance are applied immediately; writes that land while a rebuild is
+ * running are replayed onto the new index before it goes live. Until the first
+ * build completes {@link #isReady()} is false.
+ */
+@Component
+public class RestaurantSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantSearchIndex.class);
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float CUISINE_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float DISH_NAME_WEIGHT = 3f;
+    private static final float DISH_CATEGORY_WEIGHT = 1.5f;
+    private static final int PROGRESS_LOG_INTERVAL = 50_000;
+
+    private static final String[] RESTAURANT_FIELDS = {
+            "name", "cuisine", "description", "rating", "imageUrl", "isActive"
+    };
+    private static final String[] MENU_ITEM_FIELDS = {
+            "restaurantId", "name", "category", "price", "isVegetarian", "isAvailable", "imageUrl"
+    };
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final Timer rebuildTimer;
+    private final AtomicLong rebuildProgress = new AtomicLong();
+
+    private volatile Generation current;
+    private boolean rebuilding;
+    private final Set<String> changedDuringRebuild = new HashSet<>();
+
+    public RestaurantSearchIndex(
+            MongoTemplate mongoTemplate,
+            @Value("${app.search.enabled:true}") boolean enabled,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("restaurant.search_index.documents", this, index -> index.size())
+                    .description("Restaurants and menu items in the search index")
+                    .register(registry);
+            Gauge.builder("restaurant.search_index.rebuild.progress", rebuildProgress, AtomicLong::get)
+                    .description("Documents loaded by the running or last search index rebuild")
+                    .register(registry);
+            this.rebuildTimer = Timer.builder("restaurant.search_index.rebuild")
+                    .description("Time to rebuild the search index from the database")
+                    .register(registry);
+        } else {
+            this.rebuildTimer = null;
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && current != null;
+    }
+
+    /**
+     * Up to limit restaurants and limit menu items matching the query, best first.
+     * The last word of the query also matches as a prefix.
+     */
+    public SearchResponse search(String query, int limit) {
+        Generation generation = current;
+        if (generation == null) {
+            return new SearchResponse(query, List.of(), List.of());
+        }
+        return new SearchResponse(query,
+                generation.restaurants.search(query, limit, hit -> true),
+                generation.menuItems.search(query, limit, hit -> true));
+    }
+
+    public int size() {
+        Generation generation = current;
+        return generation != null ? generation.restaurants.size() + generation.menuItems.size() : 0;
+    }
+
+    /**
+     * Apply a restaurant saved on this instance, together with its menu
+     */
+    public synchronized void restaurantSaved(Restaurant restaurant) {
+        if (current == null || restaurant.getId() == null) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(restaurant.getId());
+        }
+        try {
+            apply(current, restaurant);
+        } catch (Exception e) {
+            logger.warn("Could not update restaurant {} in the search index: {}", restaurant.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Apply a menu change made on this instance
+     */
+    public synchronized void menuChanged(String restaurantId) {
+        if (current == null) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(restaurantId);
+        }
+        try {
+            reload(current, restaurantId);
+        } catch (Exception e) {
+            logger.warn("Could not update the menu of restaurant {} in the search index: {}",
+                    restaurantId, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.rebuild-ms:900000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        synchronized (this) {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        }
+        rebuildProgress.set(0);
+        try {
+            Generation next = load();
+            synchronized (this) {
+                for (String restaurantId : changedDuringRebuild) {
+                    reload(next, restaurantId);
+                }
+                current = next;
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            if (rebuildTimer != null) {
+                rebuildTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            }
+            logger.info("Built the search index with {} restaurants and {} menu items in {} ms",
+                    next.restaurants.size(), next.menuItems.size(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        } catch (Exception e) {
+            logger.warn("Could not rebuild the search index: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            }
+        }
+    }
+
+    private Generation load() {
+        Generation generation = new Generation();
+
+        Query restaurantQuery = new Query(Criteria.where("isActive").is(true));
+        restaurantQuery.fields().include(RESTAURANT_FIELDS);
+        try (Stream<Restaurant> restaurants = mongoTemplate.stream(restaurantQuery, Restaurant.class)) {
+            restaurants.forEach(restaurant -> {
+                generation.putRestaurant(restaurant);
+                loaded();
+            });
+        }
+
+        Query menuQuery = new Query(Criteria.where("isAvailable").ne(false));
+        menuQuery.fields().include(MENU_ITEM_FIELDS);
+        try (Stream<MenuItem> menuItems = mongoTemplate.stream(menuQuery, MenuItem.class)) {
+            menuItems.forEach(menuItem -> {
+                generation.putMenuItem(menuItem);
+                loaded();
+            });
+        }
+        return generation;
+    }
+
+    private void loaded() {
+        long count = rebuildProgress.incrementAndGet();
+        if (count % PROGRESS_LOG_INTERVAL == 0) {
+            logger.info("Search index rebuild: {} documents loaded", count);
+        }
+    }
+
+    private void reload(Generation generation, String restaurantId) {
+        Query query = new Query(Criteria.where("_id").is(restaurantId));
+        query.fields().include(RESTAURANT_FIELDS);
+        Restaurant restaurant = mongoTemplate.findOne(query, Restaurant.class);
+        if (restaurant != null) {
+            apply(generation, restaurant);
+        } else {
+            generation.removeRestaurant(restaurantId);
+        }
+    }
+
+    private void apply(Generation generation, Restaurant restaurant) {
+        if (!Boolean.TRUE.equals(restaurant.getIsActive())) {
+            generation.removeRestaurant(restaurant.getId());
+            return;
+        }
+
+        Query query = new Query(Criteria.where("restaurantId").is(restaurant.getId())
+                .and("isAvailable").ne(false));
+        query.fields().include(MENU_ITEM_FIELDS);
+        List<MenuItem> menuItems = mongoTemplate.find(query, MenuItem.class);
+
+        generation.putRestaurant(restaurant);
+        generation.replaceMenu(restaurant.getId(), menuItems);
+    }
+
+    /**
+     * One complete index. Mutated only while holding the outer lock or before publication.
+     */
+    private static final class Generation {
+        private final TextIndex<RestaurantSearchHit> restaurants = new TextIndex<>();
+        private final TextIndex<MenuItemSearchHit> menuItems = new TextIndex<>();
+        private final Map<String, RestaurantSearchHit> restaurantsById = new HashMap<>();
+        private final Map<String, Set<String>> menuItemIdsByRestaurant = new HashMap<>();
+
+        private void putRestaurant(Restaurant restaurant) {
+            RestaurantSearchHit hit = new RestaurantSearchHit();
+            hit.setId(restaurant.getId());
+            hit.setName(restaurant.getName());
+            hit.setCuisine(restaurant.getCuisine());
+            hit.setDescription(restaurant.getDescription());
+            hit.setRating(restaurant.getRating());
+            hit.setImageUrl(restaurant.getImageUrl());
+
+            restaurants.put(restaurant.getId(), hit, boost(restaurant.getRating()), List.of(
+                    new TextIndex.Field(restaurant.getName(), NAME_WEIGHT),
+                    new TextIndex.Field(restaurant.getCuisine(), CUISINE_WEIGHT),
+                    new TextIndex.Field(restaurant.getDescription(), DESCRIPTION_WEIGHT)));
+            restaurantsById.put(restaurant.getId(), hit);
+        }
+
+        private void putMenuItem(MenuItem menuItem) {
+            RestaurantSearchHit restaurant = restaurantsById.get(menuItem.getRestaurantId());
+            if (restaurant == null) {
+                return;
+            }
+
+            MenuItemSearchHit hit = new MenuItemSearchHit();
+            hit.setId(menuItem.getId());
+            hit.setRestaurantId(menuItem.getRestaurantId());
+            hit.setRestaurantName(restaurant.getName());
+            hit.setName(menuItem.getName());
+            hit.setCategory(menuItem.getCategory());
+            hit.setPrice(menuItem.getPrice());
+            hit.setIsVegetarian(menuItem.getIsVegetarian());
+            hit.setImageUrl(menuItem.getImageUrl());
+
+            menuItems.put(menuItem.getId(), hit, boost(restaurant.getRating()), List.of(
+                    new TextIndex.Field(menuItem.getName(), DISH_NAME_WEIGHT),
+                    new TextIndex.Field(menuItem.getCategory(), DISH_CATEGORY_WEIGHT)));
+            menuItemIdsByRestaurant.computeIfAbsent(menuItem.getRestaurantId(), id -> new HashSet<>())
+                    .add(menuItem.getId());
+        }
+
+        private void replaceMenu(String restaurantId, List<MenuItem> available) {
+            removeMenu(restaurantId);
+            available.forEach(this::putMenuItem);
+        }
+
+        private void removeRestaurant(String restaurantId) {
+            restaurants.remove(restaurantId);
+            restaurantsById.remove(restaurantId);
+            removeMenu(restaurantId);
+        }
+
+        private void removeMenu(String restaurantId) {
+            Set<String> menuItemIds = menuItemIdsByRestaurant.remove(restaurantId);
+            if (menuItemIds != null) {
+                menuItemIds.forEach(menuItems::remove);
+            }
+        }
+
+        /**
+         * Better-rated restaurants and their dishes rank higher among similar matches
+         */
+        private static float boost(Double rating) {
+            return 1f + (rating != null ? rating.floatValue() : 0f) / 10f;
+        }
+    }
+}
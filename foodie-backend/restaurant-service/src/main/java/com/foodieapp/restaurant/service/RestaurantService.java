@@ -2,20 +2,25 @@ package com.foodieapp.restaurant.service;
 
 import com.foodieapp.restaurant.dto.response.RestaurantDTO;
 import com.foodieapp.restaurant.dto.response.RestaurantDetailResponse;
+import com.foodieapp.restaurant.dto.response.RestaurantPage;
 import com.foodieapp.restaurant.model.MenuItem;
 import com.foodieapp.restaurant.model.Restaurant;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface RestaurantService {
     // Restaurant operations
     RestaurantDetailResponse createRestaurant(Restaurant restaurant);
     Restaurant getRestaurantById(String id);
     RestaurantDetailResponse getRestaurantDetailById(String id);
-    List<RestaurantDetailResponse> getAllRestaurants();
-    List<RestaurantDetailResponse> getRestaurantsByOwner(String ownerId);
-    List<RestaurantDetailResponse> getRestaurantsByCuisine(String cuisine);
+    // Listings are newest first; cursor is the previous page's next cursor, or null for the first page
+    RestaurantPage getAllRestaurants(String cursor, int limit);
+    RestaurantPage getRestaurantsByOwner(String ownerId, String cursor, int limit);
+    RestaurantPage getRestaurantsByCuisine(String cuisine, String cursor, int limit);
+    void exportRestaurants(Consumer<RestaurantDetailResponse> consumer);
     RestaurantDetailResponse updateRestaurant(String id, Restaurant restaurant);
+    RestaurantDetailResponse verifyRestaurant(String id);
     void deleteRestaurant(String id);
 
     // Menu operations
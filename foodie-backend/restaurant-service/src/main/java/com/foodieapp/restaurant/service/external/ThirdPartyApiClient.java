@@ -3,21 +3,21 @@ package com.foodieapp.restaurant.service.external;
 import com.foodieapp.restaurant.model.Cuisine;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.http.*;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * Spoonacular food catalog. Calls are slow and may fail; only the catalog
+ * refresh uses this client, never a customer request.
+ */
 @Service
 public class ThirdPartyApiClient {
-    private static final Logger logger = LoggerFactory.getLogger(ThirdPartyApiClient.class);
-
     private final RestTemplate restTemplate;
     private final String spoonacularApiUrl;
     private final String spoonacularApiKey;
@@ -31,49 +31,65 @@ public class ThirdPartyApiClient {
         this.spoonacularApiKey = spoonacularApiKey;
     }
 
+    /**
+     * @throws RestClientException if the API can't be reached or returns no cuisines
+     */
     public List<Cuisine> getCuisineTypes() {
-        try {
-            String endpoint = spoonacularApiUrl + "/food/cuisines";
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("x-api-key", spoonacularApiKey);
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String[]> response = restTemplate.exchange(
-                    endpoint, HttpMethod.GET, entity, String[].class);
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return convertToCuisines(Arrays.asList(response.getBody()));
-            }
-        } catch (Exception e) {
-            logger.error("Error fetching cuisine types from Spoonacular API", e);
-        }
+        String endpoint = spoonacularApiUrl + "/food/cuisines";
+        ResponseEntity<String[]> response = restTemplate.exchange(
+                endpoint, HttpMethod.GET, createEntity(), String[].class);
 
-        // Return default cuisines if API fails
-        return getDefaultCuisines();
+        if (response.getBody() == null || response.getBody().length == 0) {
+            throw new RestClientException("No cuisines returned by " + endpoint);
+        }
+        return convertToCuisines(Arrays.asList(response.getBody()));
     }
 
+    /**
+     * @throws RestClientException if the API can't be reached or returns no ingredients
+     */
     public List<String> getIngredients() {
-        try {
-            String endpoint = spoonacularApiUrl + "/food/ingredients/search?number=100";
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("x-api-key", spoonacularApiKey);
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<IngredientsResponse> response = restTemplate.exchange(
-                    endpoint, HttpMethod.GET, entity, IngredientsResponse.class);
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return extractIngredientNames(response.getBody());
-            }
-        } catch (Exception e) {
-            logger.error("Error fetching ingredients from Spoonacular API", e);
+        String endpoint = spoonacularApiUrl + "/food/ingredients/search?number=100";
+        ResponseEntity<IngredientsResponse> response = restTemplate.exchange(
+                endpoint, HttpMethod.GET, createEntity(), IngredientsResponse.class);
+
+        List<String> ingredients = response.getBody() != null ? extractIngredientNames(response.getBody()) : List.of();
+        if (ingredients.isEmpty()) {
+            throw new RestClientException("No ingredients returned by " + endpoint);
         }
+        return ingredients;
+    }
+
+    /**
+     * Built-in cuisines, served until the catalog has been loaded once
+     */
+    public static List<Cuisine> getDefaultCuisines() {
+        String[] defaultCuisines = {
+                "Italian", "Chinese", "Indian", "Mexican", "Thai",
+                "Japanese", "French", "Greek", "Spanish", "Lebanese"
+        };
 
-        // Return default ingredients if API fails
-        return getDefaultIngredients();
+        return convertToCuisines(Arrays.asList(defaultCuisines));
+    }
+
+    /**
+     * Built-in ingredients, served until the catalog has been loaded once
+     */
+    public static List<String> getDefaultIngredients() {
+        return Arrays.asList(
+                "Chicken", "Beef", "Pork", "Tofu", "Rice",
+                "Pasta", "Tomatoes", "Onions", "Garlic", "Bell Peppers",
+                "Cheese", "Milk", "Eggs", "Flour", "Sugar"
+        );
     }
 
-    private List<Cuisine> convertToCuisines(List<String> cuisineNames) {
+    private HttpEntity<String> createEntity() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("x-api-key", spoonacularApiKey);
+        return new HttpEntity<>(headers);
+    }
+
+    private static List<Cuisine> convertToCuisines(List<String> cuisineNames) {
         return cuisineNames.stream()
                 .map(name -> {
                     Cuisine cuisine = new Cuisine();
@@ -86,31 +102,14 @@ public class ThirdPartyApiClient {
                 .collect(Collectors.toList());
     }
 
-    private List<Cuisine> getDefaultCuisines() {
-        String[] defaultCuisines = {
-                "Italian", "Chinese", "Indian", "Mexican", "Thai",
-                "Japanese", "French", "Greek", "Spanish", "Lebanese"
-        };
-
-        return convertToCuisines(Arrays.asList(defaultCuisines));
-    }
-
     private List<String> extractIngredientNames(IngredientsResponse response) {
-        if (response.results == null) return Collections.emptyList();
+        if (response.results == null) return List.of();
 
         return response.results.stream()
                 .map(ingredient -> ingredient.name)
                 .collect(Collectors.toList());
     }
 
-    private List<String> getDefaultIngredients() {
-        return Arrays.asList(
-                "Chicken", "Beef", "Pork", "Tofu", "Rice",
-                "Pasta", "Tomatoes", "Onions", "Garlic", "Bell Peppers",
-                "Cheese", "Milk", "Eggs", "Flour", "Sugar"
-        );
-    }
-
     private static class IngredientsResponse {
         public List<Ingredient> results;
     }
@@ -119,4 +118,4 @@ public class ThirdPartyApiClient {
         public String name;
         public long id;
     }
-}
\ No newline at end of file
+}
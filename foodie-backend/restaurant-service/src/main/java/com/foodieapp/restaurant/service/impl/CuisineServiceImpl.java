@@ -2,12 +2,11 @@ package com.foodieapp.restaurant.service.impl;
 
 import com.foodieapp.restaurant.dto.response.CuisineDTO;
 import com.foodieapp.restaurant.model.Cuisine;
+import com.foodieapp.restaurant.service.CatalogService;
 import com.foodieapp.restaurant.service.CuisineService;
-import com.foodieapp.restaurant.service.external.ThirdPartyApiClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
@@ -18,17 +17,16 @@ import java.util.stream.Collectors;
 public class CuisineServiceImpl implements CuisineService {
     private static final Logger logger = LoggerFactory.getLogger(CuisineServiceImpl.class);
 
-    private final ThirdPartyApiClient thirdPartyApiClient;
+    private final CatalogService catalogService;
 
     @Autowired
-    public CuisineServiceImpl(ThirdPartyApiClient thirdPartyApiClient) {
-        this.thirdPartyApiClient = thirdPartyApiClient;
+    public CuisineServiceImpl(CatalogService catalogService) {
+        this.catalogService = catalogService;
     }
 
     @Override
-    @Cacheable("popularCuisines")
     public List<CuisineDTO> getPopularCuisines() {
-        logger.info("Fetching popular cuisines");
+        logger.debug("Fetching popular cuisines");
         List<Cuisine> allCuisines = getAllCuisines();
 
         // For demo purposes - hard-coding popular cuisines
@@ -44,14 +42,11 @@ public class CuisineServiceImpl implements CuisineService {
     }
 
     @Override
-    @Cacheable("allCuisines")
     public List<Cuisine> getAllCuisines() {
-        logger.info("Fetching all cuisines from API");
-        return thirdPartyApiClient.getCuisineTypes();
+        return catalogService.getCuisines();
     }
 
     @Override
-    @Cacheable("cuisineNames")
     public List<String> getAllCuisineNames() {
         return getAllCuisines().stream()
                 .map(Cuisine::getName)
@@ -3,18 +3,26 @@ package com.foodieapp.restaurant.service.impl;
 import com.foodieapp.restaurant.dto.response.CuisineDTO;
 import com.foodieapp.restaurant.dto.response.RestaurantDTO;
 import com.foodieapp.restaurant.dto.response.RestaurantDetailResponse;
+import com.foodieapp.restaurant.dto.response.RestaurantPage;
 import com.foodieapp.restaurant.exception.RestaurantNotFoundException;
 import com.foodieapp.restaurant.model.Cuisine;
 import com.foodieapp.restaurant.model.MenuItem;
 import com.foodieapp.restaurant.model.Restaurant;
+import com.foodieapp.restaurant.repository.CustomRestaurantRepository;
 import com.foodieapp.restaurant.repository.MenuItemRepository;
 import com.foodieapp.restaurant.repository.RestaurantRepository;
 import com.foodieapp.restaurant.service.AuthorizationService;
 import com.foodieapp.restaurant.service.CuisineService;
+import com.foodieapp.restaurant.service.DiscoveryFeedMaterializer;
+import com.foodieapp.restaurant.service.MenuSnapshotCache;
+import com.foodieapp.restaurant.service.RestaurantFacetIndex;
+import com.foodieapp.restaurant.service.RestaurantGeoIndex;
 import com.foodieapp.restaurant.service.RestaurantOwnerVerificationService;
+import com.foodieapp.restaurant.service.RestaurantSearchIndex;
 import com.foodieapp.restaurant.service.RestaurantService;
 import com.foodieapp.restaurant.service.external.ThirdPartyApiClient;
 import com.foodieapp.restaurant.service.notification.NotificationService;
+import com.foodieapp.restaurant.util.PageCursor;
 import com.foodieapp.restaurant.util.mapper.EntityMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,48 +33,71 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.geo.Distance;
 import org.springframework.data.geo.Metrics;
 import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class RestaurantServiceImpl implements RestaurantService {
     private static final Logger logger = LoggerFactory.getLogger(RestaurantServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 200;
 
     private final RestaurantRepository restaurantRepository;
     private final MenuItemRepository menuItemRepository;
+    private final CustomRestaurantRepository customRestaurantRepository;
     private final MongoTemplate mongoTemplate;
     private final ThirdPartyApiClient thirdPartyApiClient;
     private final AuthorizationService authorizationService;
     private final NotificationService notificationService;
     private final CuisineService cuisineService;
     private final RestaurantOwnerVerificationService ownerVerificationService;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final RestaurantGeoIndex geoIndex;
+    private final DiscoveryFeedMaterializer feedMaterializer;
+    private final RestaurantSearchIndex searchIndex;
+    private final RestaurantFacetIndex facetIndex;
 
     @Autowired
     public RestaurantServiceImpl(
             RestaurantRepository restaurantRepository,
             MenuItemRepository menuItemRepository,
+            CustomRestaurantRepository customRestaurantRepository,
             MongoTemplate mongoTemplate,
             ThirdPartyApiClient thirdPartyApiClient,
             AuthorizationService authorizationService,
             NotificationService notificationService,
             @Lazy CuisineService cuisineService,
-            @Lazy RestaurantOwnerVerificationService ownerVerificationService) {
+            @Lazy RestaurantOwnerVerificationService ownerVerificationService,
+            MenuSnapshotCache menuSnapshotCache,
+            RestaurantGeoIndex geoIndex,
+            DiscoveryFeedMaterializer feedMaterializer,
+            RestaurantSearchIndex searchIndex,
+            RestaurantFacetIndex facetIndex) {
         this.restaurantRepository = restaurantRepository;
         this.menuItemRepository = menuItemRepository;
+        this.customRestaurantRepository = customRestaurantRepository;
         this.mongoTemplate = mongoTemplate;
         this.thirdPartyApiClient = thirdPartyApiClient;
         this.authorizationService = authorizationService;
         this.notificationService = notificationService;
         this.cuisineService = cuisineService;
         this.ownerVerificationService = ownerVerificationService;
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.geoIndex = geoIndex;
+        this.feedMaterializer = feedMaterializer;
+        this.searchIndex = searchIndex;
+        this.facetIndex = facetIndex;
     }
 
     @Override
@@ -85,7 +116,14 @@ public class RestaurantServiceImpl implements RestaurantService {
         restaurant.setCreatedAt(LocalDateTime.now());
         restaurant.setIsActive(true);
         restaurant.setIsVerified(false);
-        return EntityMapper.toRestaurantResponse(restaurantRepository.save(restaurant));
+        if (restaurant.hasCoordinates()) {
+            restaurant.setCoordinates(restaurant.getLatitude(), restaurant.getLongitude());
+        }
+        Restaurant saved = restaurantRepository.save(restaurant);
+        searchIndex.restaurantSaved(saved);
+        facetIndex.restaurantSaved(saved);
+        feedMaterializer.markStale();
+        return EntityMapper.toRestaurantResponse(saved);
     }
 
     @Override
@@ -101,68 +139,122 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
-    public List<RestaurantDetailResponse> getAllRestaurants() {
-        return restaurantRepository.findByIsActiveTrue().stream()
-                .map(EntityMapper::toRestaurantResponse)
-                .collect(Collectors.toList());
+    public RestaurantPage getAllRestaurants(String cursor, int limit) {
+        return findPage(Criteria.where("isActive").is(true), cursor, limit);
     }
 
     @Override
-    public List<RestaurantDetailResponse> getRestaurantsByOwner(String ownerId) {
-        return restaurantRepository.findByOwnerId(ownerId).stream()
-                .map(EntityMapper::toRestaurantResponse)
-                .collect(Collectors.toList());
+    public RestaurantPage getRestaurantsByOwner(String ownerId, String cursor, int limit) {
+        return findPage(Criteria.where("ownerId").is(ownerId), cursor, limit);
+    }
+
+    @Override
+    public RestaurantPage getRestaurantsByCuisine(String cuisine, String cursor, int limit) {
+        return findPage(Criteria.where("cuisine").is(cuisine), cursor, limit);
     }
 
     @Override
-    public List<RestaurantDetailResponse> getRestaurantsByCuisine(String cuisine) {
-        return restaurantRepository.findByCuisine(cuisine).stream()
+    public void exportRestaurants(Consumer<RestaurantDetailResponse> consumer) {
+        try (Stream<Restaurant> restaurants = customRestaurantRepository.stream(Criteria.where("isActive").is(true))) {
+            restaurants.map(EntityMapper::toRestaurantResponse).forEach(consumer);
+        }
+    }
+
+    /**
+     * Load one page plus one extra restaurant to learn whether another page follows
+     */
+    private RestaurantPage findPage(Criteria filter, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Restaurant> restaurants = customRestaurantRepository.findPage(filter, PageCursor.decode(cursor), pageSize + 1);
+
+        String nextCursor = null;
+        if (restaurants.size() > pageSize) {
+            restaurants = restaurants.subList(0, pageSize);
+            Restaurant last = restaurants.get(pageSize - 1);
+            nextCursor = PageCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new RestaurantPage(restaurants.stream()
                 .map(EntityMapper::toRestaurantResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), nextCursor);
     }
 
     @Override
     public RestaurantDetailResponse updateRestaurant(String id, Restaurant restaurantDetails) {
-        Restaurant restaurant = getRestaurantById(id);
-        updateRestaurantFields(restaurant, restaurantDetails);
-        return EntityMapper.toRestaurantResponse(restaurantRepository.save(restaurant));
+        Restaurant current = getRestaurantById(id);
+        boolean newlyVerified = Boolean.TRUE.equals(restaurantDetails.getIsVerified())
+                && !Boolean.TRUE.equals(current.getIsVerified());
+
+        // Only the editable fields: counters and rating totals are maintained with $inc elsewhere
+        Update update = new Update()
+                .set("name", restaurantDetails.getName())
+                .set("description", restaurantDetails.getDescription())
+                .set("address", restaurantDetails.getAddress())
+                .set("phoneNumber", restaurantDetails.getPhoneNumber())
+                .set("email", restaurantDetails.getEmail())
+                .set("cuisine", restaurantDetails.getCuisine())
+                .set("openingHours", restaurantDetails.getOpeningHours())
+                .set("closingHours", restaurantDetails.getClosingHours())
+                .set("imageUrl", restaurantDetails.getImageUrl())
+                .set("isVerified", restaurantDetails.getIsVerified());
+        if (restaurantDetails.hasCoordinates()) {
+            update.set("latitude", restaurantDetails.getLatitude())
+                    .set("longitude", restaurantDetails.getLongitude())
+                    .set("location", new double[] {restaurantDetails.getLongitude(), restaurantDetails.getLatitude()});
+        }
+        Restaurant saved = applyUpdate(id, update);
+
+        if (newlyVerified) {
+            sendVerificationNotification(saved);
+        }
+        return EntityMapper.toRestaurantResponse(saved);
+    }
+
+    @Override
+    public RestaurantDetailResponse verifyRestaurant(String id) {
+        Restaurant current = getRestaurantById(id);
+        Restaurant saved = applyUpdate(id, new Update().set("isVerified", true));
+        if (!Boolean.TRUE.equals(current.getIsVerified())) {
+            sendVerificationNotification(saved);
+        }
+        return EntityMapper.toRestaurantResponse(saved);
     }
 
-    private void updateRestaurantFields(Restaurant restaurant, Restaurant restaurantDetails) {
-        restaurant.setName(restaurantDetails.getName());
-        restaurant.setDescription(restaurantDetails.getDescription());
-        restaurant.setAddress(restaurantDetails.getAddress());
-        restaurant.setPhoneNumber(restaurantDetails.getPhoneNumber());
-        restaurant.setEmail(restaurantDetails.getEmail());
-        restaurant.setCuisine(restaurantDetails.getCuisine());
-        restaurant.setOpeningHours(restaurantDetails.getOpeningHours());
-        restaurant.setClosingHours(restaurantDetails.getClosingHours());
-        restaurant.setImageUrl(restaurantDetails.getImageUrl());
-        restaurant.setIsVerified(restaurantDetails.getIsVerified());
-        restaurant.setUpdatedAt(LocalDateTime.now());
-
-        // If restaurant is verified, send notification
-        if (Boolean.TRUE.equals(restaurantDetails.getIsVerified()) &&
-                (restaurant.getIsVerified() == null || !restaurant.getIsVerified())) {
-            try {
-                // Get owner details and send notification
-                Map<String, Object> ownerDetails = authorizationService.getUserDetails(restaurant.getOwnerId());
-                if (ownerDetails != null && ownerDetails.containsKey("email")) {
-                    notificationService.sendRestaurantVerificationNotification(restaurant);
-                }
-            } catch (Exception e) {
-                logger.error("Error sending verification notification: {}", e.getMessage(), e);
-                // Continue processing even if notification fails
+    private void sendVerificationNotification(Restaurant restaurant) {
+        try {
+            // Get owner details and send notification
+            Map<String, Object> ownerDetails = authorizationService.getUserDetails(restaurant.getOwnerId());
+            if (ownerDetails != null && ownerDetails.containsKey("email")) {
+                notificationService.sendRestaurantVerificationNotification(restaurant);
             }
+        } catch (Exception e) {
+            logger.error("Error sending verification notification: {}", e.getMessage(), e);
+            // Continue processing even if notification fails
         }
     }
 
     @Override
     public void deleteRestaurant(String id) {
-        Restaurant restaurant = getRestaurantById(id);
-        restaurant.setIsActive(false);
-        restaurant.setUpdatedAt(LocalDateTime.now());
-        restaurantRepository.save(restaurant);
+        applyUpdate(id, new Update().set("isActive", false));
+    }
+
+    /**
+     * Set the given fields and updatedAt, then refresh the in-memory indexes from the updated document
+     */
+    private Restaurant applyUpdate(String id, Update update) {
+        Restaurant saved = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(id)),
+                update.set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                Restaurant.class);
+        if (saved == null) {
+            throw new RestaurantNotFoundException(id);
+        }
+        geoIndex.restaurantSaved(saved);
+        searchIndex.restaurantSaved(saved);
+        facetIndex.restaurantSaved(saved);
+        feedMaterializer.markStale();
+        return saved;
     }
 
     @Override
@@ -179,7 +271,11 @@ public class RestaurantServiceImpl implements RestaurantService {
         }
 
         menuItem.setRestaurantId(restaurantId);
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        menuSnapshotCache.menuChanged(restaurantId);
+        searchIndex.menuChanged(restaurantId);
+        facetIndex.menuChanged(restaurantId);
+        return saved;
     }
 
     @Override
@@ -217,6 +313,9 @@ public class RestaurantServiceImpl implements RestaurantService {
         menuItem.setId(itemId);
 
         MenuItem updated = menuItemRepository.save(menuItem);
+        menuSnapshotCache.menuChanged(restaurantId);
+        searchIndex.menuChanged(restaurantId);
+        facetIndex.menuChanged(restaurantId);
 
         try {
             // Send notification if needed
@@ -244,6 +343,9 @@ public class RestaurantServiceImpl implements RestaurantService {
         }
 
         menuItemRepository.deleteById(itemId);
+        menuSnapshotCache.menuChanged(restaurantId);
+        searchIndex.menuChanged(restaurantId);
+        facetIndex.menuChanged(restaurantId);
     }
 
     @Override
@@ -258,7 +360,7 @@ public class RestaurantServiceImpl implements RestaurantService {
         logger.info("Fetching popular restaurants with limit: {}", limit);
         // Use repository method instead of MongoTemplate
         List<Restaurant> restaurants = restaurantRepository.findActiveAndVerified(
-                PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "avgRating", "orderCount"))
+                PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "bayesianRating", "orderCount"))
         );
 
         return restaurants.stream()
@@ -272,6 +374,13 @@ public class RestaurantServiceImpl implements RestaurantService {
         logger.info("Fetching nearby restaurants at lat: {}, lng: {}, radius: {}km, limit: {}",
                 latitude, longitude, radiusInKm, limit);
 
+        if (geoIndex.isReady()) {
+            return geoIndex.nearest(latitude, longitude, radiusInKm, limit).stream()
+                    .map(EntityMapper::toRestaurantResponse)
+                    .collect(Collectors.toList());
+        }
+
+        // Until the index has loaded, ask the database
         Point location = new Point(longitude, latitude);
         Distance distance = new Distance(radiusInKm, Metrics.KILOMETERS);
 
@@ -305,7 +414,7 @@ public class RestaurantServiceImpl implements RestaurantService {
         logger.info("Fetching top rated restaurants with limit: {}", limit);
         // Use repository method instead of MongoTemplate
         List<Restaurant> restaurants = restaurantRepository.findTopRated(
-                4.0, PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "avgRating"))
+                4.0, PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "bayesianRating"))
         );
 
         return restaurants.stream()
@@ -331,7 +440,7 @@ public class RestaurantServiceImpl implements RestaurantService {
                     .collect(Collectors.toList());
 
             List<Restaurant> topRatedRestaurants = restaurantRepository.findActiveVerifiedNotIn(
-                    existingIds, PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "avgRating"))
+                    existingIds, PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "bayesianRating"))
             );
             featuredRestaurants.addAll(topRatedRestaurants);
 
@@ -0,0 +1,229 @@
+package com.foodieapp.restaurant.util;
+
+import com.foodieapp.restaurant.model.Restaurant;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Immutable index of restaurants by fixed-size latitude/longitude cells.
+ *
+ * A nearby query only visits the cells overlapping the bounding box of the
+ * search circle and ranks their restaurants by great-circle distance.
+ * Changes produce a new grid that shares every untouched cell with this one,
+ * so readers never need a lock.
+ */
+public final class GeoGrid {
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final Restaurant[] NO_RESTAURANTS = new Restaurant[0];
+
+    private final double cellDegrees;
+    private final double columnDegrees;
+    private final int rows;
+    private final int columns;
+    private final Map<Long, Restaurant[]> cells;
+    private final Map<String, Restaurant> byId;
+
+    private GeoGrid(double cellDegrees, Map<Long, Restaurant[]> cells, Map<String, Restaurant> byId) {
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees) + 1;
+        // Columns split the full circle evenly so that wrapping at the antimeridian lines up
+        this.columns = Math.max(1, (int) Math.round(360 / cellDegrees));
+        this.columnDegrees = 360.0 / columns;
+        this.cells = cells;
+        this.byId = byId;
+    }
+
+    /**
+     * @param cellKm Cell edge length along a meridian; a few times smaller than
+     *               typical search radii keeps the number of visited cells low
+     */
+    public static GeoGrid empty(double cellKm) {
+        if (cellKm <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        return new GeoGrid(cellKm / KM_PER_DEGREE, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    /**
+     * A grid with the given restaurants added or replaced (matched by id) and
+     * the given ids removed. Restaurants must have coordinates.
+     */
+    public GeoGrid with(Collection<Restaurant> upserts, Collection<String> removedIds) {
+        if (upserts.isEmpty() && removedIds.isEmpty()) {
+            return this;
+        }
+
+        Map<String, Restaurant> newById = new HashMap<>(byId);
+        Set<String> changedIds = new HashSet<>(removedIds);
+        Set<Long> touchedCells = new HashSet<>();
+        for (String id : removedIds) {
+            Restaurant previous = newById.remove(id);
+            if (previous != null) {
+                touchedCells.add(cellOf(previous));
+            }
+        }
+        for (Restaurant restaurant : upserts) {
+            Restaurant previous = newById.put(restaurant.getId(), restaurant);
+            if (previous != null) {
+                touchedCells.add(cellOf(previous));
+            }
+            changedIds.add(restaurant.getId());
+            touchedCells.add(cellOf(restaurant));
+        }
+
+        // Rebuild only the touched cells: keep their unchanged members, then add the upserts
+        Map<Long, List<Restaurant>> rebuilt = new HashMap<>();
+        for (Long cell : touchedCells) {
+            List<Restaurant> members = new ArrayList<>();
+            for (Restaurant restaurant : cells.getOrDefault(cell, NO_RESTAURANTS)) {
+                if (!changedIds.contains(restaurant.getId())) {
+                    members.add(restaurant);
+                }
+            }
+            rebuilt.put(cell, members);
+        }
+        for (Restaurant restaurant : upserts) {
+            if (newById.get(restaurant.getId()) == restaurant) {
+                rebuilt.get(cellOf(restaurant)).add(restaurant);
+            }
+        }
+
+        Map<Long, Restaurant[]> newCells = new HashMap<>(cells);
+        rebuilt.forEach((cell, members) -> {
+            if (members.isEmpty()) {
+                newCells.remove(cell);
+            } else {
+                newCells.put(cell, members.toArray(NO_RESTAURANTS));
+            }
+        });
+        return new GeoGrid(cellDegrees, newCells, newById);
+    }
+
+    /**
+     * Up to limit restaurants within radiusKm of the point, nearest first
+     */
+    public List<Restaurant> nearest(double latitude, double longitude, double radiusKm, int limit) {
+        if (limit <= 0 || byId.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        double latitudeSpan = radiusKm / KM_PER_DEGREE;
+        double widestLatitude = Math.min(90, Math.abs(latitude) + latitudeSpan);
+        double cosLatitude = Math.cos(Math.toRadians(widestLatitude));
+        double longitudeSpan = cosLatitude < 1e-9 ? 180 : Math.min(180, latitudeSpan / cosLatitude);
+
+        int firstRow = Math.max(0, row(latitude - latitudeSpan));
+        int lastRow = Math.min(rows - 1, row(latitude + latitudeSpan));
+        int firstColumn = column(longitude - longitudeSpan);
+        int lastColumn = column(longitude + longitudeSpan);
+        if (lastColumn - firstColumn + 1 >= columns) {
+            firstColumn = 0;
+            lastColumn = columns - 1;
+        }
+
+        // Candidates are ranked by the haversine term, which grows with distance,
+        // and points outside the bounding box are skipped before any trigonometry
+        double maxHaversine = haversine(radiusKm / EARTH_RADIUS_KM);
+        double cosQueryLatitude = Math.cos(Math.toRadians(latitude));
+        PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble((Candidate candidate) -> candidate.haversine).reversed());
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                Restaurant[] members = cells.get(key(row, Math.floorMod(column, columns)));
+                if (members == null) {
+                    continue;
+                }
+                for (Restaurant restaurant : members) {
+                    if (Math.abs(restaurant.getLatitude() - latitude) > latitudeSpan) {
+                        continue;
+                    }
+                    double h = haversine(latitude, longitude, cosQueryLatitude,
+                            restaurant.getLatitude(), restaurant.getLongitude());
+                    if (h > maxHaversine) {
+                        continue;
+                    }
+                    if (best.size() < limit) {
+                        best.add(new Candidate(restaurant, h));
+                    } else if (h < best.peek().haversine) {
+                        best.poll();
+                        best.add(new Candidate(restaurant, h));
+                    }
+                }
+            }
+        }
+
+        Candidate[] ranked = best.toArray(new Candidate[0]);
+        Arrays.sort(ranked, Comparator.comparingDouble(candidate -> candidate.haversine));
+        List<Restaurant> result = new ArrayList<>(ranked.length);
+        for (Candidate candidate : ranked) {
+            result.add(candidate.restaurant);
+        }
+        return result;
+    }
+
+    public boolean contains(String restaurantId) {
+        return byId.containsKey(restaurantId);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Great-circle distance by the haversine formula
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double h = haversine(latitude1, longitude1, Math.cos(Math.toRadians(latitude1)), latitude2, longitude2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+    private static double haversine(double latitude1, double longitude1, double cosLatitude1,
+                                    double latitude2, double longitude2) {
+        double sinHalfLatitude = Math.sin(Math.toRadians(latitude2 - latitude1) / 2);
+        double sinHalfLongitude = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        return sinHalfLatitude * sinHalfLatitude
+                + cosLatitude1 * Math.cos(Math.toRadians(latitude2)) * sinHalfLongitude * sinHalfLongitude;
+    }
+
+    private static double haversine(double angleRadians) {
+        double sinHalf = Math.sin(angleRadians / 2);
+        return sinHalf * sinHalf;
+    }
+
+    private long cellOf(Restaurant restaurant) {
+        return key(row(restaurant.getLatitude()), Math.floorMod(column(restaurant.getLongitude()), columns));
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellDegrees);
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor((longitude + 180) / columnDegrees);
+    }
+
+    private long key(int row, int column) {
+        return (long) row * columns + column;
+    }
+
+    private static final class Candidate {
+        private final Restaurant restaurant;
+        private final double haversine;
+
+        private Candidate(Restaurant restaurant, double haversine) {
+            this.restaurant = restaurant;
+            this.haversine = haversine;
+        }
+    }
+}
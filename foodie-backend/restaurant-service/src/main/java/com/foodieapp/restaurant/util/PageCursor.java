@@ -0,0 +1,62 @@
+package com.foodieapp.restaurant.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination over (createdAt, id),
+ * newest first. Clients pass it back unchanged to get the next page.
+ * Legacy documents without a createdAt sort last and are paged by id alone.
+ */
+public final class PageCursor {
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime createdAt;
+    private final String id;
+
+    private PageCursor(LocalDateTime createdAt, String id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    /**
+     * @param createdAt Creation time of the last document, null if it has none
+     */
+    public static PageCursor of(LocalDateTime createdAt, String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("A page cursor needs an id");
+        }
+        return new PageCursor(createdAt, id);
+    }
+
+    /**
+     * Parse a token produced by {@link #encode()}
+     * @return The cursor, or null for a missing token (first page)
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            String createdAt = value.substring(0, separator);
+            return of(createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt), value.substring(separator + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    public String encode() {
+        String value = (createdAt != null ? createdAt.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public String getId() { return id; }
+}
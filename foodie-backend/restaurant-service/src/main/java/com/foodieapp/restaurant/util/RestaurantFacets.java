@@ -0,0 +1,314 @@
+package com.foodieapp.restaurant.util;
+
+import com.foodieapp.restaurant.dto.request.RestaurantFilterRequest;
+import com.foodieapp.restaurant.dto.response.RestaurantDetailResponse;
+import com.foodieapp.restaurant.dto.response.RestaurantFilterResponse;
+import com.foodieapp.restaurant.model.Restaurant;
+import com.foodieapp.restaurant.util.mapper.EntityMapper;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Facet bitmaps over active restaurants: cuisine, vegetarian dishes available,
+ * rating band, open now and verified.
+ *
+ * Each restaurant gets a dense ordinal on first sight, and every facet value
+ * is a compressed bitmap of ordinals, so a filter is an intersection and a
+ * facet count is an intersection cardinality. Open-now is derived from the
+ * opening hours once per minute.
+ *
+ * Not thread-safe; callers serialize writes against reads.
+ */
+public final class RestaurantFacets {
+    public static final double[] RATING_BANDS = {3.0, 3.5, 4.0, 4.5};
+
+    private static final int MAX_RESULTS = 10_000;
+    private static final int UNKNOWN_MINUTE = -1;
+    private static final DateTimeFormatter HOURS = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<Restaurant> restaurants = new ArrayList<>();
+    private int[] opensAt = new int[16];
+    private int[] closesAt = new int[16];
+
+    private final RoaringBitmap active = new RoaringBitmap();
+    private final RoaringBitmap verified = new RoaringBitmap();
+    private final RoaringBitmap vegetarian = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> byCuisine = new TreeMap<>();
+    private final Map<String, String> cuisineNames = new HashMap<>();
+    private final RoaringBitmap[] ratingAtLeast = new RoaringBitmap[RATING_BANDS.length];
+
+    // Replaced as a whole so concurrent readers may share it
+    private volatile OpenNow openNow;
+
+    public RestaurantFacets() {
+        for (int band = 0; band < RATING_BANDS.length; band++) {
+            ratingAtLeast[band] = new RoaringBitmap();
+        }
+    }
+
+    /**
+     * Index a restaurant or replace its previous facets; inactive restaurants drop out of every result
+     */
+    public void put(Restaurant restaurant) {
+        Integer ordinal = ordinals.get(restaurant.getId());
+        if (ordinal == null) {
+            ordinal = restaurants.size();
+            ordinals.put(restaurant.getId(), ordinal);
+            restaurants.add(null);
+            if (ordinal == opensAt.length) {
+                opensAt = Arrays.copyOf(opensAt, ordinal * 2);
+                closesAt = Arrays.copyOf(closesAt, ordinal * 2);
+            }
+        } else {
+            clear(ordinal);
+        }
+        openNow = null;
+
+        if (!Boolean.TRUE.equals(restaurant.getIsActive())) {
+            return;
+        }
+        restaurants.set(ordinal, restaurant);
+        active.add(ordinal);
+        if (Boolean.TRUE.equals(restaurant.getIsVerified())) {
+            verified.add(ordinal);
+        }
+        String cuisine = cuisineKey(restaurant.getCuisine());
+        if (cuisine != null) {
+            byCuisine.computeIfAbsent(cuisine, key -> new RoaringBitmap()).add(ordinal);
+            cuisineNames.putIfAbsent(cuisine, restaurant.getCuisine().trim());
+        }
+        Double rating = restaurant.getRating();
+        for (int band = 0; band < RATING_BANDS.length; band++) {
+            if (rating != null && rating >= RATING_BANDS[band]) {
+                ratingAtLeast[band].add(ordinal);
+            }
+        }
+        opensAt[ordinal] = minuteOfDay(restaurant.getOpeningHours());
+        closesAt[ordinal] = minuteOfDay(restaurant.getClosingHours());
+    }
+
+    /**
+     * Record whether a known restaurant has available vegetarian dishes
+     */
+    public void setVegetarian(String restaurantId, boolean hasVegetarianDishes) {
+        Integer ordinal = ordinals.get(restaurantId);
+        if (ordinal == null) {
+            return;
+        }
+        if (hasVegetarianDishes) {
+            vegetarian.add(ordinal);
+        } else {
+            vegetarian.remove(ordinal);
+        }
+    }
+
+    /**
+     * Active restaurants
+     */
+    public int size() {
+        return active.getCardinality();
+    }
+
+    /**
+     * Restaurants matching every selected facet, best rated first, with counts per facet value
+     * @throws IllegalArgumentException if minRating is not one of the rating bands
+     */
+    public RestaurantFilterResponse filter(RestaurantFilterRequest request, LocalTime now) {
+        Map<String, RoaringBitmap> selected = new LinkedHashMap<>();
+        if (request.getCuisine() != null && !request.getCuisine().isEmpty()) {
+            RoaringBitmap cuisines = new RoaringBitmap();
+            for (String cuisine : request.getCuisine()) {
+                RoaringBitmap bitmap = byCuisine.get(cuisineKey(cuisine));
+                if (bitmap != null) {
+                    cuisines.or(bitmap);
+                }
+            }
+            selected.put("cuisine", cuisines);
+        }
+        if (Boolean.TRUE.equals(request.getVegetarian())) {
+            selected.put("vegetarian", vegetarian);
+        }
+        if (request.getMinRating() != null) {
+            selected.put("rating", ratingAtLeast[band(request.getMinRating())]);
+        }
+        if (Boolean.TRUE.equals(request.getOpenNow())) {
+            selected.put("openNow", openAt(now));
+        }
+        if (Boolean.TRUE.equals(request.getVerified())) {
+            selected.put("verified", verified);
+        }
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        RoaringBitmap base = matchingAllExcept(selected, "cuisine");
+        Map<String, Integer> cuisineCounts = new LinkedHashMap<>();
+        byCuisine.forEach((key, bitmap) -> {
+            int count = RoaringBitmap.andCardinality(base, bitmap);
+            if (count > 0) {
+                cuisineCounts.put(cuisineNames.get(key), count);
+            }
+        });
+        facets.put("cuisine", cuisineCounts);
+
+        RoaringBitmap withoutRating = matchingAllExcept(selected, "rating");
+        Map<String, Integer> ratingCounts = new LinkedHashMap<>();
+        for (int band = 0; band < RATING_BANDS.length; band++) {
+            ratingCounts.put(RATING_BANDS[band] + "+", RoaringBitmap.andCardinality(withoutRating, ratingAtLeast[band]));
+        }
+        facets.put("rating", ratingCounts);
+
+        facets.put("vegetarian", Map.of("true",
+                RoaringBitmap.andCardinality(matchingAllExcept(selected, "vegetarian"), vegetarian)));
+        facets.put("openNow", Map.of("true",
+                RoaringBitmap.andCardinality(matchingAllExcept(selected, "openNow"), openAt(now))));
+        facets.put("verified", Map.of("true",
+                RoaringBitmap.andCardinality(matchingAllExcept(selected, "verified"), verified)));
+
+        RoaringBitmap matching = matchingAllExcept(selected, null);
+        int size = Math.max(1, request.getSize());
+        int page = Math.max(0, request.getPage());
+        return new RestaurantFilterResponse(matching.getLongCardinality(), page, size, facets,
+                bestRated(matching, page, size));
+    }
+
+    private RoaringBitmap matchingAllExcept(Map<String, RoaringBitmap> selected, String excludedFacet) {
+        RoaringBitmap result = active.clone();
+        selected.forEach((facet, bitmap) -> {
+            if (!facet.equals(excludedFacet)) {
+                result.and(bitmap);
+            }
+        });
+        return result;
+    }
+
+    private List<RestaurantDetailResponse> bestRated(RoaringBitmap matching, int page, int size) {
+        int wanted = (int) Math.min((long) (page + 1) * size, MAX_RESULTS);
+        int skipped = page * size;
+        if (skipped >= wanted) {
+            return List.of();
+        }
+
+        // Keep the best `wanted` restaurants with the worst on top of the heap
+        Comparator<Integer> best = Comparator
+                .comparingDouble((Integer ordinal) -> rating(restaurants.get(ordinal))).reversed()
+                .thenComparing(ordinal -> restaurants.get(ordinal).getId());
+        PriorityQueue<Integer> top = new PriorityQueue<>(wanted + 1, best.reversed());
+        matching.forEach((int ordinal) -> {
+            top.add(ordinal);
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        });
+
+        List<Integer> ranked = new ArrayList<>(top);
+        ranked.sort(best);
+        List<RestaurantDetailResponse> result = new ArrayList<>(Math.max(0, ranked.size() - skipped));
+        for (int i = skipped; i < ranked.size(); i++) {
+            result.add(EntityMapper.toRestaurantResponse(restaurants.get(ranked.get(i))));
+        }
+        return result;
+    }
+
+    private RoaringBitmap openAt(LocalTime now) {
+        int minute = now.getHour() * 60 + now.getMinute();
+        OpenNow current = openNow;
+        if (current != null && current.minute == minute) {
+            return current.bitmap;
+        }
+
+        RoaringBitmap open = new RoaringBitmap();
+        active.forEach((int ordinal) -> {
+            int opens = opensAt[ordinal];
+            int closes = closesAt[ordinal];
+            if (opens == UNKNOWN_MINUTE || closes == UNKNOWN_MINUTE) {
+                return;
+            }
+            // Hours like 18:00-02:00 run past midnight
+            boolean isOpen = opens <= closes
+                    ? opens <= minute && minute < closes
+                    : minute >= opens || minute < closes;
+            if (isOpen) {
+                open.add(ordinal);
+            }
+        });
+        openNow = new OpenNow(minute, open);
+        return open;
+    }
+
+    private void clear(int ordinal) {
+        Restaurant previous = restaurants.get(ordinal);
+        if (previous == null) {
+            return;
+        }
+        restaurants.set(ordinal, null);
+        active.remove(ordinal);
+        verified.remove(ordinal);
+        String cuisine = cuisineKey(previous.getCuisine());
+        RoaringBitmap cuisineBitmap = cuisine != null ? byCuisine.get(cuisine) : null;
+        if (cuisineBitmap != null) {
+            cuisineBitmap.remove(ordinal);
+            if (cuisineBitmap.isEmpty()) {
+                byCuisine.remove(cuisine);
+                cuisineNames.remove(cuisine);
+            }
+        }
+        for (RoaringBitmap band : ratingAtLeast) {
+            band.remove(ordinal);
+        }
+    }
+
+    private static int band(double minRating) {
+        for (int band = 0; band < RATING_BANDS.length; band++) {
+            if (RATING_BANDS[band] == minRating) {
+                return band;
+            }
+        }
+        throw new IllegalArgumentException("minRating must be one of " + Arrays.toString(RATING_BANDS));
+    }
+
+    private static double rating(Restaurant restaurant) {
+        return restaurant.getRating() != null ? restaurant.getRating() : 0;
+    }
+
+    private static String cuisineKey(String cuisine) {
+        return cuisine == null || cuisine.isBlank() ? null : cuisine.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Minutes since midnight of an HH:mm time, or UNKNOWN_MINUTE; parsed like
+     * {@link EntityMapper#isRestaurantOpen} so the filter agrees with the isOpen flag
+     */
+    private static int minuteOfDay(String time) {
+        if (time == null) {
+            return UNKNOWN_MINUTE;
+        }
+        try {
+            LocalTime parsed = LocalTime.parse(time, HOURS);
+            return parsed.getHour() * 60 + parsed.getMinute();
+        } catch (Exception e) {
+            return UNKNOWN_MINUTE;
+        }
+    }
+
+    private static final class OpenNow {
+        private final int minute;
+        private final RoaringBitmap bitmap;
+
+        private OpenNow(int minute, RoaringBitmap bitmap) {
+            this.minute = minute;
+            this.bitmap = bitmap;
+        }
+    }
+}
@@ -0,0 +1,479 @@
+package com.foodieapp.restaurant.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index for search-as-you-type over short text fields.
+ *
+ * A query matches documents that contain every query term. Terms of four or
+ * more characters also match indexed terms one edit away, and the last term
+ * matches as a prefix unless the query ends with a space. Hits are ranked by
+ * field weight, term rarity, how exact the match was and the document boost.
+ *
+ * Reads run concurrently and writes take an exclusive lock. Replaced and
+ * removed documents leave stale postings behind that queries skip; rebuilding
+ * the index from scratch reclaims them.
+ */
+public final class TextIndex<T> {
+    private static final Pattern APOSTROPHES = Pattern.compile("['’]");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final float PREFIX_MATCH = 0.8f;
+    private static final float FUZZY_MATCH = 0.6f;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<Document<T>> documents = new ArrayList<>();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    // Every term under each of its single-character deletions, for typo lookups
+    private final Map<String, List<String>> deletions = new HashMap<>();
+
+    /**
+     * Add a document, replacing any previous one with the same key
+     *
+     * @param boost Multiplies the document's score, e.g. by rating
+     */
+    public void put(String key, T value, float boost, Collection<Field> fields) {
+        Map<String, Float> weights = new HashMap<>();
+        for (Field field : fields) {
+            List<String> tokens = tokenize(field.text);
+            // Matching one word of a two-word name says more than one word of a paragraph
+            float weight = tokens.isEmpty() ? 0 : field.weight / (float) Math.sqrt(tokens.size());
+            for (String token : tokens) {
+                weights.merge(token, weight, Math::max);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            int ordinal = documents.size();
+            documents.add(new Document<>(value, boost));
+            ordinals.put(key, ordinal);
+            weights.forEach((term, weight) -> postings(term).add(ordinal, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit matching values accepted by the filter, best first
+     */
+    public List<T> search(String query, int limit, Predicate<? super T> filter) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        boolean lastIsPrefix = !Character.isWhitespace(query.charAt(query.length() - 1));
+
+        lock.readLock().lock();
+        try {
+            List<List<TermMatch>> matchesPerToken = new ArrayList<>(tokens.size());
+            for (int i = 0; i < tokens.size(); i++) {
+                List<TermMatch> matches = expand(tokens.get(i), lastIsPrefix && i == tokens.size() - 1);
+                if (matches.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                matchesPerToken.add(matches);
+            }
+            // Start from the rarest token so every later step only narrows a small candidate set
+            matchesPerToken.sort(Comparator.comparingLong(TextIndex::postingCount));
+
+            Candidates candidates = Candidates.union(matchesPerToken.get(0), documents.size());
+            for (int i = 1; i < matchesPerToken.size() && candidates.size > 0; i++) {
+                candidates = candidates.intersect(matchesPerToken.get(i));
+            }
+            return rank(candidates, limit, filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Live documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cased words of the text with accents and apostrophes removed
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        normalized = APOSTROPHES.matcher(normalized).replaceAll("").toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void removeLocked(String key) {
+        Integer ordinal = ordinals.remove(key);
+        if (ordinal != null) {
+            documents.set(ordinal, null);
+        }
+    }
+
+    private Postings postings(String term) {
+        Postings postings = terms.get(term);
+        if (postings == null) {
+            postings = new Postings();
+            terms.put(term, postings);
+            if (term.length() >= MIN_FUZZY_LENGTH - 1) {
+                for (String deletion : deletionsOf(term)) {
+                    deletions.computeIfAbsent(deletion, d -> new ArrayList<>(1)).add(term);
+                }
+            }
+        }
+        return postings;
+    }
+
+    private List<TermMatch> expand(String token, boolean prefix) {
+        Map<String, Float> qualities = new HashMap<>();
+        if (terms.containsKey(token)) {
+            qualities.put(token, 1f);
+        }
+
+        if (prefix) {
+            PriorityQueue<Map.Entry<String, Postings>> mostCommon = new PriorityQueue<>(
+                    Comparator.comparingInt(entry -> entry.getValue().size));
+            for (Map.Entry<String, Postings> entry
+                    : terms.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                mostCommon.add(entry);
+                if (mostCommon.size() > MAX_PREFIX_EXPANSIONS) {
+                    mostCommon.poll();
+                }
+            }
+            for (Map.Entry<String, Postings> entry : mostCommon) {
+                qualities.putIfAbsent(entry.getKey(), PREFIX_MATCH);
+            }
+        }
+
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            List<String> neighbours = new ArrayList<>(deletions.getOrDefault(token, Collections.emptyList()));
+            for (String deletion : deletionsOf(token)) {
+                if (terms.containsKey(deletion)) {
+                    neighbours.add(deletion);
+                }
+                neighbours.addAll(deletions.getOrDefault(deletion, Collections.emptyList()));
+            }
+            for (String neighbour : neighbours) {
+                if (withinOneEdit(token, neighbour)) {
+                    qualities.putIfAbsent(neighbour, FUZZY_MATCH);
+                }
+            }
+        }
+
+        int documentCount = Math.max(1, ordinals.size());
+        List<TermMatch> matches = new ArrayList<>(qualities.size());
+        qualities.forEach((term, quality) -> {
+            Postings postings = terms.get(term);
+            float idf = (float) Math.log(1 + (double) documentCount / postings.size);
+            matches.add(new TermMatch(postings, quality * idf));
+        });
+        return matches;
+    }
+
+    private List<T> rank(Candidates candidates, int limit, Predicate<? super T> filter) {
+        PriorityQueue<Hit<T>> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(hit -> hit.score));
+        for (int i = 0; i < candidates.size; i++) {
+            Document<T> document = documents.get(candidates.ordinals[i]);
+            if (document == null || !filter.test(document.value)) {
+                continue;
+            }
+            float score = candidates.scores[i] * document.boost;
+            if (best.size() < limit) {
+                best.add(new Hit<>(document.value, score));
+            } else if (score > best.peek().score) {
+                best.poll();
+                best.add(new Hit<>(document.value, score));
+            }
+        }
+
+        List<T> ranked = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ranked.add(best.poll().value);
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    private static long postingCount(List<TermMatch> matches) {
+        long count = 0;
+        for (TermMatch match : matches) {
+            count += match.postings.size;
+        }
+        return count;
+    }
+
+    private static List<String> deletionsOf(String term) {
+        List<String> result = new ArrayList<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            result.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return result;
+    }
+
+    /**
+     * True if one substitution, insertion, deletion or adjacent swap turns a into b
+     */
+    static boolean withinOneEdit(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1) {
+            return false;
+        }
+        int start = 0;
+        while (start < a.length() && start < b.length() && a.charAt(start) == b.charAt(start)) {
+            start++;
+        }
+        int endA = a.length();
+        int endB = b.length();
+        while (endA > start && endB > start && a.charAt(endA - 1) == b.charAt(endB - 1)) {
+            endA--;
+            endB--;
+        }
+        int differentA = endA - start;
+        int differentB = endB - start;
+        if (differentA <= 1 && differentB <= 1) {
+            return true;
+        }
+        return differentA == 2 && differentB == 2
+                && a.charAt(start) == b.charAt(start + 1) && a.charAt(start + 1) == b.charAt(start);
+    }
+
+    /**
+     * Text to index with its relative importance
+     */
+    public static final class Field {
+        private final String text;
+        private final float weight;
+
+        public Field(String text, float weight) {
+            this.text = text;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Document<T> {
+        private final T value;
+        private final float boost;
+
+        private Document(T value, float boost) {
+            this.value = value;
+            this.boost = boost;
+        }
+    }
+
+    /**
+     * Documents containing a term, in ordinal order since ordinals only grow
+     */
+    private static final class Postings {
+        private int[] ordinals = new int[2];
+        private float[] weights = new float[2];
+        private int size;
+
+        private void add(int ordinal, float weight) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ordinals[size] = ordinal;
+            weights[size] = weight;
+            size++;
+        }
+    }
+
+    private static final class TermMatch {
+        private final Postings postings;
+        private final float factor;
+
+        private TermMatch(Postings postings, float factor) {
+            this.postings = postings;
+            this.factor = factor;
+        }
+    }
+
+    /**
+     * Sorted candidate ordinals with their scores so far
+     */
+    private static final class Candidates {
+        private final int[] ordinals;
+        private final float[] scores;
+        private final int size;
+
+        private Candidates(int[] ordinals, float[] scores, int size) {
+            this.ordinals = ordinals;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        /**
+         * Every document matching one of the terms, scored by its best match
+         */
+        private static Candidates union(List<TermMatch> matches, int ordinalCount) {
+            int total = (int) postingCount(matches);
+            if (matches.size() > 1 && total > ordinalCount / 8) {
+                return denseUnion(matches, ordinalCount);
+            }
+            int[] ordinals = new int[total];
+            float[] scores = new float[total];
+            int size = 0;
+
+            int[] positions = new int[matches.size()];
+            PriorityQueue<Integer> next = new PriorityQueue<>(Math.max(1, matches.size()),
+                    Comparator.comparingInt(m -> matches.get(m).postings.ordinals[positions[m]]));
+            for (int m = 0; m < matches.size(); m++) {
+                next.add(m);
+            }
+            while (!next.isEmpty()) {
+                int m = next.poll();
+                TermMatch match = matches.get(m);
+                int ordinal = match.postings.ordinals[positions[m]];
+                float score = match.factor * match.postings.weights[positions[m]];
+                if (size > 0 && ordinals[size - 1] == ordinal) {
+                    scores[size - 1] = Math.max(scores[size - 1], score);
+                } else {
+                    ordinals[size] = ordinal;
+                    scores[size] = score;
+                    size++;
+                }
+                if (++positions[m] < match.postings.size) {
+                    next.add(m);
+                }
+            }
+            return new Candidates(ordinals, scores, size);
+        }
+
+        /**
+         * Union through one score slot per ordinal, cheaper than merging when
+         * the terms cover a large part of the index (short prefixes)
+         */
+        private static Candidates denseUnion(List<TermMatch> matches, int ordinalCount) {
+            float[] best = new float[ordinalCount];
+            int size = 0;
+            for (TermMatch match : matches) {
+                Postings postings = match.postings;
+                for (int p = 0; p < postings.size; p++) {
+                    float score = match.factor * postings.weights[p];
+                    int ordinal = postings.ordinals[p];
+                    if (best[ordinal] == 0) {
+                        size++;
+                    }
+                    best[ordinal] = Math.max(best[ordinal], score);
+                }
+            }
+
+            int[] ordinals = new int[size];
+            float[] scores = new float[size];
+            int next = 0;
+            for (int ordinal = 0; ordinal < ordinalCount; ordinal++) {
+                if (best[ordinal] > 0) {
+                    ordinals[next] = ordinal;
+                    scores[next] = best[ordinal];
+                    next++;
+                }
+            }
+            return new Candidates(ordinals, scores, size);
+        }
+
+        /**
+         * The candidates that also match one of the terms, with that token's best score added
+         */
+        private Candidates intersect(List<TermMatch> matches) {
+            float[] tokenScores = new float[size];
+            for (TermMatch match : matches) {
+                Postings postings = match.postings;
+                if (postings.size > size * 8) {
+                    // Long posting list: look each candidate up instead of walking it
+                    for (int i = 0; i < size; i++) {
+                        int found = Arrays.binarySearch(postings.ordinals, 0, postings.size, ordinals[i]);
+                        if (found >= 0) {
+                            tokenScores[i] = Math.max(tokenScores[i], match.factor * postings.weights[found]);
+                        }
+                    }
+                } else {
+                    int i = 0;
+                    int p = 0;
+                    while (i < size && p < postings.size) {
+                        if (ordinals[i] < postings.ordinals[p]) {
+                            i++;
+                        } else if (ordinals[i] > postings.ordinals[p]) {
+                            p++;
+                        } else {
+                            tokenScores[i] = Math.max(tokenScores[i], match.factor * postings.weights[p]);
+                            i++;
+                            p++;
+                        }
+                    }
+                }
+            }
+
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (tokenScores[i] > 0) {
+                    ordinals[kept] = ordinals[i];
+                    scores[kept] = scores[i] + tokenScores[i];
+                    kept++;
+                }
+            }
+            return new Candidates(ordinals, scores, kept);
+        }
+    }
+
+    private static final class Hit<T> {
+        private final T value;
+        private final float score;
+
+        private Hit(T value, float score) {
+            this.value = value;
+            this.score = score;
+        }
+    }
+}
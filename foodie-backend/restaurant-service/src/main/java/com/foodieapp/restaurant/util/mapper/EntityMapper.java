@@ -53,6 +53,9 @@ public class EntityMapper {
         restaurant.setIsActive(true);
         restaurant.setIsVerified(false);
         restaurant.setImageUrl(request.getImageUrl());
+        if (request.getLatitude() != null && request.getLongitude() != null) {
+            restaurant.setCoordinates(request.getLatitude(), request.getLongitude());
+        }
         return restaurant;
     }
 
@@ -0,0 +1,61 @@
+package com.foodieapp.restaurant.service.external;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Local stand-in for the Spoonacular endpoints the catalog uses, so the
+ * client can be exercised without network access or an API key.
+ */
+class SpoonacularStub implements AutoCloseable {
+    static final String CUISINES = "[\"Italian\",\"Korean\",\"Ethiopian\"]";
+    static final String INGREDIENTS =
+            "{\"results\":[{\"id\":1,\"name\":\"basil\"},{\"id\":2,\"name\":\"kimchi\"}],\"number\":2}";
+
+    private final HttpServer server;
+    private volatile int status = 200;
+    private volatile String lastApiKey;
+
+    SpoonacularStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/food/cuisines", exchange -> respond(exchange, CUISINES));
+        server.createContext("/food/ingredients/search", exchange -> respond(exchange, INGREDIENTS));
+        server.start();
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Answer every following request with this status and an error body
+     */
+    void failWith(int status) {
+        this.status = status;
+    }
+
+    String lastApiKey() {
+        return lastApiKey;
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        lastApiKey = exchange.getRequestHeaders().getFirst("x-api-key");
+        byte[] bytes = (status == 200 ? body : "{\"status\":\"failure\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
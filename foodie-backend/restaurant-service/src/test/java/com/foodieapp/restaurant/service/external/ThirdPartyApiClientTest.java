@@ -0,0 +1,54 @@
+package com.foodieapp.restaurant.service.external;
+
+import com.foodieapp.restaurant.model.Cuisine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ThirdPartyApiClientTest {
+    private SpoonacularStub stub;
+    private ThirdPartyApiClient client;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        stub = new SpoonacularStub();
+        client = new ThirdPartyApiClient(new RestTemplate(), stub.url(), "test-key");
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void cuisinesAreReadFromTheApi() {
+        List<Cuisine> cuisines = client.getCuisineTypes();
+
+        assertEquals(List.of("Italian", "Korean", "Ethiopian"),
+                cuisines.stream().map(Cuisine::getName).collect(Collectors.toList()));
+        assertEquals(true, cuisines.get(0).getIsActive());
+        assertEquals("test-key", stub.lastApiKey());
+    }
+
+    @Test
+    void ingredientNamesAreReadFromTheApi() {
+        assertEquals(List.of("basil", "kimchi"), client.getIngredients());
+    }
+
+    @Test
+    void failuresAreReportedInsteadOfReplacedByDefaults() {
+        stub.failWith(500);
+
+        assertThrows(RestClientException.class, () -> client.getCuisineTypes());
+        assertThrows(RestClientException.class, () -> client.getIngredients());
+    }
+}
@@ -0,0 +1,74 @@
+package com.foodieapp.restaurant.util;
+
+import com.foodieapp.restaurant.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoGridTest {
+
+    @Test
+    void nearestMatchesLinearScan() {
+        Random random = new Random(7);
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            restaurants.add(restaurant("r" + i, 51.5 + random.nextGaussian() * 0.3, -0.12 + random.nextGaussian() * 0.5));
+        }
+        GeoGrid grid = GeoGrid.empty(2).with(restaurants, List.of());
+
+        for (int q = 0; q < 50; q++) {
+            double latitude = 51.5 + random.nextGaussian() * 0.3;
+            double longitude = -0.12 + random.nextGaussian() * 0.5;
+            List<String> expected = restaurants.stream()
+                    .filter(r -> distance(latitude, longitude, r) <= 7)
+                    .sorted(Comparator.comparingDouble(r -> distance(latitude, longitude, r)))
+                    .limit(10)
+                    .map(Restaurant::getId)
+                    .collect(Collectors.toList());
+
+            List<String> actual = grid.nearest(latitude, longitude, 7, 10).stream()
+                    .map(Restaurant::getId)
+                    .collect(Collectors.toList());
+
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void updatesMoveAndRemoveRestaurants() {
+        GeoGrid grid = GeoGrid.empty(5).with(
+                List.of(restaurant("a", 40.0, -74.0), restaurant("b", 40.01, -74.0)), List.of());
+
+        GeoGrid moved = grid.with(List.of(restaurant("a", 41.0, -74.0)), List.of("b"));
+
+        assertEquals(2, grid.nearest(40.0, -74.0, 5, 10).size());
+        assertTrue(moved.nearest(40.0, -74.0, 5, 10).isEmpty());
+        assertEquals("a", moved.nearest(41.0, -74.0, 5, 10).get(0).getId());
+        assertEquals(1, moved.size());
+    }
+
+    @Test
+    void searchCrossesTheAntimeridian() {
+        GeoGrid grid = GeoGrid.empty(5).with(List.of(restaurant("east", -17.0, 179.99)), List.of());
+
+        assertEquals(1, grid.nearest(-17.0, -179.99, 5, 10).size());
+    }
+
+    private static double distance(double latitude, double longitude, Restaurant restaurant) {
+        return GeoGrid.distanceKm(latitude, longitude, restaurant.getLatitude(), restaurant.getLongitude());
+    }
+
+    private static Restaurant restaurant(String id, double latitude, double longitude) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setCoordinates(latitude, longitude);
+        return restaurant;
+    }
+}
@@ -0,0 +1,60 @@
+package com.foodieapp.restaurant.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageResizerTest {
+
+    @Test
+    void decodeSubsamplesButKeepsRequestedSize() throws IOException {
+        BufferedImage decoded = ImageResizer.decode(new ByteArrayInputStream(png(4000, 3000)), 1600);
+
+        assertEquals(2000, decoded.getWidth());
+        assertEquals(1500, decoded.getHeight());
+    }
+
+    @Test
+    void fitKeepsAspectRatioAndNeverEnlarges() {
+        BufferedImage source = new BufferedImage(2000, 1500, BufferedImage.TYPE_INT_ARGB);
+
+        BufferedImage thumbnail = ImageResizer.fit(source, 200);
+        assertEquals(200, thumbnail.getWidth());
+        assertEquals(150, thumbnail.getHeight());
+
+        BufferedImage small = ImageResizer.fit(new BufferedImage(120, 300, BufferedImage.TYPE_INT_RGB), 640);
+        assertEquals(120, small.getWidth());
+        assertEquals(300, small.getHeight());
+    }
+
+    @Test
+    void encodedJpegDecodes() throws IOException {
+        BufferedImage card = ImageResizer.fit(new BufferedImage(1280, 960, BufferedImage.TYPE_INT_RGB), 640);
+        byte[] jpeg = ImageResizer.encodeJpeg(card, 0.82f);
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertEquals(640, decoded.getWidth());
+        assertEquals(480, decoded.getHeight());
+        assertTrue(jpeg.length < 100_000);
+    }
+
+    @Test
+    void decodeRejectsUnknownFormats() {
+        assertThrows(IOException.class,
+                () -> ImageResizer.decode(new ByteArrayInputStream("not an image".getBytes()), 200));
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", bytes);
+        return bytes.toByteArray();
+    }
+}
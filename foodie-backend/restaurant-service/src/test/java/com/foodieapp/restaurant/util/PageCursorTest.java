@@ -0,0 +1,36 @@
+package com.foodieapp.restaurant.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+
+    @Test
+    void roundTripsCreationTimeAndId() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_000_000);
+        PageCursor cursor = PageCursor.decode(PageCursor.of(createdAt, "abc123").encode());
+
+        assertEquals(createdAt, cursor.getCreatedAt());
+        assertEquals("abc123", cursor.getId());
+    }
+
+    @Test
+    void roundTripsLegacyDocumentsWithoutCreationTime() {
+        PageCursor cursor = PageCursor.decode(PageCursor.of(null, "abc123").encode());
+
+        assertNull(cursor.getCreatedAt());
+        assertEquals("abc123", cursor.getId());
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertNull(PageCursor.decode(" "));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.of(LocalDateTime.now(), null));
+    }
+}
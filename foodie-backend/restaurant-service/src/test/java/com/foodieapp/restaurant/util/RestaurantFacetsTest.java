@@ -0,0 +1,123 @@
+package com.foodieapp.restaurant.util;
+
+import com.foodieapp.restaurant.dto.request.RestaurantFilterRequest;
+import com.foodieapp.restaurant.dto.response.RestaurantDetailResponse;
+import com.foodieapp.restaurant.dto.response.RestaurantFilterResponse;
+import com.foodieapp.restaurant.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RestaurantFacetsTest {
+    private static final LocalTime NOON = LocalTime.of(12, 0);
+
+    @Test
+    void intersectsFacetsAndCountsEachAgainstTheOthers() {
+        RestaurantFacets facets = new RestaurantFacets();
+        facets.put(restaurant("a", "Italian", 4.6, true, "10:00", "22:00"));
+        facets.put(restaurant("b", "Italian", 3.8, false, "10:00", "22:00"));
+        facets.put(restaurant("c", "Thai", 4.2, true, "18:00", "23:00"));
+        facets.setVegetarian("a", true);
+        facets.setVegetarian("c", true);
+
+        RestaurantFilterRequest request = new RestaurantFilterRequest();
+        request.setCuisine(List.of("italian"));
+        request.setVegetarian(true);
+        RestaurantFilterResponse response = facets.filter(request, NOON);
+
+        assertEquals(List.of("a"), ids(response));
+        // Cuisine counts ignore the cuisine selection but apply the vegetarian one
+        assertEquals(1, response.getFacets().get("cuisine").get("Italian"));
+        assertEquals(1, response.getFacets().get("cuisine").get("Thai"));
+        assertEquals(1, response.getFacets().get("vegetarian").get("true"));
+
+        request = new RestaurantFilterRequest();
+        request.setMinRating(4.0);
+        request.setOpenNow(true);
+        assertEquals(List.of("a"), ids(facets.filter(request, NOON)));
+        request.setOpenNow(false);
+        assertEquals(List.of("a", "c"), ids(facets.filter(request, NOON)));
+    }
+
+    @Test
+    void hoursPastMidnightAreOpenOnBothSidesOfIt() {
+        RestaurantFacets facets = new RestaurantFacets();
+        facets.put(restaurant("late", "Thai", 4.2, true, "18:00", "02:00"));
+        facets.put(restaurant("day", "Thai", 4.2, true, "10:00", "22:00"));
+
+        RestaurantFilterRequest request = new RestaurantFilterRequest();
+        request.setOpenNow(true);
+        assertEquals(List.of(), ids(facets.filter(request, LocalTime.of(3, 0))));
+        assertEquals(List.of("day"), ids(facets.filter(request, NOON)));
+        assertEquals(List.of("day", "late"), ids(facets.filter(request, LocalTime.of(21, 0))).stream()
+                .sorted().collect(Collectors.toList()));
+
+        RestaurantFilterResponse afterMidnight = facets.filter(request, LocalTime.of(1, 30));
+        assertEquals(List.of("late"), ids(afterMidnight));
+        assertEquals(1, afterMidnight.getFacets().get("openNow").get("true"));
+    }
+
+    @Test
+    void updatesReplaceTheRestaurantsPreviousFacets() {
+        RestaurantFacets facets = new RestaurantFacets();
+        facets.put(restaurant("a", "Italian", 4.6, true, "10:00", "22:00"));
+        facets.put(restaurant("a", "Mexican", 3.2, true, "10:00", "22:00"));
+        Restaurant closed = restaurant("b", "Italian", 4.0, true, "10:00", "22:00");
+        facets.put(closed);
+        closed.setIsActive(false);
+        facets.put(closed);
+
+        RestaurantFilterRequest request = new RestaurantFilterRequest();
+        request.setCuisine(List.of("Italian"));
+        assertEquals(List.of(), ids(facets.filter(request, NOON)));
+
+        request.setCuisine(List.of("Mexican"));
+        request.setMinRating(3.0);
+        assertEquals(List.of("a"), ids(facets.filter(request, NOON)));
+        assertEquals(1, facets.size());
+    }
+
+    @Test
+    void pagesAreOrderedByRating() {
+        RestaurantFacets facets = new RestaurantFacets();
+        for (int i = 0; i < 25; i++) {
+            facets.put(restaurant("r" + i, "Thai", i / 5.0, true, "10:00", "22:00"));
+        }
+
+        RestaurantFilterRequest request = new RestaurantFilterRequest();
+        request.setSize(10);
+        request.setPage(2);
+        RestaurantFilterResponse response = facets.filter(request, NOON);
+
+        assertEquals(25, response.getTotal());
+        assertEquals(List.of("r4", "r3", "r2", "r1", "r0"), ids(response));
+    }
+
+    @Test
+    void rejectsRatingsOutsideTheBands() {
+        RestaurantFilterRequest request = new RestaurantFilterRequest();
+        request.setMinRating(4.2);
+        assertThrows(IllegalArgumentException.class, () -> new RestaurantFacets().filter(request, NOON));
+    }
+
+    private static List<String> ids(RestaurantFilterResponse response) {
+        return response.getRestaurants().stream().map(RestaurantDetailResponse::getId).collect(Collectors.toList());
+    }
+
+    private static Restaurant restaurant(String id, String cuisine, double rating, boolean verified,
+                                         String opens, String closes) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setCuisine(cuisine);
+        restaurant.setRating(rating);
+        restaurant.setIsVerified(verified);
+        restaurant.setOpeningHours(opens);
+        restaurant.setClosingHours(closes);
+        return restaurant;
+    }
+}
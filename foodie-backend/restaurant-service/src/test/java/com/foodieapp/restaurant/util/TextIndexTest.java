@@ -0,0 +1,61 @@
+package com.foodieapp.restaurant.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextIndexTest {
+
+    @Test
+    void matchesPrefixesTyposAndAccents() {
+        TextIndex<String> index = new TextIndex<>();
+        index.put("1", "Pizzeria Napoli", 1, fields("Pizzeria Napoli", "Italian"));
+        index.put("2", "Crème Brûlée House", 1, fields("Crème Brûlée House", "French"));
+
+        assertEquals(List.of("Pizzeria Napoli"), index.search("piz", 10, value -> true));
+        assertEquals(List.of("Pizzeria Napoli"), index.search("pizzaria", 10, value -> true));
+        assertEquals(List.of("Crème Brûlée House"), index.search("creme brulee", 10, value -> true));
+        assertTrue(index.search("piz ", 10, value -> true).isEmpty());
+    }
+
+    @Test
+    void requiresEveryWordAndRanksNameMatchesFirst() {
+        TextIndex<String> index = new TextIndex<>();
+        index.put("1", "Thai Garden", 1, fields("Thai Garden", "Thai"));
+        index.put("2", "Golden Curry", 1, fields("Golden Curry", "Indian"));
+        index.put("3", "Curry Thai Kitchen", 1, fields("Curry Thai Kitchen", "Asian"));
+
+        assertEquals(List.of("Curry Thai Kitchen"), index.search("thai curry", 10, value -> true));
+        assertEquals("Thai Garden", index.search("thai", 10, value -> true).get(0));
+    }
+
+    @Test
+    void replacedAndRemovedDocumentsStopMatching() {
+        TextIndex<String> index = new TextIndex<>();
+        index.put("1", "Sushi Bar", 1, fields("Sushi Bar", "Japanese"));
+        index.put("1", "Ramen Bar", 1, fields("Ramen Bar", "Japanese"));
+        index.put("2", "Taco Stand", 1, fields("Taco Stand", "Mexican"));
+        index.remove("2");
+
+        assertTrue(index.search("sushi", 10, value -> true).isEmpty());
+        assertEquals(List.of("Ramen Bar"), index.search("ramen", 10, value -> true));
+        assertTrue(index.search("taco", 10, value -> true).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void oneEditAway() {
+        assertTrue(TextIndex.withinOneEdit("pizza", "piza"));
+        assertTrue(TextIndex.withinOneEdit("pizza", "pizxa"));
+        assertTrue(TextIndex.withinOneEdit("pizza", "pziza"));
+        assertFalse(TextIndex.withinOneEdit("pizza", "pasta"));
+    }
+
+    private static List<TextIndex.Field> fields(String name, String cuisine) {
+        return List.of(new TextIndex.Field(name, 3), new TextIndex.Field(cuisine, 2));
+    }
+}
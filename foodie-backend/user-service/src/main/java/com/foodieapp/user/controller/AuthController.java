@@ -80,6 +80,12 @@ public class AuthController {
     public ResponseEntity<Map<String, Object>> validateToken(@RequestHeader("Authorization") String authHeader) {
         try {
             String token = tokenUtil.extractToken(authHeader);
+            if (!jwtService.isTokenValid(token)) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("valid", false);
+                response.put("error", "Token is expired, revoked or invalid");
+                return ResponseEntity.ok(response);
+            }
             User user = tokenUtil.getUserFromToken(authHeader);
 
             Map<String, Object> response = new HashMap<>();
@@ -100,6 +106,25 @@ public class AuthController {
         }
     }
 
+    /**
+     * Public token signing keys (JWK Set) so other services can verify tokens locally
+     */
+    @GetMapping("/jwks")
+    public ResponseEntity<Map<String, Object>> getPublicKeySet() {
+        return ResponseEntity.ok(jwtService.getPublicKeySet());
+    }
+
+    /**
+     * Ids of revoked tokens that have not yet expired
+     */
+    @GetMapping("/revoked-tokens")
+    public ResponseEntity<Map<String, Object>> getRevokedTokens() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("tokenIds", jwtService.getRevokedTokenIds());
+        response.put("generatedAt", System.currentTimeMillis());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Consolidated user verification endpoint
      * Can verify by userId, email, or username
@@ -0,0 +1,84 @@
+package com.foodieapp.user.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * RSA key pair used to sign access tokens. Public halves of keys that have
+ * not yet retired are published on the JWKS endpoint so other services can
+ * verify tokens locally.
+ */
+@Entity
+@Table(name = "jwt_signing_keys")
+public class JwtSigningKey {
+
+    @Id
+    @Column(name = "kid", updatable = false, nullable = false)
+    private String kid;
+
+    @Lob
+    @Column(name = "private_key", nullable = false, columnDefinition = "TEXT")
+    private String privateKey;
+
+    @Lob
+    @Column(name = "public_key", nullable = false, columnDefinition = "TEXT")
+    private String publicKey;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "retires_at", nullable = false)
+    private LocalDateTime retiresAt;
+
+    public JwtSigningKey() {
+    }
+
+    public JwtSigningKey(String kid, String privateKey, String publicKey, LocalDateTime createdAt, LocalDateTime retiresAt) {
+        this.kid = kid;
+        this.privateKey = privateKey;
+        this.publicKey = publicKey;
+        this.createdAt = createdAt;
+        this.retiresAt = retiresAt;
+    }
+
+    public String getKid() {
+        return kid;
+    }
+
+    public void setKid(String kid) {
+        this.kid = kid;
+    }
+
+    public String getPrivateKey() {
+        return privateKey;
+    }
+
+    public void setPrivateKey(String privateKey) {
+        this.privateKey = privateKey;
+    }
+
+    public String getPublicKey() {
+        return publicKey;
+    }
+
+    public void setPublicKey(String publicKey) {
+        this.publicKey = publicKey;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getRetiresAt() {
+        return retiresAt;
+    }
+
+    public void setRetiresAt(LocalDateTime retiresAt) {
+        this.retiresAt = retiresAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.foodieapp.user.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Access token revoked before its natural expiry (e.g. on logout).
+ * Rows are only needed until the token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_id", updatable = false, nullable = false)
+    private String tokenId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String tokenId, LocalDateTime expiresAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
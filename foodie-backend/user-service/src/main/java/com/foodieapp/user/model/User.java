@@ -1,6 +1,7 @@
 package com.foodieapp.user.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.foodieapp.user.security.UserStateListener;
 import com.foodieapp.user.util.ValidationConstants;
 import com.foodieapp.user.util.ValidationConstants.ValidPhone;
 import jakarta.persistence.*;
@@ -16,6 +17,7 @@ import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserStateListener.class)
 public class User {
     @Id
     private String id;
@@ -0,0 +1,13 @@
+package com.foodieapp.user.repository;
+
+import com.foodieapp.user.model.JwtSigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+    List<JwtSigningKey> findByRetiresAtAfterOrderByCreatedAtDesc(LocalDateTime now);
+}
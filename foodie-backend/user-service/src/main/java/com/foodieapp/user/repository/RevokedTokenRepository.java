@@ -0,0 +1,17 @@
+package com.foodieapp.user.repository;
+
+import com.foodieapp.user.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    @Transactional
+    void deleteByExpiresAtBefore(LocalDateTime now);
+}
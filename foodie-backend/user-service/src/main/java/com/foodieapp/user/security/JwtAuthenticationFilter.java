@@ -1,54 +1,78 @@
 package com.foodieapp.user.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * Authenticates requests from the bearer token. The token is parsed once and
+ * the authentication is built from its claims; the user's enabled/locked
+ * state and current roles come from the {@link UserStateCache} rather than
+ * the database.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserStateCache userStateCache;
 
     @Value("${app.security.public-paths:/api/v1/auth/**,/api/v1/otp/**,/api/v1/password/**,/api/v1/registration/**}")
     private String publicPathsProperty;
 
-    private List<String> PUBLIC_PATHS;
+    private List<PathPattern> publicPaths;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserStateCache userStateCache) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.userStateCache = userStateCache;
     }
 
     @Override
     public void afterPropertiesSet() throws ServletException {
         super.afterPropertiesSet();
-        // Initialize public paths from property
-        PUBLIC_PATHS = Arrays.asList(publicPathsProperty.split(","));
+        // Compile public path patterns once
+        List<PathPattern> patterns = new ArrayList<>();
+        for (String path : publicPathsProperty.split(",")) {
+            if (!path.isBlank()) {
+                patterns.add(PathPatternParser.defaultInstance.parse(path.trim()));
+            }
+        }
+        publicPaths = List.copyOf(patterns);
     }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        String path = request.getServletPath();
-        return PUBLIC_PATHS.stream().anyMatch(pattern ->
-                path.matches(pattern.replace("**", ".*")));
+        PathContainer path = PathContainer.parsePath(request.getServletPath());
+        for (PathPattern pattern : publicPaths) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -67,32 +91,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             final String jwt = authHeader.substring(7);
 
-            try {
-                final String userEmail = jwtService.extractUsername(jwt);
-
-                if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    try {
-                        UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-
-                        if (jwtService.isTokenValid(jwt, userDetails)) {
-                            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null,
-                                    userDetails.getAuthorities()
-                            );
-                            authToken.setDetails(
-                                    new WebAuthenticationDetailsSource().buildDetails(request)
-                            );
-                            SecurityContextHolder.getContext().setAuthentication(authToken);
-                        }
-                    } catch (Exception e) {
-                        logger.error("Error loading user details: {}", e.getMessage());
-                        // Continue without authentication
-                    }
-                }
-            } catch (Exception e) {
-                logger.error("JWT Authentication error: {}", e.getMessage());
-                // Continue without authentication
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                authenticate(jwt, request);
             }
 
             filterChain.doFilter(request, response);
@@ -114,4 +114,52 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
         }
     }
+
+    private void authenticate(String jwt, HttpServletRequest request) {
+        Claims claims;
+        try {
+            claims = jwtService.parseClaims(jwt);
+        } catch (ExpiredJwtException e) {
+            logger.debug("Expired JWT for {}", e.getClaims().getSubject());
+            return;
+        } catch (Exception e) {
+            logger.error("JWT Authentication error: {}", e.getMessage());
+            return;
+        }
+
+        // Refresh and verification tokens are not access tokens
+        if (claims.get("tokenType") != null || claims.getSubject() == null || jwtService.isRevoked(claims)) {
+            return;
+        }
+
+        UserStateCache.UserState state;
+        try {
+            state = userStateCache.get(claims.getSubject());
+        } catch (Exception e) {
+            logger.error("Error loading user state: {}", e.getMessage());
+            return;
+        }
+        if (state == null || !state.isActive()) {
+            return;
+        }
+
+        // Use the token's roles while they are still current, otherwise the user's roles now
+        Object tokenRoles = claims.get("roles");
+        Collection<?> roles = tokenRoles instanceof Collection && state.hasSameRoles((Collection<?>) tokenRoles)
+                ? (Collection<?>) tokenRoles
+                : state.getRoles();
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+        for (Object role : roles) {
+            authorities.add(new SimpleGrantedAuthority(String.valueOf(role)));
+        }
+
+        UserDetails principal = new User(claims.getSubject(), "", authorities);
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                authorities
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
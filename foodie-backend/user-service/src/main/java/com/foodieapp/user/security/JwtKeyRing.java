@@ -0,0 +1,225 @@
+package com.foodieapp.user.security;
+
+import com.foodieapp.user.model.JwtSigningKey;
+import com.foodieapp.user.repository.JwtSigningKeyRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * RS256 signing keys with rotation.
+ *
+ * The newest key signs new tokens. Once it is older than the rotation
+ * interval a fresh key is generated on the next signature; older keys stay
+ * published until every token they could have signed has expired. Keys are
+ * stored in the database so all instances (and restarts) share them.
+ */
+@Component
+public class JwtKeyRing {
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private static final int KEY_SIZE = 2048;
+    private static final long MIN_RELOAD_INTERVAL_MS = 10_000;
+
+    private final JwtSigningKeyRepository keyRepository;
+
+    @Value("${app.jwt.key-rotation-interval:604800000}") // Default: 7 days in milliseconds
+    private long rotationInterval;
+
+    @Value("${app.jwt.refresh-expiration:604800000}")
+    private long maxTokenLifetime;
+
+    private volatile List<ActiveKey> activeKeys = Collections.emptyList();
+    private volatile long lastReloadAt;
+
+    public JwtKeyRing(JwtSigningKeyRepository keyRepository) {
+        this.keyRepository = keyRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+        if (activeKeys.isEmpty() || isDueForRotation(activeKeys.get(0))) {
+            rotate();
+        }
+        logger.info("JWT key ring initialized with {} active key(s), current kid {}",
+                activeKeys.size(), activeKeys.get(0).kid);
+    }
+
+    /**
+     * Key to sign new tokens with, rotating first if the current key is too old
+     */
+    public ActiveKey currentKey() {
+        ActiveKey current = activeKeys.get(0);
+        if (isDueForRotation(current)) {
+            synchronized (this) {
+                // Another instance may already have rotated
+                reload();
+                if (activeKeys.isEmpty() || isDueForRotation(activeKeys.get(0))) {
+                    rotate();
+                }
+                current = activeKeys.get(0);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Public key for a key id, or null if the key is unknown or retired
+     */
+    public PublicKey findPublicKey(String kid) {
+        PublicKey key = lookup(kid);
+        if (key == null && System.currentTimeMillis() - lastReloadAt > MIN_RELOAD_INTERVAL_MS) {
+            // A key created by another instance since our last reload
+            reload();
+            key = lookup(kid);
+        }
+        return key;
+    }
+
+    /**
+     * Public keys in JWK Set format (RFC 7517)
+     */
+    public Map<String, Object> toJwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        for (ActiveKey key : activeKeys) {
+            RSAPublicKey rsaKey = (RSAPublicKey) key.publicKey;
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("kid", key.kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", "RS256");
+            jwk.put("n", base64Url(rsaKey.getModulus()));
+            jwk.put("e", base64Url(rsaKey.getPublicExponent()));
+            keys.add(jwk);
+        }
+        return Collections.singletonMap("keys", keys);
+    }
+
+    private PublicKey lookup(String kid) {
+        for (ActiveKey key : activeKeys) {
+            if (key.kid.equals(kid)) {
+                return key.publicKey;
+            }
+        }
+        return null;
+    }
+
+    private boolean isDueForRotation(ActiveKey key) {
+        return key.createdAt.plus(Duration.ofMillis(rotationInterval)).isBefore(LocalDateTime.now());
+    }
+
+    private synchronized void reload() {
+        lastReloadAt = System.currentTimeMillis();
+        List<ActiveKey> loaded = new ArrayList<>();
+        for (JwtSigningKey stored : keyRepository.findByRetiresAtAfterOrderByCreatedAtDesc(LocalDateTime.now())) {
+            try {
+                loaded.add(ActiveKey.from(stored));
+            } catch (Exception e) {
+                logger.error("Skipping unreadable JWT signing key {}: {}", stored.getKid(), e.getMessage());
+            }
+        }
+        if (!loaded.isEmpty()) {
+            activeKeys = Collections.unmodifiableList(loaded);
+        }
+    }
+
+    private synchronized void rotate() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(KEY_SIZE);
+            KeyPair keyPair = generator.generateKeyPair();
+
+            LocalDateTime now = LocalDateTime.now();
+            // Keep publishing the key until the longest-lived token it signs has expired
+            LocalDateTime retiresAt = now.plus(Duration.ofMillis(rotationInterval + maxTokenLifetime));
+            JwtSigningKey stored = new JwtSigningKey(
+                    UUID.randomUUID().toString(),
+                    Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()),
+                    Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()),
+                    now,
+                    retiresAt);
+            keyRepository.save(stored);
+
+            List<ActiveKey> updated = new ArrayList<>();
+            updated.add(ActiveKey.from(stored));
+            updated.addAll(activeKeys);
+            activeKeys = Collections.unmodifiableList(updated);
+            logger.info("Rotated JWT signing key, new kid {}", stored.getKid());
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            throw new IllegalStateException("Unable to generate JWT signing key", e);
+        }
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // Drop the sign byte BigInteger adds for values with the top bit set
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Decoded key pair held in memory
+     */
+    public static final class ActiveKey {
+        private final String kid;
+        private final PrivateKey privateKey;
+        private final PublicKey publicKey;
+        private final LocalDateTime createdAt;
+
+        private ActiveKey(String kid, PrivateKey privateKey, PublicKey publicKey, LocalDateTime createdAt) {
+            this.kid = kid;
+            this.privateKey = privateKey;
+            this.publicKey = publicKey;
+            this.createdAt = createdAt;
+        }
+
+        private static ActiveKey from(JwtSigningKey stored) throws NoSuchAlgorithmException, InvalidKeySpecException {
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            PrivateKey privateKey = keyFactory.generatePrivate(
+                    new PKCS8EncodedKeySpec(Base64.getDecoder().decode(stored.getPrivateKey())));
+            PublicKey publicKey = keyFactory.generatePublic(
+                    new X509EncodedKeySpec(Base64.getDecoder().decode(stored.getPublicKey())));
+            return new ActiveKey(stored.getKid(), privateKey, publicKey, stored.getCreatedAt());
+        }
+
+        public String getKid() {
+            return kid;
+        }
+
+        public PrivateKey getPrivateKey() {
+            return privateKey;
+        }
+
+        public PublicKey getPublicKey() {
+            return publicKey;
+        }
+    }
+}
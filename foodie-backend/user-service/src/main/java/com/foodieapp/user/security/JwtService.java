@@ -4,8 +4,11 @@ import com.foodieapp.user.exception.TokenExpiredException;
 import com.foodieapp.user.model.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
@@ -21,6 +24,7 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.Arrays;
@@ -46,11 +50,17 @@ public class JwtService {
     private long verificationExpiration;
 
     private final Environment environment;
+    private final JwtKeyRing keyRing;
+    private final TokenDenyList denyList;
 
+    // HS256 key that signed tokens issued before RS256 keys were introduced; verification only
     private Key signingKey;
+    private JwtParser parser;
 
-    public JwtService(Environment environment) {
+    public JwtService(Environment environment, JwtKeyRing keyRing, TokenDenyList denyList) {
         this.environment = environment;
+        this.keyRing = keyRing;
+        this.denyList = denyList;
     }
 
     @PostConstruct
@@ -71,6 +81,22 @@ public class JwtService {
         }
 
         this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        String kid = header.getKeyId();
+                        if (kid == null) {
+                            return signingKey;
+                        }
+                        Key key = keyRing.findPublicKey(kid);
+                        if (key == null) {
+                            throw new IllegalArgumentException("Unknown signing key: " + kid);
+                        }
+                        return key;
+                    }
+                })
+                .build();
         logger.info("JWT Service initialized with signing key");
     }
 
@@ -159,28 +185,53 @@ public class JwtService {
         return refreshExpiration;
     }
 
+    // Public signing keys as a JWK Set, for services that verify tokens locally
+    public Map<String, Object> getPublicKeySet() {
+        return keyRing.toJwks();
+    }
+
+    // Ids of revoked tokens that have not yet expired
+    public Set<String> getRevokedTokenIds() {
+        return denyList.currentIds();
+    }
+
+    // Revoke a token until it expires
+    public void revokeToken(String token) {
+        Claims claims = extractAllClaims(token);
+        denyList.revoke(claims.get("tokenId", String.class), claims.getExpiration());
+    }
+
     // Build token with claims, subject, and expiration
     private String buildToken(Map<String, Object> claims, String subject, long expiration) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
+        JwtKeyRing.ActiveKey key = keyRing.currentKey();
 
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.getKid())
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .signWith(key.getPrivateKey(), SignatureAlgorithm.RS256)
                 .compact();
     }
 
+    // Parse and verify a token once; throws if it is expired, malformed or badly signed
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    // Check parsed claims against the deny list
+    public boolean isRevoked(Claims claims) {
+        return denyList.isRevoked(claims.get("tokenId", String.class));
+    }
+
     // Validate token without UserDetails
     public boolean isTokenValid(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(signingKey)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            return !denyList.isRevoked(claims.get("tokenId", String.class));
         } catch (ExpiredJwtException e) {
             logger.warn("Token expired during validation");
             return false;
@@ -193,8 +244,10 @@ public class JwtService {
     // Validate token with UserDetails
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+            final Claims claims = extractAllClaims(token);
+            return claims.getSubject().equals(userDetails.getUsername())
+                    && !claims.getExpiration().before(new Date())
+                    && !denyList.isRevoked(claims.get("tokenId", String.class));
         } catch (ExpiredJwtException e) {
             logger.error("Token expired: {}", e.getMessage());
             return false;
@@ -204,28 +257,10 @@ public class JwtService {
         }
     }
 
-    // Check if token is expired
-    private boolean isTokenExpired(String token) {
-        try {
-            return extractExpiration(token).before(new Date());
-        } catch (ExpiredJwtException e) {
-            return true;
-        }
-    }
-
-    // Extract expiration date from token
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
     // Extract all claims from token
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(signingKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             // Return the claims even if the token is expired
             // This is useful for getting info from expired tokens
@@ -0,0 +1,88 @@
+package com.foodieapp.user.security;
+
+import com.foodieapp.user.model.RevokedToken;
+import com.foodieapp.user.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ids of access tokens revoked before they expire. The set is small (only
+ * unexpired revocations) and is published so other services can reject
+ * revoked tokens without calling back on every request.
+ *
+ * Lookups only read the in-memory set; it is reloaded from the database, and
+ * expired revocations purged, by a scheduled task every deny-list-refresh-ms.
+ */
+@Component
+public class TokenDenyList {
+    private static final Logger logger = LoggerFactory.getLogger(TokenDenyList.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final AtomicReference<Set<String>> revokedIds = new AtomicReference<>(Collections.emptySet());
+
+    public TokenDenyList(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    /**
+     * Revoke a token until its expiry
+     */
+    public void revoke(String tokenId, Date expiresAt) {
+        if (tokenId == null || expiresAt == null || expiresAt.before(new Date())) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(tokenId,
+                LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault())));
+
+        // Synchronized with refresh, so a reload that started before the save cannot drop the id
+        synchronized (this) {
+            revokedIds.updateAndGet(ids -> {
+                Set<String> updated = new HashSet<>(ids);
+                updated.add(tokenId);
+                return Collections.unmodifiableSet(updated);
+            });
+        }
+        logger.debug("Revoked token {}", tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && currentIds().contains(tokenId);
+    }
+
+    /**
+     * All currently revoked, unexpired token ids
+     */
+    public Set<String> currentIds() {
+        return revokedIds.get();
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.jwt.deny-list-refresh-ms:30000}")
+    public synchronized void refresh() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            revokedTokenRepository.deleteByExpiresAtBefore(now);
+
+            Set<String> loaded = new HashSet<>();
+            for (RevokedToken revoked : revokedTokenRepository.findByExpiresAtAfter(now)) {
+                loaded.add(revoked.getTokenId());
+            }
+            revokedIds.set(Collections.unmodifiableSet(loaded));
+        } catch (Exception e) {
+            // Keep serving the last known list
+            logger.error("Failed to refresh token deny-list: {}", e.getMessage());
+        }
+    }
+}
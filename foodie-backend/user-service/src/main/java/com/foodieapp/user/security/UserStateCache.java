@@ -0,0 +1,150 @@
+package com.foodieapp.user.security;
+
+import com.foodieapp.user.model.User;
+import com.foodieapp.user.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Small cache of the per-user state the authentication filter needs
+ * (enabled, locked, current roles), keyed by email, so authenticated
+ * requests do not load the user and its roles from MySQL.
+ *
+ * Entries are dropped whenever a user row changes (see {@link UserStateListener}),
+ * again after the surrounding transaction completes, and otherwise expire
+ * after app.security.user-state-ttl-ms. Changes made by another instance are
+ * therefore picked up within the TTL.
+ */
+@Component
+public class UserStateCache {
+    private static final Logger logger = LoggerFactory.getLogger(UserStateCache.class);
+
+    // Cached for users that do not exist, so unknown subjects do not hit the database either
+    private static final UserState MISSING = new UserState(null, false, true, Collections.emptySet(), 0);
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserState> states;
+
+    public UserStateCache(
+            UserRepository userRepository,
+            @Value("${app.security.user-state-ttl-ms:30000}") long ttlMs,
+            @Value("${app.security.user-state-max-size:10000}") long maximumSize) {
+        this.userRepository = userRepository;
+        this.states = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Current state of the user with this email, or null if there is no such user
+     */
+    public UserState get(String email) {
+        UserState state = states.get(email, this::load);
+        return state == MISSING ? null : state;
+    }
+
+    /**
+     * Drop the cached state for a user, and again once the current transaction
+     * completes so a concurrent reload cannot keep the pre-commit row
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        states.invalidate(email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    states.invalidate(email);
+                }
+            });
+        }
+    }
+
+    private UserState load(String email) {
+        logger.debug("Loading user state for {}", email);
+        return userRepository.findByEmail(email)
+                .map(UserState::of)
+                .orElse(MISSING);
+    }
+
+    /**
+     * Immutable snapshot of a user's security state
+     */
+    public static final class UserState {
+        private final String userId;
+        private final boolean enabled;
+        private final boolean accountLocked;
+        private final Set<String> roles;
+        private final long version;
+
+        UserState(String userId, boolean enabled, boolean accountLocked, Set<String> roles, long version) {
+            this.userId = userId;
+            this.enabled = enabled;
+            this.accountLocked = accountLocked;
+            this.roles = Collections.unmodifiableSet(new TreeSet<>(roles));
+            this.version = version;
+        }
+
+        static UserState of(User user) {
+            long version = user.getUpdatedAt() != null
+                    ? user.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    : 0;
+            return new UserState(user.getId(), user.isEnabled(), user.isAccountLocked(),
+                    user.getRoleNames(), version);
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        /**
+         * Whether the user may authenticate at all
+         */
+        public boolean isActive() {
+            return enabled && !accountLocked;
+        }
+
+        public Set<String> getRoles() {
+            return roles;
+        }
+
+        /**
+         * Row version (last update time) the snapshot was taken from
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Whether a token's role claim still matches the user's current roles
+         */
+        public boolean hasSameRoles(Collection<?> tokenRoles) {
+            if (tokenRoles == null || tokenRoles.size() != roles.size()) {
+                return false;
+            }
+            for (Object role : tokenRoles) {
+                if (!roles.contains(String.valueOf(role))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.foodieapp.user.security;
+
+import com.foodieapp.user.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link UserStateCache} in step with writes to the users table
+ */
+@Component
+public class UserStateListener {
+
+    private final UserStateCache userStateCache;
+
+    public UserStateListener(@Lazy UserStateCache userStateCache) {
+        this.userStateCache = userStateCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void userChanged(User user) {
+        userStateCache.invalidate(user.getEmail());
+    }
+}
@@ -187,12 +187,10 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         try {
             // Extract user email from token
             String email = jwtService.extractUsername(token);
-            logger.info("User logged out: {}", email);
 
-            // In a more sophisticated implementation, you could:
-            // 1. Add the token to a blacklist or invalidation cache
-            // 2. Clear any user-specific session data
-            // 3. Notify other services about the logout
+            // Revoked token ids are published to other services, which verify tokens locally
+            jwtService.revokeToken(token);
+            logger.info("User logged out: {}", email);
         } catch (Exception e) {
             logger.warn("Error during logout: {}", e.getMessage());
             // Don't throw exception on logout errors
@@ -7,6 +7,10 @@ import { useAuth } from '../contexts/AuthContext';
 import LoadingSpinner from '../components/LoadingSpinner';
 import toast from 'react-hot-toast';
 
+// Uploaded images come in resized copies; ask for the one that fits instead of the original
+const sizedImage = (url, size) =>
+  url && url.startsWith('/api/v1/images/') && !url.includes('?') ? `${url}?size=${size}` : url;
+
 const RestaurantDetail = () => {
   const { id } = useParams();
   const navigate = useNavigate();
@@ -105,7 +109,7 @@ const RestaurantDetail = () => {
       {/* Restaurant Hero */}
       <div style={{
         height: '300px',
-        backgroundImage: `url(${restaurant.imageUrl || '/api/placeholder/800/300'})`,
+        backgroundImage: `url(${sizedImage(restaurant.imageUrl, 'hero') || '/api/placeholder/800/300'})`,
         backgroundSize: 'cover',
         backgroundPosition: 'center',
         position: 'relative'
@@ -279,7 +283,7 @@ const MenuItemCard = ({ item, quantity, onQuantityChange, onAddToCart }) => {
           width: '100px',
           height: '100px',
           borderRadius: '8px',
-          backgroundImage: `url(${item.imageUrl || '/api/placeholder/100/100'})`,
+          backgroundImage: `url(${sizedImage(item.imageUrl, 'thumbnail') || '/api/placeholder/100/100'})`,
           backgroundSize: 'cover',
           backgroundPosition: 'center',
           backgroundColor: '#f3f4f6'
@@ -164,9 +164,10 @@ export const deleteUser = async (userId) => {
 };
 
 // Restaurant Management
+// Uses the streamed export, one restaurant per line, since the public list is paged
 export const getAllRestaurants = async () => {
   try {
-    const response = await fetch(`${API_BASE_URLS.RESTAURANT_SERVICE}/restaurants`, {
+    const response = await fetch(`${API_BASE_URLS.RESTAURANT_SERVICE}/admin/restaurants/export`, {
       method: 'GET',
       headers: getAuthHeaders()
     });
@@ -175,8 +176,10 @@ export const getAllRestaurants = async () => {
       throw new Error('Failed to fetch restaurants');
     }
     
-    const result = await response.json();
-    return result.data || result;
+    const body = await response.text();
+    return body.split('\n')
+      .filter(line => line.trim())
+      .map(line => JSON.parse(line));
   } catch (error) {
     console.error('Error fetching restaurants:', error);
     // Return mock data for development
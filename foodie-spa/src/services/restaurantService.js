@@ -3,10 +3,21 @@ import api from './api';
 const BASE_URL = 'http://localhost:8082/api/v1';
 
 class RestaurantService {
+  // The list is paged; follow X-Next-Cursor until the last page so every restaurant is returned
   async getAllRestaurants() {
     try {
-      const response = await api.get(`${BASE_URL}/restaurants`);
-      return response.data;
+      const restaurants = [];
+      let cursor = null;
+      let result;
+      do {
+        const response = await api.get(`${BASE_URL}/restaurants`, {
+          params: cursor ? { cursor } : undefined
+        });
+        result = response.data;
+        restaurants.push(...(result?.data || []));
+        cursor = response.headers['x-next-cursor'];
+      } while (cursor);
+      return { ...result, data: restaurants };
     } catch (error) {
       throw new Error(error.response?.data?.message || 'Failed to fetch restaurants');
     }